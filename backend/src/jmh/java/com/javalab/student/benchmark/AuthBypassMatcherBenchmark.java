@@ -0,0 +1,63 @@
+package com.javalab.student.benchmark;
+
+import com.javalab.student.config.jwt.AuthBypassMatcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 필터 우회 경로 판별 벤치마크 (단일 스레드)
+ * - 기존 방식 : 요청마다 Set.of 생성 후 contains + stream().anyMatch(startsWith)
+ * - 접두사 트리 : 시작 시 한 번 컴파일한 AuthBypassMatcher
+ * - -prof gc 옵션으로 요청당 할당량을 함께 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class AuthBypassMatcherBenchmark {
+
+    // 우회 경로와 인증이 필요한 경로를 섞은 요청 경로
+    private static final String[] PATHS = {
+            "/api/auth/login", "/api/posts/12", "/api/cart/list", "/api/orders/3",
+            "/images/thumb.png", "/api/members/1", "/ws/info", "/api/pets/list"
+    };
+
+    private AuthBypassMatcher matcher;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        matcher = new AuthBypassMatcher(AuthBypassMatcher.DEFAULT_EXACT_PATHS, AuthBypassMatcher.DEFAULT_PREFIXES);
+    }
+
+    private String nextPath() {
+        index = (index + 1) & (PATHS.length - 1);
+        return PATHS[index];
+    }
+
+    @Benchmark
+    public void legacySetOfAndStream(Blackhole bh) {
+        String path = nextPath();
+        Set<String> bypassPathsExact = Set.of(
+                "/api/auth/login", "/api/auth/userInfo",
+                "/api/members/register", "/api/members/checkEmail",
+                "/ping.js"
+        );
+        Set<String> bypassPathsStartsWith = Set.of(
+                "/swagger-ui", "/v3/api-docs", "/ws", "/ws/info",
+                "/api/item/list", "/api/item/view/",
+                "/topic/chat/", "/api/notices", "/api/posts",
+                "/images/", "/image/"
+        );
+        bh.consume(bypassPathsExact.contains(path)
+                || bypassPathsStartsWith.stream().anyMatch(path::startsWith));
+    }
+
+    @Benchmark
+    public void prefixTrie(Blackhole bh) {
+        bh.consume(matcher.matches(nextPath()));
+    }
+}
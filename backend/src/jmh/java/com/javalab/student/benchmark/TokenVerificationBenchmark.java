@@ -0,0 +1,112 @@
+package com.javalab.student.benchmark;
+
+import com.javalab.student.config.jwt.AuthBypassMatcher;
+import com.javalab.student.config.jwt.JwtProperties;
+import com.javalab.student.config.jwt.TokenAuthenticationFilter;
+import com.javalab.student.config.jwt.TokenProvider;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.security.dto.MemberIdentity;
+import com.javalab.student.service.RedisService;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 필터 토큰 검증 처리량 벤치마크 (단일 스레드)
+ * - 기존 방식 : validateToken + getEmailFromToken, 호출마다 JwtParser 생성 후 서명 검증 2회
+ * - 파서 재사용 : 공유 JwtParser로 1회 검증
+ * - 클레임 캐시 : TokenProvider.parseValidClaims (같은 토큰 재요청 시 캐시 적중)
+ * - 필터 전체 : TokenAuthenticationFilter.doFilter (쿠키 추출 ~ 인증 객체 저장, 클레임 캐시 적중)
+ *   권한 조회(RedisService)와 회원 식별 정보 저장(CurrentMember)은 고정 값으로 대체하여 필터 자체의 비용만 잰다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key";
+
+    private TokenProvider tokenProvider;
+    private SecretKey key;
+    private JwtParser sharedParser;
+    private String token;
+    private TokenAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setIssuer("benchmark");
+        jwtProperties.setSecretKey(SECRET);
+        tokenProvider = new TokenProvider(jwtProperties);
+
+        // TokenProvider와 같은 방식으로 키 생성(32바이트)
+        key = Keys.hmacShaKeyFor(SECRET.substring(0, 32).getBytes(StandardCharsets.UTF_8));
+        sharedParser = Jwts.parserBuilder().setSigningKey(key).build();
+        token = tokenProvider.generateToken("benchmark@test.com", Duration.ofHours(1));
+
+        RedisService redisService = new RedisService(null, null, null) {
+            @Override
+            public List<String> getUserAuthoritiesFromCache(String email) {
+                return List.of("ROLE_USER");
+            }
+        };
+        CurrentMember currentMember = new CurrentMember(null) {
+            @Override
+            public MemberIdentity bind(HttpServletRequest request, String email) {
+                return null;
+            }
+        };
+        filter = new TokenAuthenticationFilter(redisService, tokenProvider, currentMember,
+                new AuthBypassMatcher(AuthBypassMatcher.DEFAULT_EXACT_PATHS, AuthBypassMatcher.DEFAULT_PREFIXES));
+        request = new MockHttpServletRequest("GET", "/api/cart/list");
+        request.setCookies(new Cookie("accToken", token));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void legacyValidateThenParse(Blackhole bh) {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Benchmark
+    public void sharedParserSingleParse(Blackhole bh) {
+        bh.consume(sharedParser.parseClaimsJws(token).getBody().getSubject());
+    }
+
+    @Benchmark
+    public void cachedParseValidClaims(Blackhole bh) {
+        bh.consume(tokenProvider.parseValidClaims(token).getSubject());
+    }
+
+    @Benchmark
+    public void filterDoFilter(Blackhole bh) throws ServletException, IOException {
+        filter.doFilter(request, response, chain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
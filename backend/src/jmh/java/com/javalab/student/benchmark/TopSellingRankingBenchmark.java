@@ -0,0 +1,59 @@
+package com.javalab.student.benchmark;
+
+import com.javalab.student.util.TopKCollector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 판매량 상위 K개 추출 벤치마크
+ * - 기존 방식 : Map<Long, Integer> 전체를 정렬한 뒤 limit(K)
+ * - 변경 방식 : TopKCollector(크기 K 최소 힙)
+ * - 상품 100,000개 기준
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TopSellingRankingBenchmark {
+
+    @Param({"100000"})
+    private int itemCount;
+
+    @Param({"5", "100"})
+    private int k;
+
+    private Map<Long, Integer> salesCount;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        salesCount = new HashMap<>(itemCount * 2);
+        for (long itemId = 1; itemId <= itemCount; itemId++) {
+            salesCount.put(itemId, random.nextInt(10_000));
+        }
+    }
+
+    @Benchmark
+    public void sortBased(Blackhole bh) {
+        List<Map.Entry<Long, Integer>> top = salesCount.entrySet().stream()
+                .sorted((a, b) -> b.getValue().compareTo(a.getValue()))
+                .limit(k)
+                .collect(Collectors.toList());
+        bh.consume(top);
+    }
+
+    @Benchmark
+    public void heapBased(Blackhole bh) {
+        TopKCollector<Long> topK = new TopKCollector<>(k);
+        for (Map.Entry<Long, Integer> entry : salesCount.entrySet()) {
+            topK.offer(entry.getKey(), entry.getValue());
+        }
+        bh.consume(topK.result());
+    }
+}
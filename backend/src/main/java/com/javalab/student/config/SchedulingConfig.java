@@ -0,0 +1,13 @@
+package com.javalab.student.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링 설정
+ * - @Scheduled 어노테이션이 붙은 주기 작업(캐시 갱신, 집계 등)을 활성화한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
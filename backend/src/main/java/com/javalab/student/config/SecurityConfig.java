@@ -1,5 +1,6 @@
 package com.javalab.student.config;
 
+import com.javalab.student.config.jwt.AuthBypassMatcher;
 import com.javalab.student.config.jwt.RefreshTokenCheckFilter;
 import com.javalab.student.config.jwt.TokenAuthenticationFilter;
 import com.javalab.student.config.jwt.TokenProvider;
@@ -11,6 +12,7 @@ import com.javalab.student.security.oauth.CustomOAuth2UserService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -25,6 +27,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Spring Security 설정 파일
  * - 인증, 권한 설정
@@ -245,6 +250,28 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * 토큰 인증 필터를 건너뛸 경로 판별기 빈 등록
+     * - 설정(security.auth-bypass.*)이 비어 있으면 기본 경로 목록을 사용한다.
+     * - TokenAuthenticationFilter가 이 빈을 주입받으므로 static으로 등록하여 SecurityConfig와의 순환 참조를 피한다.
+     */
+    @Bean
+    public static AuthBypassMatcher authBypassMatcher(
+            @Value("${security.auth-bypass.exact-paths:}") String[] exactPaths,
+            @Value("${security.auth-bypass.prefixes:}") String[] prefixes) {
+        return new AuthBypassMatcher(
+                orDefault(exactPaths, AuthBypassMatcher.DEFAULT_EXACT_PATHS),
+                orDefault(prefixes, AuthBypassMatcher.DEFAULT_PREFIXES));
+    }
+
+    private static List<String> orDefault(String[] paths, List<String> defaults) {
+        List<String> list = Arrays.stream(paths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .toList();
+        return list.isEmpty() ? defaults : list;
+    }
+
     /**
      * AuthenticationManager 빈 등록
      */
@@ -0,0 +1,129 @@
+package com.javalab.student.config.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 토큰 인증을 건너뛸 경로 판별기
+ * - 정확히 일치해야 하는 경로(exactPaths)와 접두사로 시작하는 경로(prefixes)를 애플리케이션 시작 시 한 번 컴파일한다.
+ *   - exactPaths : HashSet 조회
+ *   - prefixes : 문자 단위 접두사 트리(trie), 경로를 앞에서부터 한 글자씩 따라가다 접두사 끝을 만나면 일치
+ * - 요청 처리 중에는 객체를 생성하지 않는다.
+ * - SecurityConfig에서 빈으로 등록하고 TokenAuthenticationFilter에서 사용한다.
+ */
+public class AuthBypassMatcher implements RequestMatcher {
+
+    // 정확히 일치해야 하는 기본 경로
+    public static final List<String> DEFAULT_EXACT_PATHS = List.of(
+            "/api/auth/login", "/api/auth/userInfo",
+            "/api/members/register", "/api/members/checkEmail",
+            "/ping.js"
+    );
+
+    // 접두사로 시작하는 기본 경로
+    public static final List<String> DEFAULT_PREFIXES = List.of(
+            "/swagger-ui", "/v3/api-docs", "/ws", "/ws/info",
+            "/api/item/list", "/api/item/view/",
+            "/topic/chat/", "/api/notices", "/api/posts",
+            "/images/", "/image/"
+    );
+
+    /**
+     * 접두사 트리 노드
+     * - 자식은 문자 배열과 노드 배열로 보관한다.(자식 수가 적으므로 순차 탐색)
+     */
+    private static final class Node {
+        private final char[] chars;
+        private final Node[] children;
+        private final boolean terminal;
+
+        private Node(char[] chars, Node[] children, boolean terminal) {
+            this.chars = chars;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        private Node child(char c) {
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 트리 생성용 임시 노드
+     */
+    private static final class Builder {
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private boolean terminal;
+
+        private Node build() {
+            char[] chars = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                chars[i] = entry.getKey();
+                nodes[i] = entry.getValue().build();
+                i++;
+            }
+            return new Node(chars, nodes, terminal);
+        }
+    }
+
+    private final Set<String> exactPaths;
+    private final Node root;
+
+    public AuthBypassMatcher(Collection<String> exactPaths, Collection<String> prefixes) {
+        this.exactPaths = Set.copyOf(new HashSet<>(exactPaths));
+
+        Builder rootBuilder = new Builder();
+        for (String prefix : prefixes) {
+            Builder node = rootBuilder;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Builder());
+            }
+            node.terminal = true;
+        }
+        this.root = rootBuilder.build();
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getRequestURI());
+    }
+
+    /**
+     * 인증을 건너뛸 경로인지 확인
+     * @param path 요청 URI
+     * @return 정확히 일치하는 경로이거나 등록된 접두사로 시작하면 true
+     */
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        if (exactPaths.contains(path)) {
+            return true;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+}
@@ -13,8 +13,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.javalab.student.security.CurrentMember;
 import com.javalab.student.service.RedisService;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -36,6 +38,8 @@ import lombok.extern.slf4j.Slf4j;
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
     private final RedisService redisService;
     private final TokenProvider tokenProvider;
+    private final CurrentMember currentMember;
+    private final AuthBypassMatcher authBypassMatcher;
     private final static String COOKIE_NAME = "accToken"; // 쿠키 이름으로 토큰 가져옴
 
     // 필터 순서를 명시적으로 지정하는 메서드 추가
@@ -48,59 +52,19 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        log.info("TokenAuthenticationFilter.doFilterInternal 시작 - 요청 URI: {}", request.getRequestURI());
-
-      /*  // Swagger 및 로그인/특정 경로는 필터 건너뛰기
-        String path = request.getRequestURI();
-        if (path.startsWith("/swagger-ui") || path.startsWith("/v3/api-docs") ||
-                path.equals("/api/auth/login") || path.equals("/api/auth/userInfo") ||
-                path.equals("/api/members/register") || path.equals("/api/members/checkEmail") ||
-                path.equals("/api/item/list") || path.equals("/api/item/view/**") ||
-                path.equals("/ping.js") ||
-                path.startsWith("/ws") || path.startsWith("/ws/info") ||
-                path.startsWith("/topic/chat/")|| path.startsWith("/api/notices")|| path.startsWith("/api/posts")) {
-
-            filterChain.doFilter(request, response);
-            return;
-        }*/
-        
-
         // Swagger 및 로그인/특정 경로는 필터 건너뛰기
-        String path = request.getRequestURI();
-
-        // 필터를 건너뛰어야 할 경로 목록
-        Set<String> bypassPathsExact = Set.of(   // 정확히 일치해야 하는 경로
-                "/api/auth/login", "/api/auth/userInfo",
-                "/api/members/register", "/api/members/checkEmail",
-                "/ping.js"
-        );
-
-        Set<String> bypassPathsStartsWith = Set.of(   // 접두사로 시작해야 하는 경로
-                "/swagger-ui", "/v3/api-docs", "/ws", "/ws/info",
-                "/api/item/list", "/api/item/view/",
-                "/topic/chat/", "/api/notices", "/api/posts",
-                "/images/", "/image/"
-        );
-
-        // 정확히 일치하는 경로 확인
-        if (bypassPathsExact.contains(path)) {
+        // 경로 목록은 시작 시 한 번 컴파일된 AuthBypassMatcher(SecurityConfig 빈)로 판별한다.
+        if (authBypassMatcher.matches(request.getRequestURI())) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // 접두사로 시작하는 경로 확인
-        if (bypassPathsStartsWith.stream().anyMatch(path::startsWith)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-
         // 1. 쿠키에서 액세스 토큰 추출
         String token = extractTokenFromCookies(request.getCookies());
-        log.info("TokenAuthenticationFilter에서 추출한 쿠키 토큰: {}", token);
 
-        // 2. 토큰 검증
-        if (token == null || !tokenProvider.validateToken(token)) {
+        // 2. 토큰 검증과 클레임 추출(한 번만 파싱)
+        Claims claims = tokenProvider.parseValidClaims(token);
+        if (claims == null) {
             String errorMessage = token == null
                     ? "인증 토큰이 누락되었습니다."
                     : "액세스 토큰이 만료되었습니다.";
@@ -109,8 +73,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // 3. 토큰에서 이메일 추출
-        String email = tokenProvider.getEmailFromToken(token);
-        log.info("토큰에서 추출한 이메일: {}", email);
+        String email = claims.getSubject();
+        log.debug("토큰에서 추출한 이메일: {}", email);
 
         // 4. 위에서 추출한 이메일로 Redis에서 권한 정보 조회
         List<String> roles = redisService.getUserAuthoritiesFromCache(email);
@@ -118,18 +82,21 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
             handleUnauthorizedResponse(response, "Redis에서 권한 정보를 찾을 수 없습니다.");
             return;
         }
-        log.info("Redis에서 조회한 권한 정보: {}", roles);
+        log.debug("Redis에서 조회한 권한 정보: {}", roles);
 
         // 5. Redis 권한 정보로 인증 객체 생성, 인증 객체를 SecurityContext 세팅
         Set<SimpleGrantedAuthority> authorities = roles.stream()
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toSet());
         Authentication auth = new UsernamePasswordAuthenticationToken(email, null, authorities);
-        log.info("Redis 권한 정보로 생성된 인증 객체: {}", auth);
+        log.debug("Redis 권한 정보로 생성된 인증 객체: {}", auth);
 
         // 6. 인증 객체를 SecurityContext 세팅
         SecurityContextHolder.getContext().setAuthentication(auth);
 
+        // 6.1. 회원 식별 정보(ID, 이름, 권한)를 요청에 저장, 서비스에서는 CurrentMember로 조회한다.
+        currentMember.bind(request, email);
+
         // 7. 다음 필터로 요청 전달, 더이상 필터가 없으면 사용자 원하는 요청을 처리
         filterChain.doFilter(request, response);
     }
@@ -141,7 +108,6 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         if (cookies != null) {
             for (Cookie cookie : cookies) {
                 if (COOKIE_NAME.equals(cookie.getName())) {
-                    log.info("쿠키에서 토큰 추출: {}", cookie.getValue());
                     return cookie.getValue(); // 쿠키 값 반환
                 }
             }
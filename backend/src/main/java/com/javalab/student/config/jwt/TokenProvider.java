@@ -1,8 +1,13 @@
 package com.javalab.student.config.jwt;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.crypto.SecretKey;
 
@@ -12,13 +17,37 @@ import com.javalab.student.entity.Member;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * JWT 토큰 생성 및 검증
+ * - 검증에는 생성자에서 한 번 만든 JwtParser를 재사용한다.(불변 객체이므로 여러 스레드에서 공유 가능)
+ * - 검증에 성공한 토큰의 클레임은 토큰 해시(SHA-256)를 키로 만료 시각까지 메모리에 보관하여
+ *   같은 토큰이 다시 들어오면 서명 검증과 JSON 파싱을 생략한다.
+ */
 @Service
 public class TokenProvider {
+    // 검증된 토큰 클레임 캐시 최대 개수
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+
     private final JwtProperties jwtProperties;
     private final SecretKey key;
+    private final JwtParser jwtParser;
+    private final ConcurrentMap<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
 
     public TokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
@@ -32,6 +61,9 @@ public class TokenProvider {
 
         // Base64 인코딩 대신 직접 바이트로 변환
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(String email, Duration expiredAt) {
@@ -62,28 +94,80 @@ public class TokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return parseValidClaims(token) != null;
+    }
+
+    /**
+     * 토큰 검증과 클레임 추출을 한 번에 처리
+     * - 서명이 올바르고 만료되지 않은 토큰이면 클레임을 반환한다.
+     * - 반환된 클레임은 캐시에서 공유되므로 읽기만 해야 한다.
+     * @param token JWT 토큰
+     * @return 검증된 클레임, 유효하지 않거나 만료된 토큰이면 null
+     */
+    public Claims parseValidClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
     public Long getUserId(String token) {
-        Claims claims = getClaims(token);
-        return claims.get("id", Long.class);
+        return requireValidClaims(token).get("id", Long.class);
     }
 
+    /**
+     * 검증된 클레임 조회(parseValidClaims와 같은 캐시 사용)
+     * @throws IllegalArgumentException 서명이 올바르지 않거나 만료된 토큰인 경우
+     */
+    private Claims requireValidClaims(String token) {
+        Claims claims = parseValidClaims(token);
+        if (claims == null) {
+            throw new IllegalArgumentException("유효하지 않거나 만료된 토큰입니다.");
+        }
+        return claims;
+    }
+
+    /**
+     * 클레임 조회(캐시 -> 검증)
+     * @throws JwtException 서명이 올바르지 않거나 만료된 토큰인 경우
+     */
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String cacheKey = hash(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = claimsCache.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return cached.claims();
+            }
+            claimsCache.remove(cacheKey);
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            if (claimsCache.size() >= MAX_CACHED_TOKENS) {
+                claimsCache.values().removeIf(c -> c.expiresAt() <= now);
+                if (claimsCache.size() >= MAX_CACHED_TOKENS) {
+                    claimsCache.clear();
+                }
+            }
+            claimsCache.put(cacheKey, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
+    }
+
+    /**
+     * 캐시 키 : 토큰 원문 대신 SHA-256 해시를 보관한다.
+     */
+    private String hash(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
     }
 
     public String generateRefreshToken(String email, Duration expiredAt) {
@@ -101,12 +185,10 @@ public class TokenProvider {
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = getClaims(token);
-        return claims.getSubject();
+        return requireValidClaims(token).getSubject();
     }
 
     public Date getExpiration(String token) {
-        Claims claims = getClaims(token);
-        return claims.getExpiration();
+        return requireValidClaims(token).getExpiration();
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.javalab.student.config.redis;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅 Redis Pub/Sub 채널 샤딩
+ * - 사용자마다 채널을 만들지 않고 수신자 ID를 고정된 개수(chat.redis.shard-count)의 채널로 나눈다.
+ *   채널 이름 : chat_channel_{수신자 ID % 샤드 수}
+ * - 모든 서버가 샤드 채널 전체를 구독하므로 사용자 수와 상관없이 구독 수는 샤드 수로 고정된다.
+ * - 웹소켓 전달은 MessageSubscriberService에서 이 서버에 구독 중인 사용자만 골라서 한다.
+ */
+@Component
+public class ChatChannelSharding {
+
+    private final int shardCount;
+
+    public ChatChannelSharding(@Value("${chat.redis.shard-count:16}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("chat.redis.shard-count는 1 이상이어야 합니다.");
+        }
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * 사용자 ID가 속한 채널 이름
+     */
+    public String channelFor(Long userId) {
+        return RedisConfig.CHAT_CHANNEL_PREFIX + Math.floorMod(userId, shardCount);
+    }
+
+    /**
+     * 구독할 전체 샤드 채널
+     */
+    public List<ChannelTopic> topics() {
+        List<ChannelTopic> topics = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            topics.add(new ChannelTopic(RedisConfig.CHAT_CHANNEL_PREFIX + shard));
+        }
+        return topics;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
@@ -8,15 +8,11 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.beans.factory.annotation.Qualifier;
 
-import com.javalab.student.service.MessageSubscriberService;
-
 /**
  * Redis 설정 클래스
  * - RedisTemplate 및 CacheManager 빈 등록
@@ -28,7 +24,7 @@ import com.javalab.student.service.MessageSubscriberService;
 @EnableCaching // Spring의 캐싱 기능 활성화
 public class RedisConfig {
 
-    // 🔹 Pub/Sub 메시지 전송을 위한 채널 이름
+    // 🔹 Pub/Sub 메시지 전송을 위한 채널 이름 접두사 (뒤에 샤드 번호가 붙는다)
     public static final String CHAT_CHANNEL_PREFIX = "chat_channel_";
 
     /**
@@ -81,27 +77,23 @@ public class RedisConfig {
         // String 데이터 직렬화 설정
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new StringRedisSerializer());
+        // 해시/스트림 필드도 문자열로 저장(장바구니 해시, 채팅 메시지 스트림)
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
 
         return template;
     }
 
     /**
      * 🔹 Redis Pub/Sub 메시지 수신 설정
-     * - Redis에서 발행된 메시지를 MessageSubscriberService를 통해 처리
      * - RedisMessageListenerContainer를 통해 구독자 등록
+     * - 구독자는 각 서비스가 시작 시 직접 등록한다.
+     *   (채팅 샤드 채널 : RedisPubSubChatBroker, 권한 캐시 무효화 : LocalAuthorityCache, 읽지 않은 메시지 수 : UnreadCounterService)
      */
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
-                                                                       MessageSubscriberService messageSubscriberService) {
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-
-        // ✅ 사용자별 메시지 채널 구독 설정
-        for (int userId = 1; userId <= 1000; userId++) { // 최대 1000명의 사용자 채널 생성 (필요 시 변경)
-            container.addMessageListener(new MessageListenerAdapter(messageSubscriberService),
-                    new ChannelTopic(CHAT_CHANNEL_PREFIX + userId));
-        }
-
         return container;
     }
 }
@@ -0,0 +1,123 @@
+package com.javalab.student.config.websoket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 서버의 채팅 구독 레지스트리
+ * - STOMP 구독/구독 해제/연결 종료 이벤트로 /topic/chat/{사용자 ID} 구독 현황을 서버 메모리에 관리한다.
+ * - Redis로 중계된 메시지는 이 서버에 구독 중인 사용자에게만 웹소켓으로 전달한다.(MessageSubscriberService)
+ */
+@Component
+@Slf4j
+public class ChatSubscriptionRegistry {
+
+    public static final String CHAT_TOPIC_PREFIX = "/topic/chat/";
+
+    // 사용자 ID -> 이 서버의 구독 수(같은 사용자가 여러 탭/세션으로 구독할 수 있다)
+    private final Map<Long, Integer> subscriberCounts = new ConcurrentHashMap<>();
+    // 세션 ID -> (구독 ID -> 사용자 ID), 연결 종료 시 정리용
+    private final Map<String, Map<String, Long>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        removeSession(event.getSessionId());
+    }
+
+    /**
+     * 구독 등록, 채팅 토픽이 아니면 무시한다.
+     */
+    public void subscribe(String sessionId, String subscriptionId, String destination) {
+        Long userId = parseUserId(destination);
+        if (sessionId == null || subscriptionId == null || userId == null) {
+            return;
+        }
+        Long previous = sessionSubscriptions
+                .computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriptionId, userId);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.merge(userId, 1, Integer::sum);
+        log.debug("채팅 구독 등록 - sessionId={}, userId={}", sessionId, userId);
+    }
+
+    /**
+     * 구독 해제
+     */
+    public void unsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, Long> subscriptions = sessionSubscriptions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        Long userId = subscriptions.remove(subscriptionId);
+        if (userId != null) {
+            decrement(userId);
+        }
+    }
+
+    /**
+     * 연결 종료된 세션의 구독 전체 해제
+     */
+    public void removeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Map<String, Long> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * 이 서버에 해당 사용자의 채팅 구독이 있는지 확인
+     */
+    public boolean hasLocalSubscriber(Long userId) {
+        return userId != null && subscriberCounts.containsKey(userId);
+    }
+
+    /**
+     * 이 서버에 채팅 구독 중인 사용자 수
+     */
+    public int localUserCount() {
+        return subscriberCounts.size();
+    }
+
+    private void decrement(Long userId) {
+        subscriberCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Long parseUserId(String destination) {
+        if (destination == null || !destination.startsWith(CHAT_TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(CHAT_TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
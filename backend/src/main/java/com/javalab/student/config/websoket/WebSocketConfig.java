@@ -1,5 +1,6 @@
 package com.javalab.student.config.websoket;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
@@ -24,6 +25,22 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker   // WebSocket 메시지 브로커를 사용하도록 설정
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 채팅 브로커 방식(ChatBroker), relay이면 외부 STOMP 브로커로 중계한다.
+    @Value("${chat.broker.mode:redis-pubsub}")
+    private String brokerMode;
+
+    @Value("${chat.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${chat.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${chat.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${chat.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
     /**
      * 🔹 STOMP 웹소켓 엔드포인트 등록
      * - 프론트엔드에서 WebSocket을 연결할 엔드포인트
@@ -53,11 +70,23 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * - 하지만 웹소켓만을 써서 메시지를 주고 받는 것이 아니라면 사용하지 않아도 된다.
      *   우리는 Rest Api 형태로 메시지를 전송하고 중간에 Redis를 사용하여 메시지를 중계하고 또 그 메시지를
      *   Redis Subscriber에서 받아서 WebSocket을 통해 클라이언트에게 전달하기 때문에 사용하지 않음.
+     * - chat.broker.mode=relay이면 메모리 브로커 대신 외부 STOMP 브로커(ActiveMQ/RabbitMQ 등)로 중계하여
+     *   어느 서버에 접속한 클라이언트든 브로커에서 바로 받는다.(reactor-netty 필요)
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 구독 경로 설정
-        registry.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equals(brokerMode)) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
 
         // 메시지 처리 경로 접두사
         registry.setApplicationDestinationPrefixes("/app");
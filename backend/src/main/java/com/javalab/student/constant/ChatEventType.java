@@ -0,0 +1,10 @@
+package com.javalab.student.constant;
+
+/**
+ * 채팅 이벤트 종류
+ * - MESSAGE_CREATED : 새 메시지 (웹소켓 /topic/chat/{사용자 ID} 로 메시지 본문 전달)
+ * - 그 외 : 읽음/수정/삭제/입력 중 (웹소켓 /topic/chat/{사용자 ID}/events 로 이벤트 전달)
+ */
+public enum ChatEventType {
+    MESSAGE_CREATED, MESSAGE_READ, MESSAGE_EDITED, MESSAGE_DELETED, TYPING
+}
@@ -0,0 +1,13 @@
+package com.javalab.student.constant;
+
+/**
+ * 매출 집계 단위
+ * - DAILY: 일별
+ * - WEEKLY: 주별(월요일 시작)
+ * - MONTHLY: 월별
+ */
+public enum SalesPeriod {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
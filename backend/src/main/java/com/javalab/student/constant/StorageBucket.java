@@ -0,0 +1,11 @@
+package com.javalab.student.constant;
+
+/**
+ * 업로드 파일 저장 위치(버킷)
+ * - ITEM : 상품 이미지(itemImgLocation, /images/item/**)
+ * - PET : 반려동물 이미지(petImgLocation, /api/pets/image/**)
+ * - POST : 게시글 이미지(postImgLocation, /api/posts/image/**)
+ */
+public enum StorageBucket {
+    ITEM, PET, POST
+}
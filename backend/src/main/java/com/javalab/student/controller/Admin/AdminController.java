@@ -1,15 +1,20 @@
 package com.javalab.student.controller.Admin;
 
 import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.constant.SalesPeriod;
 import com.javalab.student.dto.NewRegistrationDTO;
+import com.javalab.student.dto.shop.SalesSeriesDto;
 import com.javalab.student.dto.shop.TopSellingProductDTO;
 import com.javalab.student.entity.shop.Item;
 import com.javalab.student.repository.shop.OrderRepository;
 import com.javalab.student.service.DoctorService;
 import com.javalab.student.service.MemberService;
 import com.javalab.student.service.StatisticsService;
+import com.javalab.student.service.shop.ItemImgCacheService;
 import com.javalab.student.service.shop.ItemService;
+import com.javalab.student.service.shop.SalesRollupService;
 import com.javalab.student.service.shop.SalesService;
+import com.javalab.student.service.shop.TopSellingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,7 +35,10 @@ public class AdminController {
     private final MemberService memberService;
     private final StatisticsService statisticsService;
     private final SalesService salesService;
+    private final SalesRollupService salesRollupService;
+    private final TopSellingService topSellingService;
     private final ItemService itemService;
+    private final ItemImgCacheService itemImgCacheService;
     @Autowired
     private OrderRepository orderRepository;
 
@@ -79,6 +87,12 @@ public class AdminController {
         return ResponseEntity.ok(itemService.getItemList());
     }
 
+    // 대표 이미지 캐시 적중/미스 통계
+    @GetMapping("/cache/itemImg")
+    public ResponseEntity<Map<String, Long>> getItemImgCacheStats() {
+        return ResponseEntity.ok(itemImgCacheService.getStats());
+    }
+
     // 일별 신규 가입자 수를 반환하는 API
     @GetMapping("/newRegistrations")
     public ResponseEntity<List<NewRegistrationDTO>> getNewRegistrationsPerDay() {
@@ -97,22 +111,23 @@ public class AdminController {
         return ResponseEntity.ok(newDoctorApplications);
     }
 
-    // 판매량 상위 5개 집계 API
+    // 판매량 상위 N개 집계 API (기본 5개, 기간/알러지 성분 조건 선택)
     @GetMapping("/topSellingProducts/{status}")
-    public ResponseEntity<List<TopSellingProductDTO>> getTopSellingProducts(@PathVariable OrderStatus status) {
-        log.info("상태 {}에 해당하는 판매량 상위 5개 상품을 가져오는 중...", status);
-
-        // ORDER_COMPLETED 상태의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("상태 {}에 해당하는 완료된 주문 ID: {}", status, completedOrderIds.size());
+    public ResponseEntity<List<TopSellingProductDTO>> getTopSellingProducts(
+            @PathVariable OrderStatus status,
+            @RequestParam(value = "limit", defaultValue = "" + TopSellingService.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @RequestParam(value = "substanceId", required = false) Long substanceId) {
+        log.info("상태 {}에 해당하는 판매량 상위 {}개 상품을 가져오는 중...", status, limit);
 
-        // 판매량 집계
-        Map<Long, Integer> salesCount = salesService.getSalesCount(completedOrderIds);
-        log.info("상품별 판매량 집계 완료: {}개의 상품", salesCount.size());
+        if (limit < 1 || limit > TopSellingService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        // 상위 5개 아이템 가져오기
-        List<TopSellingProductDTO> topSellingProducts = salesService.getTopSellingProducts(salesCount);
-        log.info("상위 5개 판매 상품 정보 가져옴: {}", topSellingProducts.size());
+        List<TopSellingProductDTO> topSellingProducts =
+                topSellingService.getTopSellingProducts(status, limit, startDate, endDate, substanceId);
+        log.info("상위 {}개 판매 상품 정보 가져옴: {}", limit, topSellingProducts.size());
 
         return ResponseEntity.ok(topSellingProducts);
     }
@@ -125,12 +140,8 @@ public class AdminController {
 
         log.info("상태 {}에 해당하는 {} 일 매출 금액 계산 중...", status, date);
 
-        // 해당 날짜의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("일 매출 계산을 위한 완료된 주문 ID: {}", completedOrderIds.size());
-
         // 일 매출 계산
-        double dailySalesAmount = salesService.getDailySalesAmount(completedOrderIds, date);
+        double dailySalesAmount = salesService.getDailySalesAmount(status, date);
         log.info("계산된 {} 일 매출 금액: {}", date, dailySalesAmount);
 
         return ResponseEntity.ok(dailySalesAmount);
@@ -143,14 +154,33 @@ public class AdminController {
                                                   @RequestParam("endDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
         log.info("상태 {}에 해당하는 월 매출 금액을 {}부터 {}까지 계산 중...", status, startDate, endDate);
 
-        // ORDER_COMPLETED 상태의 주문 ID 가져오기
-        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(status);
-        log.info("월 매출 계산을 위한 완료된 주문 ID: {}", completedOrderIds.size());
-
         // 월 매출 계산
-        double monthlySalesAmount = salesService.getMonthlySalesAmount(completedOrderIds, startDate, endDate);
+        double monthlySalesAmount = salesService.getMonthlySalesAmount(status, startDate, endDate);
         log.info("계산된 월 매출 금액: {}", monthlySalesAmount);
 
         return ResponseEntity.ok(monthlySalesAmount);
     }
-}
\ No newline at end of file
+
+    // 매출 집계 테이블 재생성(주문 이력 전체로 다시 집계)
+    @PostMapping("/sales/rollup/rebuild")
+    public ResponseEntity<Integer> rebuildSalesRollup() {
+        log.info("매출 집계 테이블 재생성 요청");
+        return ResponseEntity.ok(salesRollupService.rebuild());
+    }
+
+    // 일별/주별/월별 매출 시계열
+    @GetMapping("/sales/series")
+    public ResponseEntity<List<SalesSeriesDto>> getSalesSeries(
+            @RequestParam("status") OrderStatus status,
+            @RequestParam(value = "period", defaultValue = "DAILY") SalesPeriod period,
+            @RequestParam("startDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        log.info("상태 {}에 해당하는 {} 매출 시계열을 {}부터 {}까지 조회 중...", status, period, startDate, endDate);
+
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(salesService.getSalesSeries(status, period, startDate, endDate));
+    }
+}
@@ -1,7 +1,9 @@
 package com.javalab.student.controller;
 
+import com.javalab.student.dto.ChatEventDto;
 import com.javalab.student.dto.MessageRequestDto;
 import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.service.MessagePublisherService;
 import com.javalab.student.service.MessageService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +30,9 @@ public class ChatController {
     @Autowired
     private MessageService messageService; // 메시지 서비스 주입 필요
 
+    @Autowired
+    private MessagePublisherService messagePublisherService;
+
     /**
      * 특정 사용자에게 메시지 전송
      * @param messageRequestDto 메시지 요청 DTO
@@ -48,6 +53,25 @@ public class ChatController {
         }
     }
 
+    /**
+     * 입력 중 알림
+     * - 클라이언트가 "/app/chat/typing"으로 {senderId, receiverId}를 보내면
+     *   TYPING 이벤트를 발행하여 수신자가 접속한 서버에서 /topic/chat/{수신자 ID}/events로 전달한다.
+     * - 저장하지 않는 일시적인 이벤트이므로 실패해도 무시한다.
+     */
+    @MessageMapping("/chat/typing")
+    public void typing(MessageRequestDto messageRequestDto) {
+        if (messageRequestDto.getSenderId() == null || messageRequestDto.getReceiverId() == null) {
+            return;
+        }
+        try {
+            messagePublisherService.publish(
+                    ChatEventDto.typing(messageRequestDto.getSenderId(), messageRequestDto.getReceiverId()));
+        } catch (Exception e) {
+            log.debug("입력 중 이벤트 발행 실패 - {}", e.getMessage());
+        }
+    }
+
     /**
      * 개인 메시지 전송 (1:1 채팅)
      */
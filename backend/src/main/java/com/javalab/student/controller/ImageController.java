@@ -0,0 +1,103 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.image.ImageResizeService;
+import com.javalab.student.service.image.ImageServingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 이미지 컨트롤러
+ * - 상품 이미지 전송(/images/item/**, 기존 정적 리소스 경로 그대로), 요청 크기 이미지(/img/{hash})와 이미지 처리/전송 통계
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ImageController {
+
+    private final ImageProcessingService imageProcessingService;
+    private final ImageServingService imageServingService;
+    private final ImageResizeService imageResizeService;
+
+    /**
+     * 상품 이미지 전송
+     * - ETag/304, Range, 해시 이름은 1년 캐시(WebConfig의 /images/** 정적 리소스 처리보다 먼저 매핑된다)
+     */
+    @GetMapping("/images/item/{filename:.+}")
+    public void serveItemImage(@PathVariable("filename") String filename, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        imageServingService.serve(StorageBucket.ITEM, filename, request, response);
+    }
+
+    /**
+     * 요청 크기 이미지 전송
+     * - 예: GET /img/{SHA-256}?w=300&h=300&fmt=webp (목록/피드 화면에서 실제 표시 크기로 요청)
+     * - 처음 요청할 때 만들어 디스크에 저장하고, 이후에는 저장된 파일을 1년 캐시로 보낸다.
+     * - 허용하지 않은 크기/형식은 400, 원본이 없으면 404, 생성 요청이 몰리면 503
+     */
+    @GetMapping("/img/{hash}")
+    public void serveResizedImage(@PathVariable("hash") String hash,
+                                  @RequestParam(value = "w", required = false) Integer width,
+                                  @RequestParam(value = "h", required = false) Integer height,
+                                  @RequestParam(value = "fmt", required = false) String format,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path resized;
+        try {
+            resized = imageResizeService.resize(hash, width, height, format);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (IllegalStateException e) {
+            log.warn("요청 크기 이미지 생성 실패 - {}: {}", hash, e.getMessage());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+        if (resized == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        imageServingService.serveFile(resized, "img/" + resized.getFileName(), request, response);
+    }
+
+    /**
+     * ✅ 요청 크기 이미지 생성 통계 조회 (관리자만 가능)
+     * - 생성/디스크 캐시 적중/동시 요청 합침/거절 수, 평균 생성시간(ms)
+     */
+    @PreAuthorize("hasRole('ADMIN')") // ✅ 관리자만 가능
+    @GetMapping("/api/images/resize-stats")
+    public ResponseEntity<ImageResizeService.ResizeStats> getResizeStats() {
+        return ResponseEntity.ok(imageResizeService.stats());
+    }
+
+    /**
+     * ✅ 이미지 파생본 생성 통계 조회 (관리자만 가능)
+     * - 대기열 크기, 처리 중/완료/실패/거절 수, 평균/최대 처리시간(ms)
+     */
+    @PreAuthorize("hasRole('ADMIN')") // ✅ 관리자만 가능
+    @GetMapping("/api/images/stats")
+    public ResponseEntity<ImageProcessingService.ImageStats> getProcessingStats() {
+        return ResponseEntity.ok(imageProcessingService.stats());
+    }
+
+    /**
+     * ✅ 이미지 전송 통계 조회 (관리자만 가능)
+     * - 전송/304/206/sendfile 응답 수, 썸네일 메모리 캐시 크기와 적중 수
+     */
+    @PreAuthorize("hasRole('ADMIN')") // ✅ 관리자만 가능
+    @GetMapping("/api/images/serving-stats")
+    public ResponseEntity<ImageServingService.ServingStats> getServingStats() {
+        return ResponseEntity.ok(imageServingService.stats());
+    }
+}
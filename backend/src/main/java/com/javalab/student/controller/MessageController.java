@@ -2,8 +2,11 @@ package com.javalab.student.controller;
 
 import com.javalab.student.dto.MessageRequestDto;
 import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.dto.MessageSliceDto;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.security.dto.MemberIdentity;
+import com.javalab.student.service.ChatDeliveryService;
 import com.javalab.student.service.MessageService;
-import com.javalab.student.service.MessagePublisherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +26,8 @@ import java.util.Map;
 public class MessageController {
 
     private final MessageService messageService;
-    private final MessagePublisherService messagePublisherService;
+    private final ChatDeliveryService chatDeliveryService;
+    private final CurrentMember currentMember;
 
     /**
      * ✅ 사용자가 보낸 메시지 조회 (본인만 가능)
@@ -79,14 +83,9 @@ public class MessageController {
                 requestDto.getSenderId(), requestDto.getReceiverId(), requestDto.getContent());
 
         try {
+            // 저장 후 MESSAGE_CREATED 이벤트로 수신자/발신자에게 한 번씩 전달된다.
             MessageResponseDto savedMessage = messageService.saveMessage(requestDto);
 
-            messagePublisherService.publishMessage(
-                    requestDto.getReceiverId(),
-                    requestDto.getSenderId(),
-                    savedMessage.getContent()
-            );
-
             Map<String, Object> response = new HashMap<>();
             response.put("messageId", savedMessage.getId());
             response.put("content", savedMessage.getContent());
@@ -158,4 +157,71 @@ public class MessageController {
         messageService.deleteMessage(messageId, userId, isSender);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * ✅ 받은 메시지 커서 페이지 조회 (로그인한 본인)
+     * - 응답의 nextCursor를 다음 요청의 cursor로 전달하면 이전 메시지를 이어서 조회한다.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<MessageSliceDto> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        MemberIdentity me = currentMember.get();
+        if (me == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(messageService.getInbox(me.id(), cursor, size));
+    }
+
+    /**
+     * ✅ 보낸 메시지 커서 페이지 조회 (로그인한 본인)
+     */
+    @GetMapping("/outbox")
+    public ResponseEntity<MessageSliceDto> getOutbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        MemberIdentity me = currentMember.get();
+        if (me == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(messageService.getOutbox(me.id(), cursor, size));
+    }
+
+    /**
+     * ✅ 특정 사용자와의 대화 전체 읽음 처리 (로그인한 본인이 받은 메시지)
+     */
+    @PostMapping("/conversation/read")
+    public ResponseEntity<Map<String, Object>> markConversationAsRead(@RequestParam Long targetUserId) {
+        MemberIdentity me = currentMember.get();
+        if (me == null) {
+            return ResponseEntity.status(401).build();
+        }
+        int updated = messageService.markConversationAsRead(me.id(), targetUserId);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    /**
+     * ✅ 특정 사용자와의 대화 커서 페이지 조회 (로그인한 본인)
+     */
+    @GetMapping("/conversation/page")
+    public ResponseEntity<MessageSliceDto> getConversationPage(
+            @RequestParam Long targetUserId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        MemberIdentity me = currentMember.get();
+        if (me == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(messageService.getConversationPage(me.id(), targetUserId, cursor, size));
+    }
+
+    /**
+     * ✅ 웹소켓 전달 통계 조회 (관리자만 가능)
+     * - 대기열 크기, 누적 전달 수, 평균/최대 전달 지연시간(ms)
+     */
+    @PreAuthorize("hasRole('ADMIN')") // ✅ 관리자만 가능
+    @GetMapping("/delivery-stats")
+    public ResponseEntity<ChatDeliveryService.DeliveryStats> getDeliveryStats() {
+        return ResponseEntity.ok(chatDeliveryService.stats());
+    }
 }
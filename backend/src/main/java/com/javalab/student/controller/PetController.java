@@ -1,13 +1,8 @@
 package com.javalab.student.controller;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
 import java.util.List;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -26,11 +21,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.javalab.student.constant.StorageBucket;
 import com.javalab.student.dto.PetDto;
 import com.javalab.student.dto.SubstanceDto;
 import com.javalab.student.service.PetService;
+import com.javalab.student.service.image.ImageServingService;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -40,33 +39,13 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PetController {
     private final PetService petService;
-
-    @Value("${petImgLocation}")
-    private String petUploadPath;
+    private final ImageServingService imageServingService;
 
     @GetMapping("/image/{filename:.+}")
-public ResponseEntity<Resource> getPetImage(@PathVariable("filename") String filename) {
-    log.info("Image request received for filename: {}", filename);
-    
-    try {
-        Path filePath = Paths.get(petUploadPath).resolve(filename).normalize();
-        
-        if (!Files.exists(filePath)) {
-            log.error("Image file not found at path: {}", filePath);
-            return ResponseEntity.notFound().build();
-        }
-
-        Resource resource = new UrlResource(filePath.toUri());
-        String contentType = Files.probeContentType(filePath);
-        
-        return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .body(resource);
-            
-    } catch (Exception e) {
-        log.error("Error serving image: {}", e.getMessage());
-        return ResponseEntity.internalServerError().build();
-    }
+public void getPetImage(@PathVariable("filename") String filename, HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+    // ETag/304, Range, 해시 이름은 1년 캐시
+    imageServingService.serve(StorageBucket.PET, filename, request, response);
 }
 
     
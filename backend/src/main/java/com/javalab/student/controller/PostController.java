@@ -1,19 +1,12 @@
 package com.javalab.student.controller;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -32,15 +25,20 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.javalab.student.constant.StorageBucket;
 import com.javalab.student.dto.CommentDto;
 import com.javalab.student.dto.PostDto;
 import com.javalab.student.service.CommentService;
 import com.javalab.student.service.PostService;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.image.ImageServingService;
+import com.javalab.student.service.storage.FileStorageService;
 
 import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 
 
 @RestController
@@ -56,48 +54,34 @@ import net.coobird.thumbnailator.Thumbnails;
 
 public class PostController {
 
-    @Value("${postImgLocation}")
-    private String postUploadPath;
-
     private final PostService postService;
     private final CommentService commentService;
+    private final FileStorageService fileStorageService;
+    private final ImageProcessingService imageProcessingService;
+    private final ImageServingService imageServingService;
+    // 비로그인 사용자의 재조회를 IP로 걸러낼지 여부(프록시 뒤에서는 server.forward-headers-strategy 설정 필요)
+    private final boolean dedupByIp;
     
 
-    public PostController(PostService postService, CommentService commentService) {
+    public PostController(PostService postService, CommentService commentService,
+                          FileStorageService fileStorageService, ImageProcessingService imageProcessingService,
+                          ImageServingService imageServingService,
+                          @Value("${post.views.dedup-by-ip:false}") boolean dedupByIp) {
         this.postService = postService;
         this.commentService = commentService;
+        this.fileStorageService = fileStorageService;
+        this.imageProcessingService = imageProcessingService;
+        this.imageServingService = imageServingService;
+        this.dedupByIp = dedupByIp;
     }
 
-     // 이미지 리소스 제공 메서드
-     @GetMapping("/image/{filename}")
-     public ResponseEntity<Resource> serveImage(@PathVariable String filename) throws IOException {
-         Path filePath = Paths.get(postUploadPath).resolve(filename);
-         Resource resource = new UrlResource(filePath.toUri());
-     
-         if (resource.exists() && resource.isReadable()) {
-             return ResponseEntity.ok()
-                 .contentType(MediaType.parseMediaType(determineContentType(filename)))
-                 .body(resource);
-         } else {
-             return ResponseEntity.notFound().build();
-         }
+     // 이미지 리소스 제공 메서드(ETag/304, Range, 해시 이름은 1년 캐시)
+     @GetMapping("/image/{filename:.+}")
+     public void serveImage(@PathVariable("filename") String filename, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+         imageServingService.serve(StorageBucket.POST, filename, request, response);
      }
 
-     private String determineContentType(String filename) {
-        String extension = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-        switch (extension) {
-            case "jpg":
-            case "jpeg":
-                return "image/jpeg";
-            case "png":
-                return "image/png";
-            case "gif":
-                return "image/gif";
-            default:
-                return "application/octet-stream";
-        }
-    }
-
     // 모든 게시글 조회
     @GetMapping
     public ResponseEntity<?> getAllPosts(
@@ -110,10 +94,13 @@ public class PostController {
     }
     
 
-    // 특정 게시글 조회 (조회수 증가 포함)
+    // 특정 게시글 조회 (조회수 증가 포함, 로그인 사용자 기준 중복 제거, IP 기준은 post.views.dedup-by-ip=true일 때만)
     @GetMapping("/{postId}")
-    public ResponseEntity<PostDto> getPostById(@PathVariable("postId") Long postId) {
-        PostDto postDto = postService.increaseViewsAndGet(postId);
+    public ResponseEntity<PostDto> getPostById(@PathVariable("postId") Long postId, Principal principal,
+                                               HttpServletRequest request) {
+        String viewer = principal != null ? "user:" + principal.getName()
+                : dedupByIp ? "ip:" + request.getRemoteAddr() : null;
+        PostDto postDto = postService.increaseViewsAndGet(postId, viewer);
         return ResponseEntity.ok(postDto);
     }
 
@@ -291,28 +278,16 @@ public ResponseEntity<?> deleteComment(
                 .body(Map.of("error", "파일이 비어있습니다."));
         }
 
-        // 원본 이미지 저장
-        String originalFileName = file.getOriginalFilename();
-        String fileName = UUID.randomUUID().toString() + "_" + originalFileName;
-        Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-        
-        // 디렉토리 존재 확인 및 생성
-        Files.createDirectories(targetLocation.getParent());
-        
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-        
-        // 썸네일 생성
-        String thumbnailName = "thumb_" + fileName;
-        Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
-        
-        // Thumbnailator 라이브러리 사용
-        Thumbnails.of(targetLocation.toFile())
-            .size(300, 300) // 썸네일 크기 조정
-            .toFile(thumbnailPath.toFile());
-        
+        // 원본 이미지 저장(내용 SHA-256 이름, 같은 이미지는 한 번만 저장)
+        // 본문 이미지는 게시글을 저장할 때 참조하며, 저장하지 않으면 일정 시간 후 삭제된다.
+        String fileName = fileStorageService.storeUnclaimed(StorageBucket.POST, file).name();
+
+        // 썸네일/중간 크기/WebP 파생본은 이미지 작업 스레드에서 생성, 그 전까지는 원본을 썸네일로 사용
+        imageProcessingService.process(fileStorageService.localPath(StorageBucket.POST, fileName), null);
+
             Map<String, String> response = new HashMap<>();
             response.put("imageUrl", "/api/posts/image/" + fileName);
-            response.put("thumbnailUrl", "/api/posts/image/" + thumbnailName);
+            response.put("thumbnailUrl", "/api/posts/image/" + fileName);
         
         return ResponseEntity.ok(response);
     } catch (IOException ex) {
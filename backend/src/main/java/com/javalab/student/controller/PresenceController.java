@@ -0,0 +1,42 @@
+package com.javalab.student.controller;
+
+import com.javalab.student.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 접속 상태 조회 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+@Slf4j
+public class PresenceController {
+
+    // 한 번에 조회할 수 있는 최대 사용자 수
+    private static final int MAX_USER_IDS = 200;
+
+    private final PresenceService presenceService;
+
+    /**
+     * ✅ 사용자 접속 여부 일괄 조회
+     * - 예: GET /api/presence?userIds=1,2,3 → {"1":true,"2":false,"3":true}
+     */
+    @PreAuthorize("isAuthenticated()") // ✅ 로그인된 사용자만 가능
+    @GetMapping
+    public ResponseEntity<Map<Long, Boolean>> getOnlineStatus(@RequestParam("userIds") List<Long> userIds) {
+        if (userIds.size() > MAX_USER_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(presenceService.onlineStatus(userIds));
+    }
+}
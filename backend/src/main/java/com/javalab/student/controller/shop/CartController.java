@@ -92,7 +92,7 @@ public class CartController {
             return new ResponseEntity<>("수정 권한이 없습니다.", HttpStatus.FORBIDDEN);
         }
 
-        cartService.updateCartItemCount(cartItemId, count);
+        cartService.updateCartItemCount(cartItemId, count, principal.getName());
         log.info("장바구니 상품 수량 수정 완료: 상품ID {}", cartItemId);
         return new ResponseEntity<>(cartItemId, HttpStatus.OK);
     }
@@ -109,7 +109,7 @@ public class CartController {
             return new ResponseEntity<>("삭제 권한이 없습니다.", HttpStatus.FORBIDDEN);
         }
 
-        cartService.deleteCartItem(cartItemId);
+        cartService.deleteCartItem(cartItemId, principal.getName());
         log.info("장바구니 상품 삭제 완료: 상품ID {}", cartItemId);
         return new ResponseEntity<>(cartItemId, HttpStatus.OK);
     }
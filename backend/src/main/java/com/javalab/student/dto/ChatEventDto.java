@@ -0,0 +1,90 @@
+package com.javalab.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.javalab.student.constant.ChatEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 채팅 이벤트 (Redis Pub/Sub 전송용 JSON 봉투)
+ * - v : 봉투 형식 버전, 구독 서버는 자신이 아는 버전(VERSION) 이하만 처리한다.
+ * - recipients : 이벤트를 받을 사용자 ID, 각 서버는 이 중 자신에게 구독 중인 사용자에게만 전달한다.
+ * - message : MESSAGE_CREATED의 메시지 본문, content : MESSAGE_EDITED의 수정 내용
+ * - sentAt : 발행 시각(epoch ms), 서버 간 전달 지연 측정용
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatEventDto {
+
+    public static final int VERSION = 1;
+
+    private int v;
+    private ChatEventType type;
+    private List<Long> recipients;
+    private Long messageId;
+    private Long senderId;
+    private Long receiverId;
+    private String content;
+    private MessageResponseDto message;
+    private long sentAt;
+
+    /**
+     * 새 메시지 이벤트(수신자, 발신자에게 전달)
+     */
+    public static ChatEventDto created(MessageResponseDto message) {
+        return ChatEventDto.builder()
+                .v(VERSION)
+                .type(ChatEventType.MESSAGE_CREATED)
+                .recipients(recipients(message.getReceiverId(), message.getSenderId()))
+                .messageId(message.getId())
+                .senderId(message.getSenderId())
+                .receiverId(message.getReceiverId())
+                .message(message)
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * 메시지 상태 변경 이벤트(읽음/수정/삭제, 수신자, 발신자에게 전달)
+     * @param messageId 메시지 ID, 대화 전체 읽음 처리이면 null
+     */
+    public static ChatEventDto update(ChatEventType type, Long messageId, Long senderId, Long receiverId, String content) {
+        return ChatEventDto.builder()
+                .v(VERSION)
+                .type(type)
+                .recipients(recipients(receiverId, senderId))
+                .messageId(messageId)
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .content(content)
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    /**
+     * 입력 중 이벤트(수신자에게만 전달)
+     */
+    public static ChatEventDto typing(Long senderId, Long receiverId) {
+        return ChatEventDto.builder()
+                .v(VERSION)
+                .type(ChatEventType.TYPING)
+                .recipients(List.of(receiverId))
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .sentAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static List<Long> recipients(Long receiverId, Long senderId) {
+        return receiverId.equals(senderId) ? List.of(receiverId) : List.of(receiverId, senderId);
+    }
+}
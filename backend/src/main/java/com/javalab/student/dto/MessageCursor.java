@@ -0,0 +1,41 @@
+package com.javalab.student.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 메시지 목록 커서
+ * - 마지막으로 받은 메시지의 (등록 시간, 메시지 ID), 다음 페이지는 이보다 이전 메시지부터 조회한다.
+ * - 클라이언트에는 "등록시간|메시지ID"를 URL-safe Base64로 인코딩한 문자열로 전달한다.
+ */
+public record MessageCursor(LocalDateTime regTime, Long id) {
+
+    public static MessageCursor of(MessageResponseDto message) {
+        return new MessageCursor(message.getRegTime(), message.getId());
+    }
+
+    public String encode() {
+        String raw = regTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석
+     * @param cursor 인코딩된 커서, 비어 있으면 첫 페이지
+     * @return 커서, 첫 페이지이면 null
+     */
+    public static MessageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new MessageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
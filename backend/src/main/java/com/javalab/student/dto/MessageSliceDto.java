@@ -0,0 +1,20 @@
+package com.javalab.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 메시지 커서 페이지 응답 DTO
+ * - messages : 최신순 메시지
+ * - nextCursor : 다음(이전 메시지) 페이지 커서, 더 없으면 null
+ */
+@Getter
+@AllArgsConstructor
+public class MessageSliceDto {
+
+    private List<MessageResponseDto> messages;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -20,6 +20,8 @@ public class CartDetailDto {
 
     private String imgUrl; //상품 이미지 경로
 
+    private Long totalPrice; //장바구니 상품 금액(가격 * 수량)
+
     /**
      * 생성자
      * - JPQL 쿼리의 결과를 DTO 객체로 바로 매핑하기 위해 생성자를 사용
@@ -32,6 +34,20 @@ public class CartDetailDto {
         this.price = price;
         this.count = count;
         this.imgUrl = imgUrl;
+        this.totalPrice = price * count;
+    }
+
+    /**
+     * 생성자
+     * - 장바구니 상품 금액을 SQL에서 계산한 경우(CartItemRepository.findCartDetailDtoList)
+     */
+    public CartDetailDto(Long cartItemId, String itemNm, Long price, int count, String imgUrl, Long totalPrice){
+        this.cartItemId = cartItemId;
+        this.itemNm = itemNm;
+        this.price = price;
+        this.count = count;
+        this.imgUrl = imgUrl;
+        this.totalPrice = totalPrice;
     }
 
 }
\ No newline at end of file
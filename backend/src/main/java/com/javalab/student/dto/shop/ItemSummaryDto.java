@@ -0,0 +1,24 @@
+package com.javalab.student.dto.shop;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 상품 요약 정보 DTO
+ * - 장바구니 목록처럼 상품명과 가격만 필요한 화면에서 사용
+ * - Redis에 JSON으로 캐싱하므로 기본 생성자와 setter가 필요하다.
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSummaryDto {
+
+    private Long itemId;    // 상품 ID
+
+    private String itemNm;  // 상품명
+
+    private Long price;     // 상품 가격
+
+}
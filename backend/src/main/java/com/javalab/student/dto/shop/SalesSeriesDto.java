@@ -0,0 +1,21 @@
+package com.javalab.student.dto.shop;
+
+import lombok.*;
+
+/**
+ * 기간별 매출 집계 DTO
+ * - 관리자 매출 그래프에서 사용
+ * - period : 집계 구간의 시작일(yyyy-MM-dd), 월별 집계는 yyyy-MM
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesSeriesDto {
+    private String period;      // 집계 구간
+    private long amount;        // 매출 금액 (주문가격 * 수량)
+    private long orderCount;    // 주문 수
+    private long quantity;      // 판매 수량
+}
@@ -0,0 +1,47 @@
+package com.javalab.student.entity;
+
+import com.javalab.student.constant.StorageBucket;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 업로드 파일(blob) 참조 수
+ * - 파일 이름은 내용의 SHA-256(16진수) + 확장자, 같은 내용을 다시 올리면 파일을 새로 쓰지 않고 참조 수만 늘린다.
+ * - 참조 수가 0이 되면 행과 파일을 함께 삭제한다.(FileStorageService)
+ */
+@Entity
+@Table(name = "file_blob", indexes = {
+        // 해시로 원본 찾기(/img/{hash})
+        @Index(name = "idx_file_blob_name", columnList = "name")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileBlob extends BaseTimeEntity {
+
+    // 버킷 + "/" + 파일 이름
+    @Id
+    @Column(name = "blob_key", length = 100)
+    private String key;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket", nullable = false, length = 10)
+    private StorageBucket bucket;
+
+    @Column(name = "name", nullable = false, length = 80)
+    private String name;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+}
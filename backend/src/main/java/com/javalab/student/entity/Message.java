@@ -9,10 +9,17 @@ import lombok.*;
 
 /**
  * 메시지 엔티티
+ * - 커서(reg_time, msg_id) 기반 페이지 조회용 인덱스
+ *   - 대화 : (sender_id, receiver_id, reg_time), 받은 메시지 : (receiver_id, reg_time), 보낸 메시지 : (sender_id, reg_time)
+ *   - InnoDB 보조 인덱스 끝에는 기본키(msg_id)가 포함되므로 (reg_time, msg_id) 정렬도 인덱스로 처리된다.
  */
 @Entity
 @Getter @Setter
-@Table(name = "message")
+@Table(name = "message", indexes = {
+        @Index(name = "idx_message_sender_receiver_reg", columnList = "sender_id, receiver_id, reg_time"),
+        @Index(name = "idx_message_receiver_reg", columnList = "receiver_id, reg_time"),
+        @Index(name = "idx_message_sender_reg", columnList = "sender_id, reg_time")
+})
 @Builder
 @NoArgsConstructor  // @Builder 사용 시 @AllArgsConstructor 필수
 @AllArgsConstructor
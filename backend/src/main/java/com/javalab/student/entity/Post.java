@@ -28,7 +28,8 @@ public class Post extends BaseTimeEntity {
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
-    @Column(name = "views", nullable = false)
+    // 조회수는 PostViewCounter가 UPDATE views = views + ?로만 변경한다.(게시글 수정 시 덮어쓰지 않음)
+    @Column(name = "views", nullable = false, updatable = false)
     private int views;
 
     @Column(name = "post_category")
@@ -7,7 +7,10 @@ import lombok.Setter;
 
 @Entity
 @Getter @Setter
-@Table(name="cart_item")
+@Table(name="cart_item", indexes = {
+        // 장바구니 목록 조회(cart_id = ? order by reg_time desc)
+        @Index(name = "idx_cart_item_cart_reg", columnList = "cart_id, reg_time")
+})
 public class CartItem extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY) // 기본키 자동 생성, 마리아디비, MySQL은 AUTO increment
@@ -4,7 +4,6 @@ package com.javalab.student.entity.shop;
 import com.javalab.student.constant.ItemSellStatus;
 import com.javalab.student.dto.shop.ItemFormDto;
 import com.javalab.student.entity.BaseEntity;
-import com.javalab.student.exception.OutOfStockException;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -60,28 +59,4 @@ public class Item extends BaseEntity {
         this.itemSellStatus = itemFormDto.getItemSellStatus();
     }
 
-
-/**
- * 상품의 재고를 감소시킨다.
- * @param stockNumber
- */
-
-    public void removeStock(int stockNumber){
-        int restStock = this.stockNumber - stockNumber;
-        if(restStock<0){
-            throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: " + this.stockNumber + ")");
-        }
-        this.stockNumber = restStock;
-    }
-
-
-/**
- * 상품의 재고를 증가시킨다.
- * @param stockNumber
- */
-
-    public void addStock(int stockNumber){
-        this.stockNumber += stockNumber;
-    }
-
 }
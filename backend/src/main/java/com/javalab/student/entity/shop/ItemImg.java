@@ -9,6 +9,10 @@ import lombok.Setter;
  * 상품 이미지를 저장하는 엔티티
  */
 @Entity
+@Table(name = "item_img", indexes = {
+        // 장바구니/주문 목록의 대표 이미지 조회(item_id = ? and repimg_yn = 'Y')
+        @Index(name = "idx_item_img_item_rep", columnList = "item_id, repimg_yn")
+})
 @Getter@Setter
 public class ItemImg extends BaseEntity {
 
@@ -16,7 +16,10 @@ import java.util.List;
  * 주문 엔티티
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // 관리자 매출 집계(주문 상태 + 주문일 범위) 조회용 인덱스
+        @Index(name = "idx_orders_status_date", columnList = "order_status, order_date")
+})
 @Getter @Setter
 @Builder
 @NoArgsConstructor
@@ -128,11 +131,12 @@ public class Order extends BaseEntity {
         return totalPrice;
     }
 
+    /**
+     * 주문 취소
+     * - 주문 상태만 변경한다. 재고 복구는 OrderService에서 StockService.release()로 처리한다.
+     */
     public void cancelOrder() {
         this.orderStatus = OrderStatus.CANCELED;
-        for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
     }
 
     public OrderDto entityToDto(){
@@ -18,8 +18,11 @@ import lombok.*;
 @NoArgsConstructor
 public class OrderItem extends BaseEntity {
 
+    // IDENTITY 전략은 INSERT마다 키를 받아와야 해서 JDBC 배치가 불가능하므로 시퀀스를 사용한다.
+    // (기존 AUTO 전략이 사용하던 order_item_seq 시퀀스와 동일)
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -39,6 +42,7 @@ public class OrderItem extends BaseEntity {
      * OrderItem 생성
      *  - 파라미터로 전달된 Item을 자신의 item 속성에 세팅함.
      *    이렇게 되면 상위 객체와 연결되는 통로가 만들어짐.
+     *  - 재고 차감은 동시 주문 처리를 위해 StockService.reserve()에서 한다.
      */
     public static OrderItem createOrderItem(Item item, int count){
         OrderItem orderItem = OrderItem.builder()
@@ -46,7 +50,6 @@ public class OrderItem extends BaseEntity {
                 .count(count)
                 .orderPrice(item.getPrice())
                 .build();
-        item.removeStock(count);
         return orderItem;
     }
 
@@ -55,11 +58,6 @@ public class OrderItem extends BaseEntity {
         return orderPrice * count;
     }
 
-    // 주문취소(재고 증가)
-    public void cancel() {
-        this.getItem().addStock(count);
-    }
-
     // Entity -> Dto
     public OrderItemDto entityToDto(){
         OrderItemDto orderItemDto = OrderItemDto.builder()
@@ -0,0 +1,50 @@
+package com.javalab.student.entity.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 / 상품별 / 주문 상태별 매출 집계 엔티티
+ * - 관리자 매출 통계를 주문 상품(order_item) 전체가 아닌 이 테이블에서 조회한다.
+ * - 주문 생성, 결제 완료, 주문 취소 시 같은 트랜잭션에서 SalesRollupService가 증감한다.
+ * - 증감은 (sales_date, item_id, order_status) 유니크 키에 대한 upsert로 처리한다.
+ */
+@Entity
+@Table(name = "sales_daily_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sales_rollup_date_item_status",
+                columnNames = {"sales_date", "item_id", "order_status"})
+}, indexes = {
+        @Index(name = "idx_sales_rollup_status_date", columnList = "order_status, sales_date")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sales_rollup_id")
+    private Long id;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;    // 주문일
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;            // 상품 ID
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false, length = 30)
+    private OrderStatus orderStatus; // 주문 상태
+
+    @Column(nullable = false)
+    private long quantity;          // 판매 수량
+
+    @Column(nullable = false)
+    private long amount;            // 매출 금액 (주문가격 * 수량)
+}
@@ -0,0 +1,75 @@
+package com.javalab.student.repository;
+
+import com.javalab.student.entity.FileBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 업로드 파일 참조 수(file_blob) Repository
+ */
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    /**
+     * 참조 수 증가(upsert)
+     * - 행이 없으면 참조 수 1로 생성하고, 있으면 1 더한다.
+     * - MariaDB의 INSERT ... ON DUPLICATE KEY UPDATE는 생성이면 1, 갱신이면 2를 반환한다.(2 = 이미 있는 파일)
+     * - 행 잠금은 트랜잭션이 끝날 때까지 유지되어, 같은 파일의 삭제(release)와 순서가 보장된다.
+     */
+    @Modifying
+    @Query(value = "insert into file_blob (blob_key, bucket, name, size, ref_count, reg_time, update_time) " +
+            "values (:key, :bucket, :name, :size, 1, now(), now()) " +
+            "on duplicate key update ref_count = ref_count + 1, update_time = now()",
+            nativeQuery = true)
+    int acquire(@Param("key") String key,
+                @Param("bucket") String bucket,
+                @Param("name") String name,
+                @Param("size") long size);
+
+    /**
+     * 참조 없이 등록(upsert, 에디터 본문 이미지)
+     * - 행이 없으면 참조 수 0으로 생성하고, 있으면 참조 수는 그대로 두고 수정 시간만 갱신한다.(정리 대상에서 미룸)
+     */
+    @Modifying
+    @Query(value = "insert into file_blob (blob_key, bucket, name, size, ref_count, reg_time, update_time) " +
+            "values (:key, :bucket, :name, :size, 0, now(), now()) " +
+            "on duplicate key update update_time = now()",
+            nativeQuery = true)
+    int acquireUnclaimed(@Param("key") String key,
+                         @Param("bucket") String bucket,
+                         @Param("name") String name,
+                         @Param("size") long size);
+
+    /**
+     * 이미 있는 파일의 참조 수 증가
+     * @return 갱신된 행 수(파일이 없으면 0)
+     */
+    @Modifying
+    @Query(value = "update file_blob set ref_count = ref_count + 1, update_time = now() where blob_key = :key",
+            nativeQuery = true)
+    int retain(@Param("key") String key);
+
+    /**
+     * 참조 수가 주어진 값이고 오래된 행(참조되지 않은 업로드 정리용)
+     */
+    List<FileBlob> findTop100ByRefCountAndUpdateTimeBefore(int refCount, LocalDateTime cutoff);
+
+    /**
+     * 해시로 파일 조회(/img/{hash} 원본 찾기), prefix : "SHA-256."
+     */
+    Optional<FileBlob> findFirstByNameStartingWith(String prefix);
+
+    /**
+     * 참조 수 감소 전 행 잠금 조회(select ... for update)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from FileBlob b where b.key = :key")
+    Optional<FileBlob> findForUpdate(@Param("key") String key);
+}
@@ -2,6 +2,7 @@ package com.javalab.student.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.javalab.student.entity.Member;
+import com.javalab.student.security.dto.MemberIdentity;
 
 /**
  * Member 엔티티의 데이터베이스 작업을 처리하는 리포지토리
@@ -27,6 +29,14 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
     boolean existsByEmail(String email);
 
+    /**
+     * 이메일로 회원 식별 정보(ID, 이메일, 이름, 권한)만 조회
+     * - 회원 엔티티 전체를 영속화하지 않는다.(MemberIdentityCache)
+     */
+    @Query("select new com.javalab.student.security.dto.MemberIdentity(m.id, m.email, m.name, m.role) " +
+            "from Member m where m.email = :email")
+    Optional<MemberIdentity> findIdentityByEmail(@Param("email") String email);
+
     @Query("SELECT m FROM Member m WHERE m.regTime >= :threeMonthsAgo")
     List<Member> findRecentMembers(@Param("threeMonthsAgo") LocalDateTime threeMonthsAgo);
 
@@ -1,5 +1,6 @@
 package com.javalab.student.repository;
 
+import com.javalab.student.dto.MessageResponseDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Message;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
@@ -25,6 +27,19 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :receiver AND m.read = false")
     int countUnreadMessages(@Param("receiver") Member receiver);
 
+    // ✅ 읽지 않은 메시지 개수(회원 ID 기준, 카운터 초기화용)
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :receiverId AND m.read = false")
+    int countUnreadByReceiverId(@Param("receiverId") Long receiverId);
+
+    // ✅ 수신자별 읽지 않은 메시지 개수(카운터 보정용), [수신자 ID, 개수]
+    @Query("SELECT m.receiver.id, COUNT(m) FROM Message m WHERE m.receiver.id IN :receiverIds AND m.read = false GROUP BY m.receiver.id")
+    List<Object[]> countUnreadGroupByReceiverId(@Param("receiverIds") List<Long> receiverIds);
+
+    // ✅ 대화 상대가 보낸 읽지 않은 메시지 일괄 읽음 처리, 반환값 : 읽음 처리한 건수
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Message m SET m.read = true WHERE m.receiver.id = :receiverId AND m.sender.id = :senderId AND m.read = false")
+    int markConversationAsRead(@Param("receiverId") Long receiverId, @Param("senderId") Long senderId);
+
     @Modifying(clearAutomatically = true)  // ✅ 엔티티 컨텍스트 자동 동기화
     @Transactional
     @Query("UPDATE Message m SET m.read = true WHERE m.id = :messageId")
@@ -54,4 +69,50 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Transactional
     @Query("UPDATE Message m SET m.deletedByReceiver = true WHERE m.id = :messageId AND m.receiver = :user")
     void deleteMessageByReceiver(@Param("messageId") Long messageId, @Param("user") Member user);
+
+    /*
+     * 커서(reg_time, msg_id) 기반 페이지 조회
+     * - 메시지 엔티티 대신 MessageResponseDto로 바로 조회하므로 발신자/수신자 지연 로딩 프록시를 초기화하지 않는다.
+     *   (발신자 이름은 조인으로 함께 조회)
+     * - 최신순 정렬, Pageable은 조회 건수 제한(LIMIT)에만 사용한다.
+     * - ~Before 메서드는 커서(마지막으로 받은 메시지의 등록 시간, 메시지 ID)보다 이전 메시지를 조회한다.
+     */
+    String RESPONSE_PROJECTION = "SELECT new com.javalab.student.dto.MessageResponseDto(" +
+            "m.id, s.id, s.name, m.receiver.id, m.content, m.read, m.regTime, m.updateTime) " +
+            "FROM Message m JOIN m.sender s ";
+    String BEFORE_CURSOR = "AND (m.regTime < :regTime OR (m.regTime = :regTime AND m.id < :id)) ";
+    String LATEST_FIRST = "ORDER BY m.regTime DESC, m.id DESC";
+
+    // ✅ 받은 메시지 (idx_message_receiver_reg)
+    @Query(RESPONSE_PROJECTION + "WHERE m.receiver.id = :receiverId " + LATEST_FIRST)
+    List<MessageResponseDto> findInbox(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE m.receiver.id = :receiverId " + BEFORE_CURSOR + LATEST_FIRST)
+    List<MessageResponseDto> findInboxBefore(@Param("receiverId") Long receiverId,
+                                             @Param("regTime") LocalDateTime regTime,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    // ✅ 보낸 메시지 (idx_message_sender_reg)
+    @Query(RESPONSE_PROJECTION + "WHERE m.sender.id = :senderId " + LATEST_FIRST)
+    List<MessageResponseDto> findOutbox(@Param("senderId") Long senderId, Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE m.sender.id = :senderId " + BEFORE_CURSOR + LATEST_FIRST)
+    List<MessageResponseDto> findOutboxBefore(@Param("senderId") Long senderId,
+                                              @Param("regTime") LocalDateTime regTime,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // ✅ 한 방향(발신자 -> 수신자) 대화, 양방향 대화는 두 방향을 각각 조회해서 합친다. (idx_message_sender_receiver_reg)
+    @Query(RESPONSE_PROJECTION + "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId " + LATEST_FIRST)
+    List<MessageResponseDto> findDirection(@Param("senderId") Long senderId,
+                                           @Param("receiverId") Long receiverId,
+                                           Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "WHERE m.sender.id = :senderId AND m.receiver.id = :receiverId " + BEFORE_CURSOR + LATEST_FIRST)
+    List<MessageResponseDto> findDirectionBefore(@Param("senderId") Long senderId,
+                                                 @Param("receiverId") Long receiverId,
+                                                 @Param("regTime") LocalDateTime regTime,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
 }
@@ -4,8 +4,24 @@ import com.javalab.student.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     Page<Post> findByUserId(Long userId, Pageable pageable);
+
+    // ✅ 썸네일 URL 갱신(이미지 파생본 생성 완료 시), 그 사이 이미지가 바뀌었으면 갱신하지 않는다.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.thumbnailUrl = :thumbnailUrl WHERE p.id = :id AND p.imageUrl = :imageUrl")
+    int updateThumbnailUrl(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+                           @Param("thumbnailUrl") String thumbnailUrl);
+
+    // ✅ 조회수 증가분 반영(PostViewCounter), 읽지 않고 DB에서 원자적으로 더한다.
+    @Modifying
+    @Query("UPDATE Post p SET p.views = p.views + :delta WHERE p.id = :id")
+    int increaseViews(@Param("id") Long id, @Param("delta") long delta);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,10 +37,17 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
             "and im.repimgYn = 'Y' " +
             "order by ci.regTime desc"
     )*/
-    @Query("select new com.javalab.student.dto.shop.CartDetailDto(ci.id, i.itemNm, i.price, ci.count, im.imgUrl) " +
+    /*
+     * 대표 이미지 조건(repimgYn = 'Y') 없이 이미지를 조인하면 상품 이미지 수만큼 같은 장바구니 상품이 중복 조회된다.
+     * 대표 이미지는 스칼라 서브쿼리로 조회하여 장바구니 상품당 한 행만 반환하고, 금액(가격 * 수량)은 SQL에서 계산한다.
+     * - cart_item(cart_id, reg_time) 인덱스로 조회와 정렬을 처리한다.(idx_cart_item_cart_reg)
+     * - item_img(item_id, repimg_yn) 인덱스로 대표 이미지를 찾는다.(idx_item_img_item_rep)
+     */
+    @Query("select new com.javalab.student.dto.shop.CartDetailDto(ci.id, i.itemNm, i.price, ci.count, " +
+            "(select max(im.imgUrl) from ItemImg im where im.item.id = i.id and im.repimgYn = 'Y'), " +
+            "i.price * ci.count) " +
             "from CartItem ci " +
             "join ci.item i " +
-            "left join ItemImg im on im.item.id = i.id " +
             "where ci.cart.id = :cartId " +
             "order by ci.regTime desc"
     )
@@ -47,4 +55,27 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
 
     List<CartItem> findByItemIdIn(List<Long> itemIds);
+
+    /**
+     * 장바구니 상품 일괄 조회(상품 fetch join)
+     * - 장바구니 주문시 장바구니 상품과 상품 정보를 한 번의 쿼리로 조회한다.
+     * @param cartItemIds
+     */
+    @Query("select ci from CartItem ci join fetch ci.item where ci.id in :cartItemIds")
+    List<CartItem> findAllWithItemByIdIn(@Param("cartItemIds") Collection<Long> cartItemIds);
+
+    /**
+     * 장바구니의 상품 전체 조회
+     * @param cartId
+     */
+    List<CartItem> findByCartId(Long cartId);
+
+    /**
+     * 회원 장바구니의 상품 ID, 수량 조회
+     * - Redis 장바구니(RedisCartStore)를 DB 장바구니로 채울 때 사용
+     * @param email 회원 이메일
+     * @return [상품 ID, 수량] 목록
+     */
+    @Query("select ci.item.id, ci.count from CartItem ci where ci.cart.member.email = :email")
+    List<Object[]> findItemCountsByMemberEmail(@Param("email") String email);
 }
@@ -3,7 +3,10 @@ package com.javalab.student.repository.shop;
 import com.javalab.student.entity.shop.ItemImg;
 import io.lettuce.core.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -34,5 +37,15 @@ public interface ItemImgRepository extends JpaRepository<ItemImg, Long> {
 
     List<ItemImg> findByItemId(Long id);
 
+    /**
+     * 여러 상품의 대표 이미지 경로 일괄 조회
+     * - [상품 ID, 이미지 경로] 배열 리스트를 반환한다.
+     * - 대표 이미지가 없는 상품은 결과에 포함되지 않는다.
+     * @param itemIds
+     */
+    @Query("select i.item.id, i.imgUrl from ItemImg i " +
+            "where i.item.id in :itemIds and i.repimgYn = 'Y'")
+    List<Object[]> findRepImgUrlsByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
 
 }
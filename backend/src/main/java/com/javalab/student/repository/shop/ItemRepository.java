@@ -2,7 +2,7 @@ package com.javalab.student.repository.shop;
 
 import com.javalab.student.constant.ItemSellStatus;
 import com.javalab.student.entity.shop.Item;
-import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
@@ -65,4 +65,29 @@ public interface ItemRepository extends JpaRepository<Item, Long>,
 
     @Query("UPDATE Item i SET i.itemSellStatus = :itemSellStatus WHERE i.id = :itemId")
     void updateItemSellStatus(@Param("itemId") Long itemId, @Param("itemSellStatus") ItemSellStatus itemSellStatus);
+
+    /**
+     * 재고 차감 (조건부 원자적 UPDATE)
+     * - 재고가 차감 수량 이상일 때만 차감하므로 동시 주문에도 재고가 음수가 되지 않는다.
+     * @return 변경된 행 수, 재고 부족이면 0
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.stockNumber = i.stockNumber - :count " +
+            "WHERE i.id = :itemId AND i.stockNumber >= :count")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+    /**
+     * 재고 증감 (원자적 UPDATE)
+     * - 주문 취소 시 재고 복구, Redis 재고 동기화 시 사용
+     * @return 변경된 행 수
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.stockNumber = i.stockNumber + :count WHERE i.id = :itemId")
+    int increaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+    /**
+     * 현재 재고 수량 조회
+     */
+    @Query("SELECT i.stockNumber FROM Item i WHERE i.id = :itemId")
+    Integer findStockNumberById(@Param("itemId") Long itemId);
 }
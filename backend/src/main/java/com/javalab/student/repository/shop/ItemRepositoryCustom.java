@@ -1,11 +1,23 @@
 package com.javalab.student.repository.shop;
 
 
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemFormDto;
+
+import java.util.List;
+
 /**
  * ItemRepositoryCustom 인터페이스
  * - querydsl을 사용한 동적 쿼리를 위한 ItemRepositoryCustom 인터페이스
  */
 public interface ItemRepositoryCustom {
 
+    /**
+     * 판매 상태별 상품 목록 조회 (대표 이미지, 알러지 성분 ID 포함)
+     * - 상품 수와 관계없이 상품 / 대표 이미지 / 알러지 성분 3번의 쿼리로 조회한다.
+     * @param itemSellStatus 판매 상태
+     * @return 대표 이미지와 알러지 성분 ID가 채워진 ItemFormDto 리스트
+     */
+    List<ItemFormDto> findItemFormDtoListBySellStatus(ItemSellStatus itemSellStatus);
 
 }
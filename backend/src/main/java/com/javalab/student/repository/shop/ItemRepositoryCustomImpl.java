@@ -1,6 +1,22 @@
 package com.javalab.student.repository.shop;
 
 
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemFormDto;
+import com.javalab.student.dto.shop.ItemImgDto;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.QItem;
+import com.javalab.student.entity.shop.QItemImg;
+import com.javalab.student.entity.shop.QItemSubstance;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * ItemRepositoryCustom 인터페이스를 구현하는 클래스
@@ -9,6 +25,89 @@ package com.javalab.student.repository.shop;
  */
 public class ItemRepositoryCustomImpl implements ItemRepositoryCustom{
 
+    private final JPAQueryFactory queryFactory;
+
+    public ItemRepositoryCustomImpl(EntityManager em) {
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 판매 상태별 상품 목록 조회
+     * 1. 상품 목록 조회
+     * 2. 조회된 상품 ID 목록으로 대표 이미지(repimgYn = 'Y')를 IN 쿼리 한 번으로 조회
+     * 3. 조회된 상품 ID 목록으로 알러지 성분 ID를 IN 쿼리 한 번으로 조회
+     * - 기존에는 상품마다 대표 이미지/알러지 성분 쿼리가 실행되어 상품 수 * 2 + 1 번의 쿼리가 발생했다.
+     */
+    @Override
+    public List<ItemFormDto> findItemFormDtoListBySellStatus(ItemSellStatus itemSellStatus) {
+        QItem item = QItem.item;
+        QItemImg itemImg = QItemImg.itemImg;
+        QItemSubstance itemSubstance = QItemSubstance.itemSubstance;
+
+        // 1. 판매 상태에 따라 상품 목록 조회
+        List<Item> itemList = queryFactory
+                .selectFrom(item)
+                .where(item.itemSellStatus.eq(itemSellStatus))
+                .fetch();
+
+        if (itemList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> itemIds = itemList.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        // 2. 대표 이미지 일괄 조회, 상품 ID -> 대표 이미지 DTO
+        List<Tuple> repImgRows = queryFactory
+                .select(itemImg.item.id, itemImg.id, itemImg.imgName, itemImg.oriImgName,
+                        itemImg.imgUrl, itemImg.repimgYn)
+                .from(itemImg)
+                .where(itemImg.item.id.in(itemIds),
+                        itemImg.repimgYn.eq("Y"))
+                .fetch();
+
+        Map<Long, ItemImgDto> repImgMap = new HashMap<>();
+        for (Tuple row : repImgRows) {
+            ItemImgDto itemImgDto = ItemImgDto.builder()
+                    .id(row.get(itemImg.id))
+                    .imgName(row.get(itemImg.imgName))
+                    .oriImgName(row.get(itemImg.oriImgName))
+                    .imgUrl(row.get(itemImg.imgUrl))
+                    .repImgYn(row.get(itemImg.repimgYn))
+                    .build();
+            // 대표 이미지가 중복 저장된 경우 먼저 조회된 이미지를 사용
+            repImgMap.putIfAbsent(row.get(itemImg.item.id), itemImgDto);
+        }
+
+        // 3. 알러지 성분 ID 일괄 조회, 상품 ID -> 성분 ID 리스트
+        List<Tuple> substanceRows = queryFactory
+                .select(itemSubstance.item.id, itemSubstance.substance.substanceId)
+                .from(itemSubstance)
+                .where(itemSubstance.item.id.in(itemIds))
+                .fetch();
+
+        Map<Long, List<Long>> substanceMap = new HashMap<>();
+        for (Tuple row : substanceRows) {
+            substanceMap.computeIfAbsent(row.get(itemSubstance.item.id), k -> new ArrayList<>())
+                    .add(row.get(itemSubstance.substance.substanceId));
+        }
+
+        // 4. 상품 정보 + 대표 이미지 + 알러지 성분 ID 조합
+        List<ItemFormDto> itemFormDtoList = new ArrayList<>(itemList.size());
+        for (Item it : itemList) {
+            ItemFormDto itemFormDto = ItemFormDto.of(it);
+
+            ItemImgDto repItemImgDto = repImgMap.get(it.getId());
+            itemFormDto.setItemImgDtoList(repItemImgDto != null
+                    ? List.of(repItemImgDto)      // 대표 이미지만 리스트에 추가
+                    : new ArrayList<>());         // 대표 이미지가 없는 경우 빈 리스트
+
+            itemFormDto.setSubstanceIds(substanceMap.getOrDefault(it.getId(), new ArrayList<>()));
+            itemFormDtoList.add(itemFormDto);
+        }
 
+        return itemFormDtoList;
+    }
 
-}
\ No newline at end of file
+}
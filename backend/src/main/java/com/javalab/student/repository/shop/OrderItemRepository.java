@@ -1,8 +1,12 @@
 package com.javalab.student.repository.shop;
 
+import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.entity.shop.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -14,4 +18,62 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
 
     List<OrderItem> findByOrderIdIn(List<Long> orderIds);
+
+    /**
+     * 기간 매출 금액 합계
+     * - 주문 상태와 주문일 범위 [start, end) 로 필터링하여 DB에서 SUM 한다.
+     * - 금액은 주문 당시 가격(orderPrice) * 수량 으로 계산한다.
+     */
+    @Query("select coalesce(sum(oi.orderPrice * oi.count), 0) from OrderItem oi " +
+            "join oi.order o " +
+            "where o.orderStatus = :status " +
+            "and o.orderDate >= :start and o.orderDate < :end")
+    Long sumSalesAmount(@Param("status") OrderStatus status,
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+    /**
+     * 일별 매출 시계열 [구간, 매출 금액, 주문 수, 판매 수량]
+     */
+    @Query(value = "select date_format(o.order_date, '%Y-%m-%d') as period, " +
+            "sum(oi.order_price * oi.count) as amount, " +
+            "count(distinct o.order_id) as order_count, " +
+            "sum(oi.count) as quantity " +
+            "from order_item oi join orders o on o.order_id = oi.order_id " +
+            "where o.order_status = :status " +
+            "and o.order_date >= :start and o.order_date < :end " +
+            "group by period order by period", nativeQuery = true)
+    List<Object[]> findDailySalesSeries(@Param("status") String status,
+                                        @Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end);
+
+    /**
+     * 주별(월요일 시작) 매출 시계열 [구간, 매출 금액, 주문 수, 판매 수량]
+     */
+    @Query(value = "select date_format(date_sub(date(o.order_date), interval weekday(o.order_date) day), '%Y-%m-%d') as period, " +
+            "sum(oi.order_price * oi.count) as amount, " +
+            "count(distinct o.order_id) as order_count, " +
+            "sum(oi.count) as quantity " +
+            "from order_item oi join orders o on o.order_id = oi.order_id " +
+            "where o.order_status = :status " +
+            "and o.order_date >= :start and o.order_date < :end " +
+            "group by period order by period", nativeQuery = true)
+    List<Object[]> findWeeklySalesSeries(@Param("status") String status,
+                                         @Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end);
+
+    /**
+     * 월별 매출 시계열 [구간, 매출 금액, 주문 수, 판매 수량]
+     */
+    @Query(value = "select date_format(o.order_date, '%Y-%m') as period, " +
+            "sum(oi.order_price * oi.count) as amount, " +
+            "count(distinct o.order_id) as order_count, " +
+            "sum(oi.count) as quantity " +
+            "from order_item oi join orders o on o.order_id = oi.order_id " +
+            "where o.order_status = :status " +
+            "and o.order_date >= :start and o.order_date < :end " +
+            "group by period order by period", nativeQuery = true)
+    List<Object[]> findMonthlySalesSeries(@Param("status") String status,
+                                          @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end);
 }
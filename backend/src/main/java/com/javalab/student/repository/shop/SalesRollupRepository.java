@@ -0,0 +1,89 @@
+package com.javalab.student.repository.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.entity.shop.SalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매출 집계(sales_daily_rollup) Repository
+ */
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    /**
+     * 집계 행 증감(upsert)
+     * - 행이 없으면 생성하고, 있으면 수량/금액을 더한다.(음수면 차감)
+     * - MariaDB의 INSERT ... ON DUPLICATE KEY UPDATE로 한 번에 원자적으로 처리한다.
+     */
+    @Modifying
+    @Query(value = "insert into sales_daily_rollup (sales_date, item_id, order_status, quantity, amount) " +
+            "values (:salesDate, :itemId, :status, :quantity, :amount) " +
+            "on duplicate key update quantity = quantity + values(quantity), amount = amount + values(amount)",
+            nativeQuery = true)
+    void upsert(@Param("salesDate") LocalDate salesDate,
+                @Param("itemId") Long itemId,
+                @Param("status") String status,
+                @Param("quantity") long quantity,
+                @Param("amount") long amount);
+
+    /**
+     * 집계 테이블 전체 삭제 (재생성 전)
+     */
+    @Modifying
+    @Query(value = "delete from sales_daily_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * 주문/주문 상품 이력으로 집계 테이블 재생성
+     */
+    @Modifying
+    @Query(value = "insert into sales_daily_rollup (sales_date, item_id, order_status, quantity, amount) " +
+            "select date(o.order_date), oi.item_id, o.order_status, sum(oi.count), sum(oi.order_price * oi.count) " +
+            "from order_item oi join orders o on o.order_id = oi.order_id " +
+            "where oi.item_id is not null and o.order_status is not null " +
+            "group by date(o.order_date), oi.item_id, o.order_status",
+            nativeQuery = true)
+    int rebuildFromOrders();
+
+    /**
+     * 기간 매출 금액 합계 [startDate, endDate]
+     */
+    @Query("select coalesce(sum(r.amount), 0) from SalesRollup r " +
+            "where r.orderStatus = :status and r.salesDate between :startDate and :endDate")
+    Long sumAmount(@Param("status") OrderStatus status,
+                   @Param("startDate") LocalDate startDate,
+                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * 기간 내 판매 수량 상위 상품 [상품명, 판매 수량]
+     * - 삭제된 상품은 상품 테이블과 조인하여 제외하고, 상위 N개는 pageable(LIMIT)로 DB에서 자른다.
+     */
+    @Query("select i.itemNm, sum(r.quantity) from SalesRollup r join Item i on i.id = r.itemId " +
+            "where r.orderStatus = :status and r.salesDate between :startDate and :endDate " +
+            "group by r.itemId, i.itemNm " +
+            "order by sum(r.quantity) desc, r.itemId")
+    List<Object[]> findTopSellingBetween(@Param("status") OrderStatus status,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         Pageable pageable);
+
+    /**
+     * 기간 내 특정 알러지 성분에 안전한 상품 중 판매 수량 상위 상품 [상품명, 판매 수량]
+     */
+    @Query("select i.itemNm, sum(r.quantity) from SalesRollup r join Item i on i.id = r.itemId " +
+            "where r.orderStatus = :status and r.salesDate between :startDate and :endDate " +
+            "and r.itemId in (select s.item.id from ItemSubstance s where s.substance.substanceId = :substanceId) " +
+            "group by r.itemId, i.itemNm " +
+            "order by sum(r.quantity) desc, r.itemId")
+    List<Object[]> findTopSellingBetweenAndSubstance(@Param("status") OrderStatus status,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate,
+                                                     @Param("substanceId") Long substanceId,
+                                                     Pageable pageable);
+}
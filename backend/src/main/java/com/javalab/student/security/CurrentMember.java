@@ -0,0 +1,87 @@
+package com.javalab.student.security;
+
+import com.javalab.student.security.dto.MemberIdentity;
+import com.javalab.student.service.MemberIdentityCache;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 현재 요청의 회원 식별 정보 조회
+ * - TokenAuthenticationFilter가 요청마다 한 번 회원 식별 정보를 조회하여 요청 속성에 저장(bind)한다.
+ * - 서비스에서는 memberRepository.findByEmail 대신 get(email) / getId(email)을 사용한다.
+ *   같은 요청 안에서는 요청 속성, 그 외에는 MemberIdentityCache(짧은 TTL)에서 조회한다.
+ * - 요청 밖(스케줄러, 웹소켓 등)에서 호출해도 MemberIdentityCache로 동작한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentMember {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentMember.class.getName() + ".IDENTITY";
+
+    private final MemberIdentityCache memberIdentityCache;
+
+    /**
+     * 인증 필터에서 요청에 회원 식별 정보를 저장
+     * @param request 현재 요청
+     * @param email 토큰에서 추출한 이메일
+     * @return 회원 식별 정보, 회원이 없으면 null
+     */
+    public MemberIdentity bind(HttpServletRequest request, String email) {
+        MemberIdentity identity = memberIdentityCache.get(email);
+        if (identity != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, identity);
+        }
+        return identity;
+    }
+
+    /**
+     * 현재 로그인한 회원의 식별 정보
+     * @return 회원 식별 정보, 인증되지 않았으면 null
+     */
+    public MemberIdentity get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return get(authentication.getName());
+    }
+
+    /**
+     * 이메일로 회원 식별 정보 조회
+     * @param email 회원 이메일
+     * @return 회원 식별 정보, 회원이 없으면 null
+     */
+    public MemberIdentity get(String email) {
+        if (email == null) {
+            return null;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object bound = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (bound instanceof MemberIdentity identity && email.equals(identity.email())) {
+                return identity;
+            }
+        }
+
+        MemberIdentity identity = memberIdentityCache.get(email);
+        if (identity != null && attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE, identity, RequestAttributes.SCOPE_REQUEST);
+        }
+        return identity;
+    }
+
+    /**
+     * 이메일로 회원 ID 조회
+     * @param email 회원 이메일
+     * @return 회원 ID, 회원이 없으면 null
+     */
+    public Long getId(String email) {
+        MemberIdentity identity = get(email);
+        return identity != null ? identity.id() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.javalab.student.security.dto;
+
+import com.javalab.student.constant.Role;
+
+/**
+ * 회원 식별 정보 (이메일 -> ID, 이름, 권한)
+ * - 서비스에서 회원 엔티티 전체가 아니라 회원 ID만 필요한 경우에 사용한다.
+ * - 요청 단위 / 프로세스 단위 캐시(CurrentMember, MemberIdentityCache)에 저장하므로 불변 객체로 만든다.
+ */
+public record MemberIdentity(Long id, String email, String name, Role role) {
+}
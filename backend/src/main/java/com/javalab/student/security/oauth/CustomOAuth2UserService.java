@@ -3,6 +3,7 @@ package com.javalab.student.security.oauth;
 import com.javalab.student.entity.Member;
 import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.security.dto.MemberSecurityDto;
+import com.javalab.student.service.MemberIdentityCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -26,6 +27,7 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final MemberRepository memberRepository;
+    private final MemberIdentityCache memberIdentityCache;
 
     /**
      * 소셜 로그인 인증 진행 메소드
@@ -127,6 +129,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             member.setProvider(provider);               // 소셜 로그인 제공자 업데이트
             member.setName(name);                       // 이름 업데이트
             member = memberRepository.save(member);     // 업데이트(영속화)
+            memberIdentityCache.evict(email);           // 회원 식별 정보 캐시(이름) 무효화
         }
         return member;  // 사용자 반환
     }
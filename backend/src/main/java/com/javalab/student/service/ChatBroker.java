@@ -0,0 +1,21 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ChatEventDto;
+
+/**
+ * 채팅 이벤트 브로커 (서버 간 전달 방식)
+ * - 구현체는 chat.broker.mode 설정으로 선택한다.
+ *   - redis-pubsub (기본값) : RedisPubSubChatBroker, 수신자 ID로 나눈 Redis Pub/Sub 샤드 채널
+ *   - redis-stream : RedisStreamChatBroker, Redis Stream "CHAT:EVENTS"(구독 재연결 중 발행된 이벤트도 이어서 읽는다)
+ *   - relay : RelayChatBroker, 외부 STOMP 브로커(ActiveMQ/RabbitMQ 등)로 바로 전송, 브로커가 서버 간 전달을 맡는다.
+ *   - local : LocalChatBroker, 서버 한 대용 메모리 전달(Redis를 거치지 않는다)
+ */
+public interface ChatBroker {
+
+    /**
+     * 채팅 이벤트 발행
+     * @param event 채팅 이벤트(접속 중인 수신 대상만 포함)
+     * @param json 한 번 직렬화한 이벤트 JSON
+     */
+    void publish(ChatEventDto event, String json);
+}
@@ -0,0 +1,219 @@
+package com.javalab.student.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 웹소켓 전달 서비스
+ * - 메시지를 JSON 바이트로 한 번만 직렬화하고, 같은 프레임(Message&lt;byte[]&gt;)을 모든 목적지에 재사용한다.
+ * - 전달은 목적지별 대기열에 쌓았다가 chat.delivery.batch-window-ms 동안 모인 메시지를 전달 스레드에서 한 번에 보낸다.
+ *   목적지 안에서의 순서는 유지된다. 0이면 호출 스레드에서 바로 전달한다.
+ * - 대기열이 가득 차면(chat.delivery.max-queue) 호출 스레드에서 바로 전달한다.
+ *   이때도 그 목적지에 대기 중인 메시지를 먼저 보내서 순서를 지킨다.(목적지별 전달은 대기열을 잠그고 한다)
+ * - 비워진 대기열은 전달 직후 맵에서 제거하므로, 맵에는 대기 중인 메시지가 있는 목적지만 남는다.
+ * - 대기열 크기와 전달 지연시간은 stats()로 조회한다.
+ */
+@Service
+@Slf4j
+public class ChatDeliveryService {
+
+    /**
+     * 전달 통계
+     * @param queueDepth 현재 대기 중인 전달 수
+     * @param delivered 누적 전달 수
+     * @param avgLatencyMs 평균 전달 지연시간(대기열 등록 ~ 브로커 전달)
+     * @param maxLatencyMs 최대 전달 지연시간
+     */
+    public record DeliveryStats(int queueDepth, long delivered, double avgLatencyMs, double maxLatencyMs) {
+    }
+
+    private record Pending(Message<byte[]> frame, long enqueuedNanos) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long batchWindowMs;
+    private final int maxQueue;
+
+    // 목적지 -> 전달 대기열 (등록/제거는 compute로 원자적으로 한다)
+    private final Map<String, Queue<Pending>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public ChatDeliveryService(SimpMessagingTemplate messagingTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.delivery.batch-window-ms:5}") long batchWindowMs,
+                               @Value("${chat.delivery.max-queue:10000}") int maxQueue) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.batchWindowMs = batchWindowMs;
+        this.maxQueue = maxQueue;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 메시지를 한 번 직렬화해서 여러 목적지로 전달
+     * @param payload 전달할 객체(String이면 이미 직렬화된 JSON으로 보고 그대로 사용)
+     * @param destinations 웹소켓 목적지(예: /topic/chat/1)
+     */
+    public void deliver(Object payload, String... destinations) {
+        if (destinations.length == 0) {
+            return;
+        }
+        Message<byte[]> frame = toFrame(payload);
+        long now = System.nanoTime();
+        for (String destination : destinations) {
+            if (batchWindowMs <= 0 || queueDepth.get() >= maxQueue) {
+                sendDirect(destination, new Pending(frame, now));
+                continue;
+            }
+            // 전달 스레드가 먼저 꺼내더라도 대기 수가 음수가 되지 않도록 먼저 늘린다.
+            queueDepth.incrementAndGet();
+            Pending next = new Pending(frame, now);
+            pending.compute(destination, (key, queue) -> {
+                Queue<Pending> target = queue == null ? new ConcurrentLinkedQueue<>() : queue;
+                target.add(next);
+                return target;
+            });
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * 대기 중인 전달을 목적지별로 모두 보낸다.
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        for (Map.Entry<String, Queue<Pending>> entry : pending.entrySet()) {
+            Queue<Pending> queue = entry.getValue();
+            synchronized (queue) {
+                drain(entry.getKey(), queue);
+            }
+        }
+    }
+
+    public DeliveryStats stats() {
+        long count = delivered.sum();
+        double avg = count == 0 ? 0 : latencyNanos.sum() / (double) count / 1_000_000.0;
+        return new DeliveryStats(queueDepth.get(), count, avg, maxLatencyNanos.get() / 1_000_000.0);
+    }
+
+    /**
+     * 대기 중인 메시지가 있는 목적지 수
+     */
+    int pendingDestinations() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private void scheduleFlush() {
+        if (queueDepth.get() > 0 && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.schedule(this::flushSafely, batchWindowMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // 종료 중이면 호출 스레드에서 바로 보낸다.
+                flush();
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("❌ 채팅 웹소켓 전달 중 오류 발생", e);
+        }
+        // 전달 중 새로 쌓인 메시지가 있으면 다음 묶음을 예약
+        scheduleFlush();
+    }
+
+    /**
+     * 호출 스레드에서 바로 전달, 그 목적지에 대기 중인 메시지가 있으면 먼저 보낸다.
+     */
+    private void sendDirect(String destination, Pending direct) {
+        Queue<Pending> queue = pending.get(destination);
+        if (queue == null) {
+            send(destination, direct);
+            return;
+        }
+        synchronized (queue) {
+            drain(destination, queue);
+            send(destination, direct);
+        }
+    }
+
+    /**
+     * 대기열을 모두 보내고, 비었으면 맵에서 제거한다. (대기열을 잠근 상태에서 호출)
+     * - 등록도 compute로 하므로 제거된 대기열에 메시지가 추가되는 일은 없다.
+     */
+    private void drain(String destination, Queue<Pending> queue) {
+        Pending next;
+        while ((next = queue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            send(destination, next);
+        }
+        pending.computeIfPresent(destination, (key, current) -> current == queue && current.isEmpty() ? null : current);
+    }
+
+    private void send(String destination, Pending pending) {
+        try {
+            messagingTemplate.send(destination, pending.frame());
+        } catch (RuntimeException e) {
+            log.error("❌ 웹소켓 전달 실패: {}", destination, e);
+            return;
+        }
+        long latency = System.nanoTime() - pending.enqueuedNanos();
+        delivered.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private Message<byte[]> toFrame(Object payload) {
+        try {
+            byte[] body = payload instanceof String json
+                    ? json.getBytes(StandardCharsets.UTF_8)
+                    : objectMapper.writeValueAsBytes(payload);
+            return MessageBuilder.withPayload(body)
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("메시지 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Message;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * DB 메시지 저장소 (chat.persistence.mode=db, 기본값)
+ * - 발신자/수신자를 조회한 뒤 message 테이블에 바로 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.persistence.mode", havingValue = "db", matchIfMissing = true)
+public class DbMessageStore implements MessageStore {
+
+    private final MessageRepository messageRepository;
+    private final MemberRepository memberRepository;
+
+    @Override
+    @Transactional
+    public MessageResponseDto save(MessageRequestDto requestDto, String content) {
+        // 발신자와 수신자 조회
+        Member sender = memberRepository.findById(requestDto.getSenderId())
+                .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
+        Member receiver = memberRepository.findById(requestDto.getReceiverId())
+                .orElseThrow(() -> new IllegalArgumentException("수신자를 찾을 수 없습니다."));
+
+        // 메시지 엔티티 생성 및 저장
+        Message savedMessage = messageRepository.save(Message.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .content(content)
+                .read(false)
+                .build());
+
+        return new MessageResponseDto(savedMessage);
+    }
+}
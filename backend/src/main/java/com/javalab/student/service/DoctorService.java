@@ -27,6 +27,8 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final MemberRepository memberRepository;
     private final DoctorApplicationRepository doctorApplicationRepository;
+    private final MemberIdentityCache memberIdentityCache;
+    private final RedisService redisService;
 
     /**
      * Doctor 신청정보 저장
@@ -140,6 +142,8 @@ public class DoctorService {
             // 멤버 권한을 DOCTOR로 변경
             member.setRole(Role.DOCTOR);
             memberRepository.save(member);
+            memberIdentityCache.evict(member.getEmail()); // 회원 식별 정보 캐시(권한) 무효화
+            redisService.cacheUserAuthorities(member.getEmail()); // Redis 권한 갱신 및 로컬 권한 캐시 무효화
 
             // 새로운 Doctor 객체 생성 후 저장
             Doctor doctor = new Doctor();
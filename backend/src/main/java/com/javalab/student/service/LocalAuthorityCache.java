@@ -0,0 +1,128 @@
+package com.javalab.student.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 권한 로컬 캐시 (Redis "AUTH:{email}" 앞단의 1차 캐시)
+ * - 인증 필터에서 요청마다 Redis를 조회하지 않도록 권한 목록을 짧은 시간(기본 3초) 메모리에 보관한다.
+ * - 권한이 저장/삭제되면 Redis Pub/Sub "AUTH_INVALIDATE" 채널로 이메일을 발행하여 모든 서버의 로컬 캐시를 비운다.
+ * - Redis 조회가 실패하면 최대 stale-ms(기본 60초)까지 이전 값을 그대로 사용한다.
+ * - 최대 개수를 넘으면 오래된 항목을 정리하고, 그래도 넘으면 전체를 비운다.
+ */
+@Component
+@Log4j2
+public class LocalAuthorityCache implements MessageListener {
+
+    public static final String INVALIDATE_CHANNEL = "AUTH_INVALIDATE";
+    private static final int MAX_SIZE = 10_000;
+
+    private record Entry(List<String> roles, long loadedAt) {
+    }
+
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final long ttlMillis;
+    private final long staleMillis;
+
+    public LocalAuthorityCache(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${security.authority-cache.ttl-ms:3000}") long ttlMillis,
+                               @Value("${security.authority-cache.stale-ms:60000}") long staleMillis) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.listenerContainer = listenerContainer;
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 권한 목록 조회
+     * - 로컬 캐시가 유효하면 바로 반환하고, 아니면 loader(Redis 조회)로 다시 읽는다.
+     * - loader가 실패하면 stale-ms 이내의 이전 값을 반환하고, 없으면 예외를 그대로 던진다.
+     * @param email 사용자 이메일
+     * @param loader Redis 권한 조회 함수, 권한이 없으면 빈 리스트를 반환한다.
+     * @return 권한 목록, 권한 정보가 없으면 빈 리스트
+     */
+    public List<String> get(String email, Supplier<List<String>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(email);
+        if (entry != null && now - entry.loadedAt() < ttlMillis) {
+            return entry.roles();
+        }
+
+        List<String> roles;
+        try {
+            roles = loader.get();
+        } catch (RuntimeException e) {
+            if (entry != null && now - entry.loadedAt() < staleMillis) {
+                log.warn("Redis 권한 조회 실패, 로컬 캐시 값을 사용합니다 [{}]: {}", email, e.getMessage());
+                return entry.roles();
+            }
+            throw e;
+        }
+
+        if (roles == null || roles.isEmpty()) {
+            cache.remove(email);
+            return List.of();
+        }
+        if (cache.size() >= MAX_SIZE) {
+            cache.values().removeIf(e -> now - e.loadedAt() >= staleMillis);
+            if (cache.size() >= MAX_SIZE) {
+                cache.clear();
+            }
+        }
+        cache.put(email, new Entry(List.copyOf(roles), now));
+        return roles;
+    }
+
+    /**
+     * 모든 서버의 로컬 캐시에서 사용자 권한 삭제
+     * - 이 서버는 바로 삭제하고, 다른 서버에는 Redis Pub/Sub으로 알린다.
+     * - 발행이 실패해도 다른 서버는 TTL(기본 3초)이 지나면 Redis에서 다시 읽는다.
+     * @param email 사용자 이메일
+     */
+    public void invalidate(String email) {
+        evictLocal(email);
+        try {
+            redisStringTemplate.convertAndSend(INVALIDATE_CHANNEL, email);
+        } catch (Exception e) {
+            log.warn("권한 캐시 무효화 메시지 발행 실패 [{}]: {}", email, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 서버의 로컬 캐시에서만 사용자 권한 삭제
+     * @param email 사용자 이메일
+     */
+    public void evictLocal(String email) {
+        cache.remove(email);
+    }
+
+    /**
+     * 다른 서버에서 발행한 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
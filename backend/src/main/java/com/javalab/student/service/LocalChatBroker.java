@@ -0,0 +1,23 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ChatEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 서버 한 대용 메모리 채팅 브로커 (chat.broker.mode=local)
+ * - Redis를 거치지 않고 이 서버의 구독자에게 바로 전달한다. 서버를 여러 대 띄우면 다른 서버 접속자는 받지 못한다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "local")
+public class LocalChatBroker implements ChatBroker {
+
+    private final MessageSubscriberService messageSubscriberService;
+
+    @Override
+    public void publish(ChatEventDto event, String json) {
+        messageSubscriberService.onEvent(event, json, true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.javalab.student.service;
+
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.security.dto.MemberIdentity;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 회원 식별 정보 캐시 (프로세스 단위, 이메일 -> MemberIdentity)
+ * - 짧은 TTL(기본 30초) 동안 메모리에 보관하여 요청마다 회원 테이블을 조회하지 않도록 한다.
+ * - 회원 정보/권한 변경 시 MemberService에서 evict()를 호출한다.
+ *   다른 서버 인스턴스의 캐시는 TTL이 지나면 갱신된다.
+ * - 최대 개수를 넘으면 만료된 항목을 정리하고, 그래도 넘으면 전체를 비운다.
+ */
+@Service
+@Log4j2
+public class MemberIdentityCache {
+
+    private static final int MAX_SIZE = 10_000;
+
+    private record Entry(MemberIdentity identity, long expiresAt) {
+    }
+
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+    private final MemberRepository memberRepository;
+    private final long ttlMillis;
+
+    public MemberIdentityCache(MemberRepository memberRepository,
+                               @Value("${member.identity-cache.ttl-ms:30000}") long ttlMillis) {
+        this.memberRepository = memberRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 회원 식별 정보 조회(캐시에 없거나 만료되었으면 DB 조회)
+     * @param email 회원 이메일
+     * @return 회원 식별 정보, 회원이 없으면 null
+     */
+    public MemberIdentity get(String email) {
+        if (email == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(email);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.identity();
+        }
+
+        MemberIdentity identity = memberRepository.findIdentityByEmail(email).orElse(null);
+        if (identity == null) {
+            cache.remove(email);
+            return null;
+        }
+        if (cache.size() >= MAX_SIZE) {
+            cache.values().removeIf(e -> e.expiresAt() <= now);
+            if (cache.size() >= MAX_SIZE) {
+                cache.clear();
+            }
+        }
+        cache.put(email, new Entry(identity, now + ttlMillis));
+        return identity;
+    }
+
+    /**
+     * 회원 식별 정보 캐시 무효화
+     * - 트랜잭션이 진행중이면 커밋 이후에도 한 번 더 삭제하여, 커밋 전 다른 요청이 이전 값을 다시 캐싱하지 않도록 한다.
+     * @param email 회원 이메일
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(email);
+                }
+            });
+        }
+        log.debug("회원 식별 정보 캐시 삭제: {}", email);
+    }
+}
@@ -25,6 +25,8 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MemberIdentityCache memberIdentityCache;
+    private final RedisService redisService;
 
     /**
      * 회원가입 처리
@@ -71,6 +73,7 @@ public class MemberService {
         member.setAddress(memberFormDto.getAddress());
 
         memberRepository.save(member); // 변경 사항 저장
+        memberIdentityCache.evict(member.getEmail()); // 회원 식별 정보 캐시(이름) 무효화
     }
 
 
@@ -206,6 +209,8 @@ public class MemberService {
         Member member = memberRepository.findByEmail(email);
         member.setRole(role);
         memberRepository.save(member);
+        memberIdentityCache.evict(email); // 회원 식별 정보 캐시(권한) 무효화
+        redisService.cacheUserAuthorities(email); // Redis 권한 갱신 및 모든 서버의 로컬 권한 캐시 무효화
     }
 
 }
\ No newline at end of file
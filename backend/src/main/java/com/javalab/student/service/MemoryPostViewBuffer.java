@@ -0,0 +1,80 @@
+package com.javalab.student.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 메모리 조회수 버퍼 (post.views.mode=memory, 기본값)
+ * - 게시글별 증가분을 ConcurrentHashMap.merge로 원자적으로 더한다.
+ * - 중복 제거 기록("게시글:사용자" -> 만료시각)은 반영할 때 만료된 것을 지우고,
+ *   MAX_SEEN 개를 넘으면 중복 제거 없이 센다.(메모리 상한)
+ */
+@Component
+@ConditionalOnProperty(name = "post.views.mode", havingValue = "memory", matchIfMissing = true)
+public class MemoryPostViewBuffer implements PostViewBuffer {
+
+    private static final int MAX_SEEN = 100_000;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    // 반영 중인 증가분(반영 스레드만 변경)
+    private final ConcurrentHashMap<Long, Long> flushing = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> seen = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean record(Long postId, String viewer, Duration dedupWindow) {
+        if (viewer != null && !dedupWindow.isZero() && seen.size() < MAX_SEEN) {
+            long now = System.currentTimeMillis();
+            boolean[] first = {false};
+            seen.compute(postId + ":" + viewer, (key, expiresAt) -> {
+                if (expiresAt == null || expiresAt <= now) {
+                    first[0] = true;
+                    return now + dedupWindow.toMillis();
+                }
+                return expiresAt;
+            });
+            if (!first[0]) {
+                return false;
+            }
+        }
+        pending.merge(postId, 1L, Long::sum);
+        return true;
+    }
+
+    @Override
+    public Map<Long, Long> pending(Collection<Long> postIds) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Long postId : postIds) {
+            long delta = pending.getOrDefault(postId, 0L) + flushing.getOrDefault(postId, 0L);
+            if (delta != 0) {
+                result.put(postId, delta);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, Long> beginFlush() {
+        long now = System.currentTimeMillis();
+        seen.values().removeIf(expiresAt -> expiresAt <= now);
+
+        for (Long postId : pending.keySet()) {
+            // 키 단위로 원자적으로 옮긴다.(옮기는 도중 들어온 증가분은 남거나 함께 옮겨진다)
+            pending.computeIfPresent(postId, (key, delta) -> {
+                flushing.merge(key, delta, Long::sum);
+                return null;
+            });
+        }
+        return Map.copyOf(flushing);
+    }
+
+    @Override
+    public void completeFlush() {
+        flushing.clear();
+    }
+}
@@ -1,86 +1,77 @@
 package com.javalab.student.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.ChatEventDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Map;
+import java.util.List;
 
+/**
+ * 채팅 이벤트 발행 서비스
+ * - 이벤트(ChatEventDto)를 버전이 있는 JSON 봉투로 한 번 직렬화하여 채팅 브로커(ChatBroker, chat.broker.mode)로 발행한다.
+ * - 오프라인 사용자(PresenceService)는 수신 대상에서 빼고, 모두 오프라인이면 직렬화/발행하지 않는다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class MessagePublisherService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final ChatBroker chatBroker;
     private final ObjectMapper objectMapper;
-
-    // ✅ 사용자별 채널명을 생성할 때 사용
-    private static final String CHANNEL_PREFIX = "chat_channel_";
-
-    /**
-     * ✅ 생성자 주입 시 @Qualifier 적용 (redisStringTemplate 사용)
-     */
-    public MessagePublisherService(
-            @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
-            ObjectMapper objectMapper) {
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
-    }
+    private final PresenceService presenceService;
 
     /**
-     * ✅ 메시지를 Redis Pub/Sub으로 발행하는 메서드 (DB 저장 X)
-     * - 수신자별로 채널 생성
+     * ✅ 채팅 이벤트 발행
+     * - 접속 중인 수신 대상에게만 발행한다.
      */
-    public void publishMessage(Long receiverId, Long senderId, String messageContent) {
-        log.info("📨 Redis 메시지 발행 요청 - receiverId={}, senderId={}, content={}", receiverId, senderId, messageContent);
-
-        if (receiverId == null || senderId == null) {
-            log.error("❌ 메시지 발행 실패: 수신자 ID 또는 발신자 ID가 누락되었습니다.");
-            throw new IllegalArgumentException("수신자 ID 또는 발신자 ID가 누락되었습니다.");
+    public void publish(ChatEventDto event) {
+        if (event.getReceiverId() == null || event.getRecipients() == null || event.getRecipients().isEmpty()) {
+            throw new IllegalArgumentException("이벤트 수신자가 누락되었습니다.");
+        }
+        List<Long> online = presenceService.onlineAmong(event.getRecipients());
+        if (online.isEmpty()) {
+            log.debug("채팅 이벤트 생략(수신 대상 오프라인) - type={}, receiverId={}", event.getType(), event.getReceiverId());
+            return;
+        }
+        if (online.size() < event.getRecipients().size()) {
+            event.setRecipients(online);
         }
-
         try {
-            // ✅ 수신자별 채널명 생성
-            String channelName = CHANNEL_PREFIX + receiverId;
-
-            // ✅ 메시지를 JSON 형식으로 변환
-            String jsonMessage = objectMapper.writeValueAsString(
-                    MessageRequestDto.builder()
-                            .receiverId(receiverId)
-                            .senderId(senderId)
-                            .content(messageContent)
-                            .build()
-            );
-
-            // ✅ Redis Pub/Sub으로 발행
-            redisTemplate.convertAndSend(channelName, jsonMessage);
-
-            log.info("📩 Redis 메시지 발행 완료! receiverId={}, senderId={}, content={}", receiverId, senderId, messageContent);
-
-        } catch (Exception e) {
-            log.error("❌ 메시지 발행 중 오류 발생", e);
-            throw new RuntimeException("메시지 발행 실패", e);
+            chatBroker.publish(event, objectMapper.writeValueAsString(event));
+            log.debug("📩 채팅 이벤트 발행 - type={}, messageId={}, receiverId={}",
+                    event.getType(), event.getMessageId(), event.getReceiverId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("채팅 이벤트 직렬화 실패", e);
         }
     }
 
     /**
-     * ✅ 메시지 업데이트 정보를 Redis Pub/Sub으로 발행하는 메서드
+     * ✅ 채팅 이벤트를 트랜잭션 커밋 후 발행(트랜잭션 밖이면 바로 발행)
+     * - 읽음/수정/삭제가 롤백되면 이벤트를 보내지 않는다.
      */
-    public void publishMessageUpdate(Long messageId, String action) {
-        log.info("📨 Redis 메시지 업데이트 발행 요청 - messageId={}, action={}", messageId, action);
+    public void publishAfterCommit(ChatEventDto event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishQuietly(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishQuietly(event);
+            }
+        });
+    }
 
+    private void publishQuietly(ChatEventDto event) {
         try {
-            String channel = CHANNEL_PREFIX + messageId;
-            String jsonMessage = objectMapper.writeValueAsString(
-                    Map.of("messageId", messageId, "action", action)
-            );
-            redisTemplate.convertAndSend(channel, jsonMessage);
-            log.info("📩 Redis 메시지 업데이트 발행 완료! messageId={}, action={}", messageId, action);
-        } catch (Exception e) {
-            log.error("❌ 메시지 업데이트 발행 중 오류 발생", e);
-            throw new RuntimeException("메시지 업데이트 발행 실패", e);
+            publish(event);
+        } catch (RuntimeException e) {
+            log.error("❌ 채팅 이벤트 발행 실패 - type={}, messageId={}", event.getType(), event.getMessageId(), e);
         }
     }
 }
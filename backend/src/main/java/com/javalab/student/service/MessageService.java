@@ -1,7 +1,11 @@
 package com.javalab.student.service;
 
+import com.javalab.student.constant.ChatEventType;
+import com.javalab.student.dto.ChatEventDto;
+import com.javalab.student.dto.MessageCursor;
 import com.javalab.student.dto.MessageRequestDto;
 import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.dto.MessageSliceDto;
 import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Message;
 import com.javalab.student.repository.MemberRepository;
@@ -12,10 +16,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,15 +29,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MessageService {
 
+    // 커서 페이지 조회 기본/최대 건수
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // 최신순(등록 시간, 메시지 ID 내림차순)
+    private static final Comparator<MessageResponseDto> LATEST_FIRST =
+            Comparator.comparing(MessageResponseDto::getRegTime)
+                    .thenComparing(MessageResponseDto::getId)
+                    .reversed();
+
     private final MessageRepository messageRepository;
     private final MemberRepository memberRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatDeliveryService chatDeliveryService;
     private final MessagePublisherService messagePublisherService;
+    private final MessageStore messageStore;
+    private final UnreadCounterService unreadCounterService;
 
     /**
-     * 메시지를 DB에 저장하고 WebSocket으로 발행
+     * 메시지를 저장하고 WebSocket으로 발행
+     * - 저장 방식은 MessageStore 구현체(chat.persistence.mode)에 따른다.
+     *   stream 모드에서는 DB 저장을 기다리지 않고 서버에서 생성한 메시지 ID로 바로 응답/전달한다.
+     * - 저장 후 MESSAGE_CREATED 이벤트를 Redis로 한 번 발행하고, 수신자/발신자가 접속한 서버에서 전달한다.
      */
-    @Transactional
     public MessageResponseDto saveMessage(MessageRequestDto requestDto) {
         try {
             // 1. 필수 파라미터 검증
@@ -40,35 +58,17 @@ public class MessageService {
                 throw new IllegalArgumentException("발신자 또는 수신자 ID가 누락되었습니다.");
             }
 
-            // 2. 발신자와 수신자 조회
-            Member sender = memberRepository.findById(requestDto.getSenderId())
-                    .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
-            Member receiver = memberRepository.findById(requestDto.getReceiverId())
-                    .orElseThrow(() -> new IllegalArgumentException("수신자를 찾을 수 없습니다."));
-
-            // 3. 메시지 내용 검증
+            // 2. 메시지 내용 검증
             if (requestDto.getContent() == null || requestDto.getContent().trim().isEmpty()) {
                 throw new IllegalArgumentException("메시지 내용이 비어있습니다.");
             }
 
-            // 4. 메시지 엔티티 생성
-            Message savedMessage = Message.builder()
-                    .sender(sender)
-                    .receiver(receiver)
-                    .content(requestDto.getContent().trim())
-                    .read(false)
-                    .build();
-
-            // 5. 메시지 저장
-            savedMessage = messageRepository.save(savedMessage);
+            // 3. 메시지 저장(발신자/수신자 확인 포함)
+            MessageResponseDto responseDto = messageStore.save(requestDto, requestDto.getContent().trim());
+            unreadCounterService.increment(requestDto.getReceiverId());
 
-            // 6. DTO 변환
-            MessageResponseDto responseDto = new MessageResponseDto(savedMessage);
-
-            // 7. WebSocket으로 메시지 전송
-            String destination = "/topic/chat/" + receiver.getId();
-            messagingTemplate.convertAndSend(destination, responseDto);
-            log.info("📡 WebSocket 메시지 전송: {} → {}", savedMessage.getContent(), destination);
+            // 4. 새 메시지 이벤트 발행(수신자/발신자에게 전달)
+            publishCreated(responseDto);
 
             return responseDto;
 
@@ -93,7 +93,8 @@ public class MessageService {
             if (!message.isRead()) {
                 message.setRead(true);
                 messageRepository.save(message);
-                messagePublisherService.publishMessageUpdate(messageId, "READ");
+                messagePublisherService.publishAfterCommit(updateEvent(ChatEventType.MESSAGE_READ, message));
+                unreadCounterService.decrement(message.getReceiver().getId(), 1);
                 log.info("✅ 메시지 읽음 처리: {}", messageId);
             }
         } catch (Exception e) {
@@ -102,37 +103,6 @@ public class MessageService {
         }
     }
 
-    /**
-     * ✅ 메시지를 DB에 저장하고 WebSocket으로 발행
-     */
-    @Transactional
-    public MessageResponseDto saveMessageAndConvert(MessageRequestDto requestDto) {
-        // 기존 saveMessage 메서드의 로직을 약간 수정
-        Member sender = memberRepository.findById(requestDto.getSenderId())
-                .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
-        Member receiver = memberRepository.findById(requestDto.getReceiverId())
-                .orElseThrow(() -> new IllegalArgumentException("수신자를 찾을 수 없습니다."));
-
-        Message savedMessage = Message.builder()
-                .sender(sender)
-                .receiver(receiver)
-                .content(requestDto.getContent())
-                .read(false)
-                .build();
-
-        savedMessage = messageRepository.save(savedMessage);
-
-        // DTO로 변환
-        MessageResponseDto responseDto = new MessageResponseDto(savedMessage);
-
-        // WebSocket 전송
-        String destination = "/topic/chat/" + receiver.getId();
-        messagingTemplate.convertAndSend(destination, responseDto);
-        log.info("📡 WebSocket 메시지 전송: {} → {}", savedMessage.getContent(), destination);
-
-        return responseDto;
-    }
-
     /**
      * ✅ 사용자 ID로 메시지 조회 (페이지네이션 적용)
      */
@@ -156,7 +126,7 @@ public class MessageService {
         message.setEdited(true);
 
         Message savedMessage = messageRepository.save(message);
-        messagePublisherService.publishMessageUpdate(messageId, "EDIT");
+        messagePublisherService.publishAfterCommit(updateEvent(ChatEventType.MESSAGE_EDITED, savedMessage));
 
         return new MessageResponseDto(savedMessage);
     }
@@ -177,7 +147,28 @@ public class MessageService {
             message.setDeletedByReceiver(true);
         }
         messageRepository.save(message);
-        messagePublisherService.publishMessageUpdate(messageId, "DELETE");
+        messagePublisherService.publishAfterCommit(updateEvent(ChatEventType.MESSAGE_DELETED, message));
+    }
+
+    /**
+     * 새 메시지 이벤트 발행
+     * - Redis 발행에 실패하면 이 서버에 구독 중인 사용자에게라도 바로 전달한다.
+     */
+    private void publishCreated(MessageResponseDto responseDto) {
+        try {
+            messagePublisherService.publish(ChatEventDto.created(responseDto));
+        } catch (RuntimeException e) {
+            log.error("❌ 새 메시지 이벤트 발행 실패, 로컬 전달로 대체 - messageId={}", responseDto.getId(), e);
+            chatDeliveryService.deliver(responseDto, "/topic/chat/" + responseDto.getReceiverId());
+        }
+    }
+
+    /**
+     * 메시지 상태 변경 이벤트 생성(발신자/수신자 ID는 프록시 초기화 없이 조회된다)
+     */
+    private ChatEventDto updateEvent(ChatEventType type, Message message) {
+        return ChatEventDto.update(type, message.getId(), message.getSender().getId(),
+                message.getReceiver().getId(), type == ChatEventType.MESSAGE_EDITED ? message.getContent() : null);
     }
 
     /**
@@ -233,16 +224,100 @@ public class MessageService {
 
     /**
      * 사용자의 읽지 않은 메시지 개수 조회
+     * - Redis 카운터에서 조회한다.(카운터가 없을 때만 DB에서 센다)
      */
     public int getUnreadMessageCount(Long userId) {
         try {
-            Member receiver = memberRepository.findById(userId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-            return messageRepository.countUnreadMessages(receiver);
+            return unreadCounterService.get(userId);
         } catch (Exception e) {
             log.error("읽지 않은 메시지 개수 조회 중 오류 발생", e);
             throw new RuntimeException("읽지 않은 메시지 개수 조회 실패", e);
         }
     }
+
+    /**
+     * 대화 상대가 보낸 읽지 않은 메시지를 한 번에 읽음 처리
+     * - UPDATE 한 번, 커밋 후 읽음 처리한 건수만큼 카운터 감소
+     * @return 읽음 처리한 메시지 수
+     */
+    @Transactional
+    public int markConversationAsRead(Long userId, Long targetUserId) {
+        int updated = messageRepository.markConversationAsRead(userId, targetUserId);
+        unreadCounterService.decrement(userId, updated);
+        if (updated > 0) {
+            // 대화 전체 읽음은 메시지 ID 없이 발신자(상대방)/수신자(본인) ID로 알린다.
+            messagePublisherService.publishAfterCommit(
+                    ChatEventDto.update(ChatEventType.MESSAGE_READ, null, targetUserId, userId, null));
+        }
+        return updated;
+    }
+
+    /**
+     * 받은 메시지 커서 페이지 조회(최신순)
+     * @param userId 수신자 ID
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지는 null
+     * @param size 페이지 크기(최대 100)
+     */
+    @Transactional(readOnly = true)
+    public MessageSliceDto getInbox(Long userId, String cursor, int size) {
+        MessageCursor before = MessageCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<MessageResponseDto> rows = before == null
+                ? messageRepository.findInbox(userId, limit)
+                : messageRepository.findInboxBefore(userId, before.regTime(), before.id(), limit);
+        return toSlice(rows, pageSize);
+    }
+
+    /**
+     * 보낸 메시지 커서 페이지 조회(최신순)
+     */
+    @Transactional(readOnly = true)
+    public MessageSliceDto getOutbox(Long userId, String cursor, int size) {
+        MessageCursor before = MessageCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<MessageResponseDto> rows = before == null
+                ? messageRepository.findOutbox(userId, limit)
+                : messageRepository.findOutboxBefore(userId, before.regTime(), before.id(), limit);
+        return toSlice(rows, pageSize);
+    }
+
+    /**
+     * 특정 사용자와의 대화 커서 페이지 조회(최신순)
+     * - 두 방향(내가 보낸 메시지, 받은 메시지)을 각각 인덱스 범위로 조회한 뒤 합친다.
+     */
+    @Transactional(readOnly = true)
+    public MessageSliceDto getConversationPage(Long userId, Long targetUserId, String cursor, int size) {
+        MessageCursor before = MessageCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<MessageResponseDto> rows = new ArrayList<>(pageSize * 2 + 2);
+        if (before == null) {
+            rows.addAll(messageRepository.findDirection(userId, targetUserId, limit));
+            rows.addAll(messageRepository.findDirection(targetUserId, userId, limit));
+        } else {
+            rows.addAll(messageRepository.findDirectionBefore(userId, targetUserId, before.regTime(), before.id(), limit));
+            rows.addAll(messageRepository.findDirectionBefore(targetUserId, userId, before.regTime(), before.id(), limit));
+        }
+        rows.sort(LATEST_FIRST);
+        return toSlice(rows.size() > pageSize + 1 ? rows.subList(0, pageSize + 1) : rows, pageSize);
+    }
+
+    private int pageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 한 건 더 조회한 결과로 다음 페이지 여부와 커서 생성
+     */
+    private MessageSliceDto toSlice(List<MessageResponseDto> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<MessageResponseDto> messages = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasNext ? MessageCursor.of(messages.get(messages.size() - 1)).encode() : null;
+        return new MessageSliceDto(messages, nextCursor, hasNext);
+    }
 }
@@ -0,0 +1,21 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+
+/**
+ * 채팅 메시지 저장소
+ * - 구현체는 chat.persistence.mode 설정으로 선택한다.
+ *   - db (기본값) : DbMessageStore, message 테이블에 바로 저장(IDENTITY)
+ *   - stream : StreamMessageStore, 서버에서 생성한 ID로 Redis Stream에 추가하고 message 테이블에는 나중에(write-behind) 일괄 저장
+ */
+public interface MessageStore {
+
+    /**
+     * 메시지 저장
+     * @param requestDto 발신자 ID, 수신자 ID
+     * @param content 검증된 메시지 내용
+     * @return 저장된 메시지(메시지 ID 포함)
+     */
+    MessageResponseDto save(MessageRequestDto requestDto, String content);
+}
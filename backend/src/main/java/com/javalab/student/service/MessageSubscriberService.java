@@ -1,47 +1,116 @@
 package com.javalab.student.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.javalab.student.config.websoket.ChatSubscriptionRegistry;
+import com.javalab.student.constant.ChatEventType;
+import com.javalab.student.dto.ChatEventDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message; // ✅ Redis 메시지
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.javalab.student.dto.MessageRequestDto;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MessageSubscriberService implements org.springframework.data.redis.connection.MessageListener {
 
-    private final SimpMessagingTemplate messagingTemplate; // ✅ WebSocket을 통해 클라이언트에게 메시지를 전송하는 역할
+    private final ChatDeliveryService chatDeliveryService; // ✅ WebSocket을 통해 클라이언트에게 메시지를 전송하는 역할
     private final ObjectMapper objectMapper;
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry; // ✅ 이 서버에 구독 중인 사용자 판별
 
     /**
      *  Redis 메시지 수신
      *  - Redis에서 메시지를 수신하는 역할.
-     *  - redisMessage : Redis Publiser가 발행한 메시지
+     *  - redisMessage : Redis Publiser가 발행한 메시지(수신자 ID로 나눈 샤드 채널)
      *  - 이 역할을 수행한 후, 구독 중인 WebSocket 클라이언트에게 메시지를 전송하면 된다.
-     *    메시지를 수신하고 WebSocket을 통해 클라이언트에게 보냅니다.
+     *    모든 서버가 같은 샤드 채널을 구독하므로 이 서버에 구독 중인 수신자/발신자에게만 전달한다.
+     *  - 버전 필드(v)가 있으면 채팅 이벤트(ChatEventDto), 없으면 이전 서버가 발행한 메시지(MessageRequestDto)로 처리한다.
      */
     @Override
     public void onMessage(Message redisMessage, byte[] pattern) { // ✅ RedisMessage는 변수로 사용
         try {
             // 1. Redis 메시지 수신
-            String jsonMessage = new String(redisMessage.getBody()); // Redis Publiser가 발행한 메시지 getBody()로 가져와서 String으로 변환
-            log.info("🔹 Redis Subscriber 에서 수신한 경로 : {}, 메시지 내용: {}", new String(pattern), jsonMessage);
+            String jsonMessage = new String(redisMessage.getBody(), StandardCharsets.UTF_8); // Redis Publiser가 발행한 메시지 getBody()로 가져와서 String으로 변환
+            log.debug("🔹 Redis Subscriber 에서 수신한 채널 : {}", new String(redisMessage.getChannel(), StandardCharsets.UTF_8));
+            dispatch(jsonMessage);
+        } catch (Exception e) {
+            log.error("❌ 메시지 처리 중 오류 발생", e);
+        }
+    }
 
-            // 2. 전달받은 메시지 내용을 MessageRequestDto로 변환
-            MessageRequestDto messageDto = objectMapper.readValue(jsonMessage, MessageRequestDto.class);
-            log.info("✅ WebSocket으로 메시지 전송: /topic/chat/{}", messageDto.getReceiverId());
+    /**
+     * 브로커(ChatBroker)에서 받은 메시지 처리
+     * - 이 서버에 구독 중인 수신 대상에게만 전달한다.
+     */
+    public void dispatch(String jsonMessage) {
+        try {
+            // 2. 채팅 이벤트 봉투이면 이벤트 종류별로 전달
+            JsonNode tree = objectMapper.readTree(jsonMessage);
+            if (tree.has("v")) {
+                onEvent(objectMapper.treeToValue(tree, ChatEventDto.class), jsonMessage, true);
+                return;
+            }
 
-            // 3. Redis에서 보낸 메시지를 전달받고 이를 WebSocket을 통해 클라이언트에게 전달
-            messagingTemplate.convertAndSend("/topic/chat/" + messageDto.getReceiverId(), objectMapper.writeValueAsString(messageDto));
+            // 3. (이전 형식) 전달받은 메시지 내용을 MessageRequestDto로 변환
+            MessageRequestDto messageDto = objectMapper.treeToValue(tree, MessageRequestDto.class);
 
-            // 4. 발신자에게도 동일한 메시지 전송
-            messagingTemplate.convertAndSend("/topic/chat/" + messageDto.getSenderId(), objectMapper.writeValueAsString(messageDto));
+            // 4. 이 서버에 구독 중인 수신자/발신자에게만 WebSocket으로 전달
+            //    Redis에서 받은 JSON을 그대로 한 번만 바이트로 변환하여 두 목적지에 재사용한다.
+            boolean receiverLocal = chatSubscriptionRegistry.hasLocalSubscriber(messageDto.getReceiverId());
+            boolean senderLocal = chatSubscriptionRegistry.hasLocalSubscriber(messageDto.getSenderId());
+            if (receiverLocal && senderLocal) {
+                chatDeliveryService.deliver(jsonMessage,
+                        "/topic/chat/" + messageDto.getReceiverId(), "/topic/chat/" + messageDto.getSenderId());
+            } else if (receiverLocal) {
+                chatDeliveryService.deliver(jsonMessage, "/topic/chat/" + messageDto.getReceiverId());
+            } else if (senderLocal) {
+                // 5. 발신자에게도 동일한 메시지 전송
+                chatDeliveryService.deliver(jsonMessage, "/topic/chat/" + messageDto.getSenderId());
+            }
 
         } catch (Exception e) {
             log.error("❌ 메시지 처리 중 오류 발생", e);
         }
     }
+
+    /**
+     * 채팅 이벤트 전달
+     * - MESSAGE_CREATED : 메시지 본문을 /topic/chat/{사용자 ID}로 전달(기존 클라이언트와 같은 형식)
+     * - 그 외 : 이벤트 봉투(JSON)를 그대로 /topic/chat/{사용자 ID}/events로 전달
+     * @param event 채팅 이벤트
+     * @param jsonMessage Redis에서 받은 이벤트 JSON(다시 직렬화하지 않고 재사용)
+     * @param localOnly true : 이 서버에 구독 중인 수신 대상에게만 전달,
+     *                  false : 모든 수신 대상에게 전달(외부 STOMP 브로커가 서버 간 전달을 맡는 relay 모드)
+     */
+    void onEvent(ChatEventDto event, String jsonMessage, boolean localOnly) {
+        // 1. 모르는 버전(이후 서버가 발행한 형식)은 건너뛴다.
+        if (event.getV() > ChatEventDto.VERSION || event.getType() == null || event.getRecipients() == null) {
+            log.warn("⚠️ 처리할 수 없는 채팅 이벤트 - v={}, type={}", event.getV(), event.getType());
+            return;
+        }
+
+        // 2. 이 서버에 구독 중인 수신 대상만 목적지로 만든다.
+        boolean created = event.getType() == ChatEventType.MESSAGE_CREATED;
+        List<String> destinations = new ArrayList<>(event.getRecipients().size());
+        for (Long recipient : event.getRecipients()) {
+            if (!localOnly || chatSubscriptionRegistry.hasLocalSubscriber(recipient)) {
+                destinations.add(created ? "/topic/chat/" + recipient : "/topic/chat/" + recipient + "/events");
+            }
+        }
+        if (destinations.isEmpty()) {
+            return;
+        }
+
+        // 3. 목적지가 여러 개여도 한 번만 직렬화하여 전달
+        Object payload = created ? event.getMessage() : jsonMessage;
+        chatDeliveryService.deliver(payload, destinations.toArray(new String[0]));
+        log.debug("📡 채팅 이벤트 전달 - type={}, 지연={}ms, 목적지={}",
+                event.getType(), System.currentTimeMillis() - event.getSentAt(), destinations);
+    }
 }
@@ -1,21 +1,22 @@
 package com.javalab.student.service;
 
+import com.javalab.student.constant.StorageBucket;
 import com.javalab.student.dto.PetDto;
 import com.javalab.student.dto.SubstanceDto;
-import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Pet;
 import com.javalab.student.entity.PetAllergy;
-import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.PetRepository;
 import com.javalab.student.service.PetService;
 import com.javalab.student.entity.Substance;
 import com.javalab.student.repository.PetAllergyRepository;
 import com.javalab.student.repository.SubstanceRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.storage.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.stream.Collectors;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,11 +24,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -39,13 +36,12 @@ import org.modelmapper.ModelMapper;
 public class PetServiceImpl implements PetService {
     
     private final PetRepository petRepository;
-    private final MemberRepository memberRepository;
+    private final CurrentMember currentMember;
     private final PetAllergyRepository petAllergyRepository;
     private final SubstanceRepository substanceRepository;
     private final ModelMapper modelMapper;
-
-    @Value("${petImgLocation}")
-    private String petUploadPath;
+    private final ImageProcessingService imageProcessingService;
+    private final FileStorageService fileStorageService;
 
     @Override
 public String uploadPetImage(MultipartFile file) {
@@ -54,13 +50,8 @@ public String uploadPetImage(MultipartFile file) {
             throw new IllegalArgumentException("파일이 비어 있습니다.");
         }
 
-        // 파일 저장 경로 생성
-        String originalFilename = file.getOriginalFilename();
-        String fileName = System.currentTimeMillis() + "_" + originalFilename;
-        Path filePath = Paths.get(petUploadPath, fileName);
-
-        // 파일 저장
-        Files.copy(file.getInputStream(), filePath);
+        // 파일 저장(내용 SHA-256 이름, 같은 이미지는 한 번만 저장)
+        String fileName = storeImage(file);
 
         return fileName; // 저장된 파일 이름 반환
     } catch (IOException e) {
@@ -80,7 +71,9 @@ public String uploadPetImage(MultipartFile file) {
             // 반려동물 엔티티 조회 및 업데이트
             Pet pet = petRepository.findById(petId)
                     .orElseThrow(() -> new IllegalArgumentException("해당 ID의 반려동물이 존재하지 않습니다."));
+            fileStorageService.release(StorageBucket.PET, pet.getImageName()); // 기존 이미지 참조 해제
             pet.setImageUrl(uploadedFileName); // 이미지 URL 업데이트
+            pet.setImageName(uploadedFileName); // 참조 해제할 파일 이름
             petRepository.save(pet);
         }
     }
@@ -165,13 +158,8 @@ public PetDto registerPet(PetDto petDto, MultipartFile image) {
 
         // 이미지 업로드 처리
         if (image != null && !image.isEmpty()) {
-            String originalFilename = image.getOriginalFilename();
-            String fileName = System.currentTimeMillis() + "_" + originalFilename;
-
-            Path filePath = Paths.get(petUploadPath, fileName);
-
-            // 파일 저장
-            Files.copy(image.getInputStream(), filePath);
+            // 파일 저장, 파생본은 커밋 후 이미지 작업 스레드에서 생성
+            String fileName = storeImage(image);
 
             // 이미지 URL 생성 (중복 방지)
             pet.setImageUrl("/api/pets/image/" + fileName); // API 경로 설정
@@ -211,23 +199,13 @@ public PetDto updatePet(Long petId, PetDto petDto, MultipartFile image) {
 
     // 이미지 업데이트 처리
     if (image != null && !image.isEmpty()) {
-        // 기존 이미지 삭제
-        if (pet.getImageUrl() != null) {
-            Path oldImagePath = Paths.get(petUploadPath, pet.getImageName());
-            try {
-                Files.deleteIfExists(oldImagePath);
-            } catch (IOException e) {
-                log.warn("기존 이미지를 삭제하지 못했습니다: {}", e.getMessage());
-            }
-        }
-
-        // 새 이미지 업로드 및 설정
-        String originalFilename = image.getOriginalFilename();
-        String fileName = System.currentTimeMillis() + "_" + originalFilename;
+        // 기존 이미지 참조 해제(커밋 후, 다른 곳에서 쓰지 않으면 파일과 파생본 삭제)
+        fileStorageService.release(StorageBucket.PET, pet.getImageName());
 
-        Path filePath = Paths.get(petUploadPath, fileName);
+        // 새 이미지 업로드 및 설정, 파생본은 커밋 후 이미지 작업 스레드에서 생성
+        String fileName;
         try {
-            image.transferTo(filePath.toFile());
+            fileName = storeImage(image);
         } catch (IOException e) {
             log.error("이미지 업로드 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -249,21 +227,19 @@ public void deletePet(Long petId, String userEmail) {
     Pet pet = petRepository.findById(petId)
             .orElseThrow(() -> new EntityNotFoundException("Pet not found with id: " + petId));
     
-    // Member 조회 (null 처리)
-    Member member = memberRepository.findByEmail(userEmail);
-    if (member == null) {
+    // 회원 ID 조회 (요청 단위 캐시, null 처리)
+    Long memberId = currentMember.getId(userEmail);
+    if (memberId == null) {
         throw new EntityNotFoundException("User not found with email: " + userEmail);
     }
     
     // 사용자 검증
-    if (!pet.getUserId().equals(member.getId())) {
+    if (!pet.getUserId().equals(memberId)) {
         throw new AccessDeniedException("사용자가 해당 반려동물을 삭제할 권한이 없습니다.");
     }
     
-    // 이미지 삭제
-    if (pet.getImageUrl() != null) {
-        deleteExistingImage(pet.getImageUrl());
-    }
+    // 이미지 참조 해제(커밋 후, 다른 곳에서 쓰지 않으면 파일과 파생본 삭제)
+    fileStorageService.release(StorageBucket.PET, pet.getImageName());
     
     // Pet 삭제
     petRepository.delete(pet);
@@ -271,23 +247,12 @@ public void deletePet(Long petId, String userEmail) {
 
 
 
-    private String saveImage(MultipartFile image) {
-        try {
-            String fileName = UUID.randomUUID().toString() + "_" + image.getOriginalFilename();
-            Path targetLocation = Paths.get(petUploadPath).resolve(fileName);
-            Files.copy(image.getInputStream(), targetLocation);
-            return fileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store image " + image.getOriginalFilename(), ex);
-        }
-    }
-
-    private void deleteExistingImage(String imageUrl) {
-        try {
-            Path imagePath = Paths.get(petUploadPath).resolve(imageUrl);
-            Files.deleteIfExists(imagePath);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete image " + imageUrl, ex);
-        }
+    /**
+     * 반려동물 이미지 저장 후 파생본 생성 요청, 저장된 파일 이름 반환
+     */
+    private String storeImage(MultipartFile image) throws IOException {
+        String fileName = fileStorageService.store(StorageBucket.PET, image).name();
+        imageProcessingService.process(fileStorageService.localPath(StorageBucket.PET, fileName), null);
+        return fileName;
     }
 }
\ No newline at end of file
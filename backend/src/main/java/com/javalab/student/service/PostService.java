@@ -21,7 +21,8 @@ public interface PostService {
     // 이메일로 사용자 ID 조회 메서드 추가
     Long getUserIdByEmail(String email);
 
-    PostDto increaseViewsAndGet(Long id);
+    // 조회수 증가(viewer : 중복 제거용 사용자/IP 식별자, 없으면 null) 및 조회
+    PostDto increaseViewsAndGet(Long id, String viewer);
 
     //사용자별 게시글 조회
     Page<PostDto> getPostsByUserId(Long userId, Pageable pageable);
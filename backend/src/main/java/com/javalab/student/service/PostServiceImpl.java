@@ -2,55 +2,64 @@ package com.javalab.student.service;
 
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.javalab.student.constant.StorageBucket;
 import com.javalab.student.dto.CommentDto;
 import com.javalab.student.dto.PostDto;
 import com.javalab.student.entity.Comment;
-import com.javalab.student.entity.Member;
 import com.javalab.student.entity.Post;
-import com.javalab.student.repository.MemberRepository;
 import com.javalab.student.repository.PostRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.storage.FileStorageService;
 
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 
 @Service
 @Slf4j
 public class PostServiceImpl implements PostService {
+    // 본문(에디터)에 넣은 업로드 이미지 URL
+    private static final Pattern CONTENT_IMAGE = Pattern.compile("/api/posts/image/([0-9a-f]{64}\\.[0-9a-z]+)");
+
     // 의존성 주입을 위한 필드
     private final PostRepository postRepository;
-    private final MemberRepository memberRepository;
+    private final CurrentMember currentMember;
     private final ModelMapper modelMapper;
-
-    @Value("${postImgLocation}")
-    private String postUploadPath;
-    
+    private final ImageProcessingService imageProcessingService;
+    private final FileStorageService fileStorageService;
+    private final PostViewCounter postViewCounter;
 
     @Override
     public PostDto createPost(PostDto postDto) {
         Post post = modelMapper.map(postDto, Post.class);
         post.setViews(0);
         Post savedPost = postRepository.save(post);
+        contentImages(savedPost.getContent()).forEach(name -> fileStorageService.retain(StorageBucket.POST, name));
         return modelMapper.map(savedPost, PostDto.class);
     }
 
     // 생성자 주입
-    public PostServiceImpl(PostRepository postRepository, MemberRepository memberRepository, ModelMapper modelMapper) {
+    public PostServiceImpl(PostRepository postRepository, CurrentMember currentMember, ModelMapper modelMapper,
+                           ImageProcessingService imageProcessingService, FileStorageService fileStorageService,
+                           PostViewCounter postViewCounter) {
         this.postRepository = postRepository;
-        this.memberRepository = memberRepository;
+        this.currentMember = currentMember;
         this.modelMapper = modelMapper;
+        this.imageProcessingService = imageProcessingService;
+        this.fileStorageService = fileStorageService;
+        this.postViewCounter = postViewCounter;
         configureModelMapper();
     }
 
@@ -66,7 +75,7 @@ public class PostServiceImpl implements PostService {
     // 게시글 목록 조회 (페이징, 정렬 적용)
     @Override
     public Page<PostDto> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable).map(this::entityToDto);
+        return withPendingViews(postRepository.findAll(pageable).map(this::entityToDto));
     }
 
     // 게시글 상세 조회
@@ -75,20 +84,23 @@ public class PostServiceImpl implements PostService {
     public PostDto getPostById(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + id));
-        return modelMapper.map(post, PostDto.class);
+        PostDto postDto = modelMapper.map(post, PostDto.class);
+        postDto.setViews(postViewCounter.currentViews(id, post.getViews()));
+        return postDto;
     }
 
     // 게시글 조회수 증가 및 조회
+    // - 증가분은 버퍼에 기록하고 주기적으로 DB에 반영(PostViewCounter), 응답에는 반영 대기분을 더해 보여준다.
     @Override
-    @Transactional
-    public PostDto increaseViewsAndGet(Long id) {
+    @Transactional(readOnly = true)
+    public PostDto increaseViewsAndGet(Long id, String viewer) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다. ID: " + id));
-        
-        post.setViews(post.getViews() + 1);
-        Post savedPost = postRepository.save(post);
-        
-        return modelMapper.map(savedPost, PostDto.class);
+
+        postViewCounter.recordView(id, viewer);
+        PostDto postDto = modelMapper.map(post, PostDto.class);
+        postDto.setViews(postViewCounter.currentViews(id, post.getViews()));
+        return postDto;
     }
 
     // 게시글 생성
@@ -101,23 +113,12 @@ public class PostServiceImpl implements PostService {
         // 이미지 처리
         if (image != null && !image.isEmpty()) {
             try {
-                // 원본 이미지 저장
-                String originalFilename = image.getOriginalFilename();
-                String fileName = System.currentTimeMillis() + "_" + originalFilename;
-                Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-                Files.copy(image.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+                // 원본 이미지 저장(내용 SHA-256 이름, 같은 이미지는 한 번만 저장)
+                String fileName = fileStorageService.store(StorageBucket.POST, image).name();
                 
-                // 썸네일 생성
-                String thumbnailName = "thumb_" + fileName;
-                Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
-                
-                Thumbnails.of(targetLocation.toFile())
-                    .size(300, 300) // 썸네일 크기 조정
-                    .toFile(thumbnailPath.toFile());
-                
-                // 이미지 정보 저장
+                // 이미지 정보 저장, 썸네일이 만들어지기 전까지는 원본을 썸네일로 사용
                 post.setImageUrl("/api/posts/image/" + fileName);
-                post.setThumbnailUrl("/api/posts/image/" + thumbnailName); // 썸네일 URL 설정
+                post.setThumbnailUrl("/api/posts/image/" + fileName);
             } catch (IOException e) {
                 log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
                 throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -125,6 +126,10 @@ public class PostServiceImpl implements PostService {
         }
     
         Post savedPost = postRepository.save(post);
+        // 본문 이미지 참조
+        contentImages(savedPost.getContent()).forEach(name -> fileStorageService.retain(StorageBucket.POST, name));
+        // 썸네일/중간 크기/WebP 파생본은 커밋 후 이미지 작업 스레드에서 생성
+        requestDerivatives(savedPost);
         return modelMapper.map(savedPost, PostDto.class);
     }
 
@@ -150,7 +155,7 @@ public class PostServiceImpl implements PostService {
         }
     
         existingPost.setTitle(postDto.getTitle().trim());
-        existingPost.setContent(postDto.getContent().trim());
+        updateContent(existingPost, postDto.getContent().trim());
         
         // postCategory가 null이 아닌 경우에만 업데이트
         if (postDto.getPostCategory() != null) {
@@ -185,37 +190,21 @@ public class PostServiceImpl implements PostService {
         }
 
         existingPost.setTitle(postDto.getTitle());
-        existingPost.setContent(postDto.getContent());
+        updateContent(existingPost, postDto.getContent());
         existingPost.setPostCategory(postDto.getPostCategory());
 
         // 이미지 업데이트 처리
         if (image != null && !image.isEmpty()) {
             try {
-                // 기존 이미지 삭제
-                if (existingPost.getImageUrl() != null) {
-                    Path oldImagePath = Paths.get(postUploadPath).resolve(extractFileName(existingPost.getImageUrl()));
-                    Path oldThumbnailPath = Paths.get(postUploadPath).resolve(extractFileName(existingPost.getThumbnailUrl()));
-                    Files.deleteIfExists(oldImagePath);
-                    Files.deleteIfExists(oldThumbnailPath);
-                }
+                // 기존 이미지 참조 해제(커밋 후)
+                releaseImages(existingPost);
 
                 // 새 이미지 저장
-                String originalFilename = image.getOriginalFilename();
-                String fileName = System.currentTimeMillis() + "_" + originalFilename;
-                Path targetLocation = Paths.get(postUploadPath).resolve(fileName);
-                Files.copy(image.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-                
-                // 썸네일 생성
-                String thumbnailName = "thumb_" + fileName;
-                Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailName);
-                
-                Thumbnails.of(targetLocation.toFile())
-                    .size(300, 300) // 썸네일 크기 조정
-                    .toFile(thumbnailPath.toFile());
-                
-                // 이미지 정보 업데이트
+                String fileName = fileStorageService.store(StorageBucket.POST, image).name();
+
+                // 이미지 정보 업데이트, 썸네일이 만들어지기 전까지는 원본을 썸네일로 사용
                 existingPost.setImageUrl("/api/posts/image/" + fileName);
-                existingPost.setThumbnailUrl("/api/posts/image/" + thumbnailName);
+                existingPost.setThumbnailUrl("/api/posts/image/" + fileName);
             } catch (IOException e) {
                 log.error("이미지 업로드 중 오류 발생: {}", e.getMessage());
                 throw new RuntimeException("이미지 업로드 중 오류 발생", e);
@@ -223,11 +212,73 @@ public class PostServiceImpl implements PostService {
         }
 
         Post savedPost = postRepository.save(existingPost);
+        if (image != null && !image.isEmpty()) {
+            requestDerivatives(savedPost);
+        }
         return modelMapper.map(savedPost, PostDto.class);
     }
 
+    /**
+     * 게시글 이미지 파생본 생성 요청
+     * - 생성이 끝나면 썸네일 URL을 갱신한다.(그 사이 이미지가 바뀌었으면 갱신하지 않는다)
+     */
+    private void requestDerivatives(Post post) {
+        String imageUrl = post.getImageUrl();
+        String fileName = extractFileName(imageUrl);
+        if (fileName == null || fileName.isEmpty()) {
+            return;
+        }
+        Long postId = post.getId();
+        imageProcessingService.process(fileStorageService.localPath(StorageBucket.POST, fileName), derivatives ->
+                postRepository.updateThumbnailUrl(postId, imageUrl,
+                        "/api/posts/image/" + derivatives.thumbnail().getFileName()));
+    }
+
+
 
 
+    /**
+     * 본문 수정, 새로 넣은 본문 이미지는 참조하고 뺀 이미지는 참조 해제(커밋 후 삭제)한다.
+     */
+    private void updateContent(Post post, String content) {
+        Set<String> before = contentImages(post.getContent());
+        Set<String> after = contentImages(content);
+        post.setContent(content);
+        after.stream().filter(name -> !before.contains(name))
+                .forEach(name -> fileStorageService.retain(StorageBucket.POST, name));
+        before.stream().filter(name -> !after.contains(name))
+                .forEach(name -> fileStorageService.release(StorageBucket.POST, name));
+    }
+
+    /**
+     * 본문에 들어 있는 업로드 이미지 파일 이름(중복 제외)
+     */
+    private static Set<String> contentImages(String content) {
+        Set<String> names = new HashSet<>();
+        if (content == null) {
+            return names;
+        }
+        Matcher matcher = CONTENT_IMAGE.matcher(content);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
+    /**
+     * 게시글 이미지 참조 해제
+     * - 썸네일이 원본의 파생본(thumb_)이면 원본과 함께 삭제되므로, 따로 올린 썸네일 파일만 해제한다.
+     */
+    private void releaseImages(Post post) {
+        String imageFileName = extractFileName(post.getImageUrl());
+        String thumbnailFileName = extractFileName(post.getThumbnailUrl());
+        fileStorageService.release(StorageBucket.POST, imageFileName);
+        if (thumbnailFileName != null && imageFileName != null
+                && !thumbnailFileName.equals(imageFileName)
+                && !thumbnailFileName.equals(ImageProcessingService.thumbnailName(imageFileName))) {
+            fileStorageService.release(StorageBucket.POST, thumbnailFileName);
+        }
+    }
 
      // 파일 이름 추출 유틸리티 메서드
      private String extractFileName(String url) {
@@ -254,26 +305,10 @@ public void deletePost(Long id, Long userId) {
             throw new SecurityException("작성자만 삭제할 수 있습니다.");
         }
 
-        // 이미지 삭제 로직
-        if (existingPost.getImageUrl() != null) {
-            try {
-                String imageFileName = extractFileName(existingPost.getImageUrl());
-                String thumbnailFileName = extractFileName(existingPost.getThumbnailUrl());
-                
-                if (imageFileName != null && !imageFileName.isEmpty()) {
-                    Path imagePath = Paths.get(postUploadPath).resolve(imageFileName);
-                    Files.deleteIfExists(imagePath);
-                }
-                
-                if (thumbnailFileName != null && !thumbnailFileName.isEmpty()) {
-                    Path thumbnailPath = Paths.get(postUploadPath).resolve(thumbnailFileName);
-                    Files.deleteIfExists(thumbnailPath);
-                }
-            } catch (IOException e) {
-                log.error("이미지 파일 삭제 중 오류 발생: {}", e.getMessage());
-                // 이미지 삭제 실패해도 게시글은 삭제 진행
-            }
-        }
+        // 이미지 참조 해제(커밋 후, 다른 게시글에서 쓰지 않으면 파일과 파생본 삭제)
+        // 삭제에 실패해도 게시글은 삭제 진행
+        releaseImages(existingPost);
+        contentImages(existingPost.getContent()).forEach(name -> fileStorageService.release(StorageBucket.POST, name));
 
         // 연관된 댓글이 있는 경우 (cascading이 설정되어 있지만 명시적으로 처리)
         if (existingPost.getComments() != null && !existingPost.getComments().isEmpty()) {
@@ -294,20 +329,29 @@ public void deletePost(Long id, Long userId) {
     @Override
     @Transactional(readOnly = true)
     public Long getUserIdByEmail(String email) {
-        Member member = memberRepository.findByEmail(email);
-        if (member == null) {
+        // 요청 단위 회원 식별 정보 캐시에서 조회
+        Long userId = currentMember.getId(email);
+        if (userId == null) {
             throw new IllegalArgumentException("해당 이메일의 사용자를 찾을 수 없습니다: " + email);
         }
-        return member.getId();
+        return userId;
     }
 
     @Override
 @Transactional(readOnly = true)
 public Page<PostDto> getPostsByUserId(Long userId, Pageable pageable) {
     Page<Post> posts = postRepository.findByUserId(userId, pageable);
-    return posts.map(this::entityToDto);
+    return withPendingViews(posts.map(this::entityToDto));
 }
 
+    // 목록 조회수에 반영 대기 증가분을 더한다.(한 번에 조회)
+    private Page<PostDto> withPendingViews(Page<PostDto> posts) {
+        Map<Long, Long> pending = postViewCounter.pendingViews(posts.map(PostDto::getId).getContent());
+        posts.forEach(postDto -> postDto.setViews(postDto.getViews()
+                + pending.getOrDefault(postDto.getId(), 0L).intValue()));
+        return posts;
+    }
+
     // Entity를 DTO로 변환하는 유틸리티 메서드
     private PostDto entityToDto(Post post) {
         return PostDto.builder()
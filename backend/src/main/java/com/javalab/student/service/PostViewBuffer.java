@@ -0,0 +1,40 @@
+package com.javalab.student.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 게시글 조회수 증가분 버퍼
+ * - 조회할 때마다 posts 행을 쓰지 않고 증가분만 모았다가 PostViewCounter가 주기적으로 DB에 반영한다.
+ * - 구현체는 post.views.mode 설정으로 선택한다.
+ *   - memory (기본값) : MemoryPostViewBuffer, 서버 메모리에 누적(서버마다 따로 반영)
+ *   - redis : RedisPostViewBuffer, Redis 해시에 HINCRBY로 누적(여러 서버 공용, 한 서버만 반영)
+ */
+public interface PostViewBuffer {
+
+    /**
+     * 조회 기록
+     * @param viewer 사용자/IP 식별자, null이면 중복 제거하지 않는다.
+     * @param dedupWindow 같은 사용자의 재조회를 세지 않는 기간, 0이면 중복 제거하지 않는다.
+     * @return 조회수에 반영했으면 true, 중복 제거 기간 안의 재조회면 false
+     */
+    boolean record(Long postId, String viewer, Duration dedupWindow);
+
+    /**
+     * 아직 DB에 반영되지 않은 증가분(반영 중인 값 포함), 없는 게시글은 결과에 넣지 않는다.
+     */
+    Map<Long, Long> pending(Collection<Long> postIds);
+
+    /**
+     * 반영 시작 : 누적된 증가분을 반영용으로 옮기고 반환
+     * - 이전 반영이 실패해 남은 증가분이 있으면 그것부터 반환한다.
+     * - 다른 서버가 반영 중이면 빈 맵
+     */
+    Map<Long, Long> beginFlush();
+
+    /**
+     * 반영 완료 : 반영용 증가분 삭제
+     */
+    void completeFlush();
+}
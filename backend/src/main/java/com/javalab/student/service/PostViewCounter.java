@@ -0,0 +1,126 @@
+package com.javalab.student.service;
+
+import com.javalab.student.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 게시글 조회수 카운터
+ * - 조회는 PostViewBuffer에 증가분만 기록하고, 주기적으로(post.views.flush-ms) 게시글마다
+ *   UPDATE posts SET views = views + ? 한 번으로 반영한다.(엔티티를 읽고 쓰는 방식의 갱신 손실과 조회마다 행 쓰기 방지)
+ * - 같은 사용자(로그인 사용자 또는 IP)의 재조회는 post.views.dedup-window-seconds 동안 세지 않는다.(0이면 모두 센다)
+ * - 조회 화면은 DB 값에 아직 반영되지 않은 증가분을 더해 보여준다.
+ * - 버퍼(Redis)를 쓸 수 없으면 DB에 바로 더한다. 조회 화면의 읽기 전용 트랜잭션과 분리된 새 트랜잭션에서 더하고,
+ *   실패해도 조회 응답에는 영향을 주지 않는다.
+ * - 반영은 최소 한 번(at-least-once)이다. DB 커밋 후 반영 완료(completeFlush)가 실패하면
+ *   같은 증가분이 다음 주기에 한 번 더 더해질 수 있다.(조회수는 근사값으로 보고 허용한다)
+ */
+@Service
+@Slf4j
+public class PostViewCounter {
+
+    private final PostViewBuffer postViewBuffer;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    // 버퍼 기록 실패시 DB에 바로 더할 때 사용(호출한 쪽의 읽기 전용 트랜잭션에 참여하지 않는다)
+    private final TransactionTemplate fallbackTemplate;
+    private final Duration dedupWindow;
+
+    public PostViewCounter(PostViewBuffer postViewBuffer,
+                           PostRepository postRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${post.views.dedup-window-seconds:0}") long dedupWindowSeconds) {
+        this.postViewBuffer = postViewBuffer;
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.fallbackTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.fallbackTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dedupWindow = Duration.ofSeconds(dedupWindowSeconds);
+    }
+
+    /**
+     * 조회 기록
+     * @param viewer 사용자/IP 식별자(중복 제거용), 없으면 null
+     * @return 조회수에 반영했으면 true
+     */
+    public boolean recordView(Long postId, String viewer) {
+        try {
+            return postViewBuffer.record(postId, viewer, dedupWindow);
+        } catch (Exception e) {
+            log.warn("조회수 버퍼 기록 실패, DB에 바로 반영 - 게시글 {}: {}", postId, e.getMessage());
+        }
+        try {
+            fallbackTemplate.executeWithoutResult(status -> postRepository.increaseViews(postId, 1));
+            return true;
+        } catch (Exception e) {
+            log.error("조회수 DB 반영 실패 - 게시글 {}: {}", postId, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * DB 조회수 + 반영 대기 증가분
+     */
+    public int currentViews(Long postId, int persistedViews) {
+        return persistedViews + pendingViews(List.of(postId)).getOrDefault(postId, 0L).intValue();
+    }
+
+    /**
+     * 게시글별 반영 대기 증가분(목록 화면용), 조회에 실패하면 빈 맵
+     */
+    public Map<Long, Long> pendingViews(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return postViewBuffer.pending(postIds);
+        } catch (Exception e) {
+            log.warn("조회수 버퍼 조회 실패: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * 증가분을 DB에 반영 (기본 5초 주기)
+     * - 한 트랜잭션에서 게시글마다 UPDATE 한 번, 실패하면 증가분을 남겨 다음 주기에 다시 반영한다.
+     * - 여러 서버(memory 모드)가 같은 게시글 행들을 동시에 갱신해도 교착 상태가 되지 않도록 게시글 ID 순서로 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${post.views.flush-ms:5000}")
+    public synchronized void flush() {
+        try {
+            Map<Long, Long> deltas = postViewBuffer.beginFlush();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            Map<Long, Long> ordered = new TreeMap<>(deltas);
+            transactionTemplate.executeWithoutResult(status -> ordered.forEach((postId, delta) -> {
+                if (delta != 0) {
+                    postRepository.increaseViews(postId, delta);
+                }
+            }));
+            postViewBuffer.completeFlush();
+            log.debug("조회수 DB 반영 완료: {}개 게시글", deltas.size());
+        } catch (Exception e) {
+            log.error("조회수 DB 반영 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 종료 전 남은 증가분 반영(memory 모드에서 유실 방지)
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
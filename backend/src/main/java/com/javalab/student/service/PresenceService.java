@@ -0,0 +1,259 @@
+package com.javalab.student.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속 상태(Presence) 서비스
+ * - STOMP 연결/연결 종료 이벤트로 이 서버의 세션 -> 사용자 ID 맵을 관리한다.
+ *   사용자 ID는 클라이언트가 CONNECT 프레임의 userId 헤더로 보낸다.(useWebSocket.js)
+ * - 전체 서버 기준 접속 상태는 Redis "PRESENCE:{사용자 ID}" 정렬 집합에 서버 인스턴스 ID(멤버)와 만료 시각(점수)으로 기록한다.
+ *   인스턴스 ID는 "호스트 이름:UUID"로 시작할 때마다 새로 만들어 다른 서버의 기록을 지우지 않게 한다.
+ *   각 서버는 주기적으로(chat.presence.heartbeat-ms) 자신의 접속자 만료 시각을 갱신하고,
+ *   서버가 비정상 종료되어도 TTL(chat.presence.ttl-ms)이 지나면 오프라인이 된다.
+ * - 채팅 이벤트 발행 전에 오프라인 사용자를 걸러내어 직렬화/전송을 하지 않는다.(MessagePublisherService)
+ */
+@Service
+@Slf4j
+public class PresenceService {
+
+    public static final String CONNECT_USER_HEADER = "userId";
+    private static final String KEY_PREFIX = "PRESENCE:";
+
+    /**
+     * 접속 여부 일괄 조회
+     * - KEYS : PRESENCE:{사용자 ID} 목록, ARGV : 현재 시각(ms)
+     * - 만료된 서버 항목을 지운 뒤 남은 항목이 있으면 1, 없으면 0
+     */
+    private static final DefaultRedisScript<List> ONLINE_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('ZREMRANGEBYSCORE', key, '-inf', ARGV[1]) " +
+            "  result[i] = redis.call('ZCARD', key) > 0 and 1 or 0 " +
+            "end " +
+            "return result",
+            List.class);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final String instanceId;
+    private final long ttlMillis;
+
+    // 세션 ID -> 사용자 ID
+    private final Map<String, Long> sessionUsers = new ConcurrentHashMap<>();
+    // 사용자 ID -> 이 서버의 세션 수(여러 탭/기기)
+    private final Map<Long, Integer> localSessionCounts = new ConcurrentHashMap<>();
+
+    public PresenceService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                           @Value("${chat.presence.ttl-ms:30000}") long ttlMillis) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.instanceId = hostName() + ":" + UUID.randomUUID();
+        this.ttlMillis = ttlMillis;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String userId = accessor.getFirstNativeHeader(CONNECT_USER_HEADER);
+        if (userId == null) {
+            return;
+        }
+        try {
+            connect(accessor.getSessionId(), Long.parseLong(userId));
+        } catch (NumberFormatException e) {
+            log.debug("잘못된 userId 헤더 - {}", userId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    /**
+     * 세션 연결 등록, 이 서버의 첫 세션이면 바로 온라인으로 기록한다.
+     */
+    public void connect(String sessionId, Long userId) {
+        if (sessionId == null || userId == null) {
+            return;
+        }
+        Long previous = sessionUsers.put(sessionId, userId);
+        if (previous != null) {
+            decrement(sessionId, previous);
+        }
+        if (localSessionCounts.merge(userId, 1, Integer::sum) == 1) {
+            try {
+                refresh(List.of(userId));
+            } catch (RuntimeException e) {
+                log.warn("⚠️ 접속 상태 기록 실패 - userId={}, {}", userId, e.getMessage());
+            }
+        }
+        log.debug("STOMP 연결 - sessionId={}, userId={}", sessionId, userId);
+    }
+
+    /**
+     * 세션 연결 종료, 이 서버의 마지막 세션이면 이 서버의 접속 기록을 지운다.(다른 서버 접속은 유지)
+     */
+    public void disconnect(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Long userId = sessionUsers.remove(sessionId);
+        if (userId != null) {
+            decrement(sessionId, userId);
+        }
+    }
+
+    /**
+     * 접속 상태 갱신(heartbeat)
+     * - 이 서버 접속자 전체의 만료 시각을 한 번의 파이프라인으로 갱신한다.
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        if (localSessionCounts.isEmpty()) {
+            return;
+        }
+        try {
+            refresh(new ArrayList<>(localSessionCounts.keySet()));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 접속 상태 갱신 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 접속 여부
+     */
+    public boolean isOnline(Long userId) {
+        return !onlineAmong(List.of(userId)).isEmpty();
+    }
+
+    /**
+     * 접속 중인 사용자만 골라낸다.(입력 순서 유지)
+     * - 이 서버에 접속 중이면 Redis를 조회하지 않는다.
+     * - Redis 조회에 실패하면 전달 누락을 막기 위해 모두 접속 중으로 본다.
+     */
+    public List<Long> onlineAmong(Collection<Long> userIds) {
+        Set<Long> online = new LinkedHashSet<>();
+        List<Long> remote = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            if (localSessionCounts.containsKey(userId)) {
+                online.add(userId);
+            } else {
+                remote.add(userId);
+            }
+        }
+        if (!remote.isEmpty()) {
+            try {
+                List<?> flags = redisStringTemplate.execute(ONLINE_SCRIPT,
+                        remote.stream().map(PresenceService::key).toList(),
+                        String.valueOf(System.currentTimeMillis()));
+                for (int i = 0; i < remote.size(); i++) {
+                    if (flags != null && ((Number) flags.get(i)).longValue() == 1L) {
+                        online.add(remote.get(i));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("⚠️ 접속 상태 조회 실패, 모두 접속 중으로 처리 - {}", e.getMessage());
+                online.addAll(remote);
+            }
+        }
+        List<Long> result = new ArrayList<>(online.size());
+        for (Long userId : userIds) {
+            if (online.remove(userId)) {
+                result.add(userId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자별 접속 여부 일괄 조회(입력 순서 유지)
+     */
+    public Map<Long, Boolean> onlineStatus(Collection<Long> userIds) {
+        Set<Long> online = new LinkedHashSet<>(onlineAmong(userIds));
+        Map<Long, Boolean> status = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                status.put(userId, online.contains(userId));
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 이 서버에 접속 중인 사용자 수
+     */
+    public int localUserCount() {
+        return localSessionCounts.size();
+    }
+
+    /**
+     * 이 서버의 접속 기록 멤버(호스트 이름:UUID)
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void decrement(String sessionId, Long userId) {
+        Integer remaining = localSessionCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            try {
+                redisStringTemplate.opsForZSet().remove(key(userId), instanceId);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ 접속 종료 기록 실패(TTL 후 만료) - userId={}, {}", userId, e.getMessage());
+            }
+        }
+        log.debug("STOMP 연결 종료 - sessionId={}, userId={}", sessionId, userId);
+    }
+
+    private void refresh(List<Long> userIds) {
+        double expireAt = System.currentTimeMillis() + ttlMillis;
+        byte[] member = instanceId.getBytes(StandardCharsets.UTF_8);
+        redisStringTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (Long userId : userIds) {
+                byte[] key = key(userId).getBytes(StandardCharsets.UTF_8);
+                connection.zSetCommands().zAdd(key, expireAt, member);
+                connection.keyCommands().pExpire(key, ttlMillis);
+            }
+            return null;
+        });
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
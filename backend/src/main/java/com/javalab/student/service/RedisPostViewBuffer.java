@@ -0,0 +1,100 @@
+package com.javalab.student.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 조회수 버퍼 (post.views.mode=redis, 여러 서버 공용)
+ * - 증가분은 "VIEWS:PENDING" 해시에 HINCRBY로 누적한다.(필드 : 게시글 ID)
+ * - 반영할 때는 처리용 키로 RENAME 하여 반영 도중 들어오는 증가분과 분리하고,
+ *   "VIEWS:FLUSH:LOCK"(SET NX PX)을 얻은 서버 하나만 반영한다.
+ * - 중복 제거는 "VIEWS:SEEN:{게시글 ID}:{사용자}" 키를 SET NX EX(중복 제거 기간)로 기록한다.
+ * - 반영은 최소 한 번(at-least-once)이다. DB 커밋 후 처리용 키 삭제(completeFlush)가 실패하거나
+ *   그 사이 서버가 종료되면 잠금이 만료된 뒤 같은 증가분을 다시 반영한다.
+ */
+@Component
+@ConditionalOnProperty(name = "post.views.mode", havingValue = "redis")
+public class RedisPostViewBuffer implements PostViewBuffer {
+
+    private static final String PENDING_KEY = "VIEWS:PENDING";
+    private static final String PROCESSING_KEY = "VIEWS:PENDING:PROCESSING";
+    private static final String LOCK_KEY = "VIEWS:FLUSH:LOCK";
+    private static final String SEEN_PREFIX = "VIEWS:SEEN:";
+    // 반영이 실패하거나 도중에 서버가 종료되면 이 시간 뒤에 처리용 키부터 다시 반영한다.
+    private static final Duration LOCK_TTL = Duration.ofSeconds(60);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+
+    public RedisPostViewBuffer(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate) {
+        this.redisStringTemplate = redisStringTemplate;
+    }
+
+    @Override
+    public boolean record(Long postId, String viewer, Duration dedupWindow) {
+        if (viewer != null && !dedupWindow.isZero()) {
+            Boolean first = redisStringTemplate.opsForValue()
+                    .setIfAbsent(SEEN_PREFIX + postId + ":" + viewer, "1", dedupWindow);
+            if (!Boolean.TRUE.equals(first)) {
+                return false;
+            }
+        }
+        redisStringTemplate.opsForHash().increment(PENDING_KEY, postId.toString(), 1);
+        return true;
+    }
+
+    @Override
+    public Map<Long, Long> pending(Collection<Long> postIds) {
+        List<Object> fields = new ArrayList<>(postIds.size());
+        postIds.forEach(postId -> fields.add(postId.toString()));
+        List<Object> pendingValues = redisStringTemplate.opsForHash().multiGet(PENDING_KEY, fields);
+        List<Object> processingValues = redisStringTemplate.opsForHash().multiGet(PROCESSING_KEY, fields);
+
+        Map<Long, Long> result = new HashMap<>();
+        int index = 0;
+        for (Long postId : postIds) {
+            long delta = toLong(pendingValues.get(index)) + toLong(processingValues.get(index));
+            if (delta != 0) {
+                result.put(postId, delta);
+            }
+            index++;
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, Long> beginFlush() {
+        Boolean locked = redisStringTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) {
+            return Map.of();
+        }
+        if (!Boolean.TRUE.equals(redisStringTemplate.hasKey(PROCESSING_KEY))) {
+            if (!Boolean.TRUE.equals(redisStringTemplate.hasKey(PENDING_KEY))) {
+                redisStringTemplate.delete(LOCK_KEY);
+                return Map.of();
+            }
+            redisStringTemplate.rename(PENDING_KEY, PROCESSING_KEY);
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        redisStringTemplate.opsForHash().entries(PROCESSING_KEY)
+                .forEach((postId, delta) -> deltas.put(Long.valueOf(postId.toString()), toLong(delta)));
+        return deltas;
+    }
+
+    @Override
+    public void completeFlush() {
+        redisStringTemplate.delete(List.of(PROCESSING_KEY, LOCK_KEY));
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+}
@@ -0,0 +1,48 @@
+package com.javalab.student.service;
+
+import com.javalab.student.config.redis.ChatChannelSharding;
+import com.javalab.student.dto.ChatEventDto;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis Pub/Sub 채팅 브로커 (chat.broker.mode=redis-pubsub, 기본값)
+ * - 수신자 ID가 속한 샤드 채널(ChatChannelSharding)로 한 번 발행한다.
+ * - 모든 서버가 샤드 채널 전체를 구독하고, MessageSubscriberService에서 이 서버에 구독 중인 수신 대상에게만 전달한다.
+ */
+@Service
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis-pubsub", matchIfMissing = true)
+public class RedisPubSubChatBroker implements ChatBroker {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ChatChannelSharding chatChannelSharding;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MessageSubscriberService messageSubscriberService;
+
+    public RedisPubSubChatBroker(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                 ChatChannelSharding chatChannelSharding,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 MessageSubscriberService messageSubscriberService) {
+        this.redisTemplate = redisTemplate;
+        this.chatChannelSharding = chatChannelSharding;
+        this.listenerContainer = listenerContainer;
+        this.messageSubscriberService = messageSubscriberService;
+    }
+
+    /**
+     * ✅ 샤드 채널 구독 설정 (사용자 수와 상관없이 샤드 수만큼만 구독)
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(messageSubscriberService, chatChannelSharding.topics());
+    }
+
+    @Override
+    public void publish(ChatEventDto event, String json) {
+        redisTemplate.convertAndSend(chatChannelSharding.channelFor(event.getReceiverId()), json);
+    }
+}
@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 
 /**
  * Redis 서비스 클래스 (권한 캐싱 및 메시지 전송 겸용)
+ * - 권한 조회는 LocalAuthorityCache(로컬 1차 캐시)를 거쳐 Redis를 조회한다.
  */
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,7 @@ public class RedisService {
 
     private final RedisTemplate<String, Object> redisObjectTemplate;
     private final MemberRepository memberRepository;
+    private final LocalAuthorityCache localAuthorityCache;
 
     /**
      * ✅ 사용자의 권한 정보를 Redis에 캐싱
@@ -41,14 +43,21 @@ public class RedisService {
 
         // 3. Redis에 저장 (유효시간: 6시간)
         redisObjectTemplate.opsForValue().set("AUTH:" + email, authorities, Duration.ofHours(6));
+        // 4. 모든 서버의 로컬 권한 캐시 무효화(권한 변경 반영)
+        localAuthorityCache.invalidate(email);
 
         log.info("✅ 사용자 [{}]의 권한 정보가 Redis에 저장되었습니다: {}", email, authorities);
     }
 
     /**
      * ✅ Redis에서 사용자의 권한 정보 조회
+     * - 로컬 캐시에 있으면 Redis를 조회하지 않는다.
      */
     public List<String> getUserAuthoritiesFromCache(String email) {
+        return localAuthorityCache.get(email, () -> loadUserAuthorities(email));
+    }
+
+    private List<String> loadUserAuthorities(String email) {
         Object data = redisObjectTemplate.opsForValue().get("AUTH:" + email);
         if (data instanceof List<?>) {
             return ((List<?>) data).stream()
@@ -64,6 +73,7 @@ public class RedisService {
      */
     public void removeUserAuthorities(String email) {
         redisObjectTemplate.delete("AUTH:" + email);
+        localAuthorityCache.invalidate(email);
         log.info("🗑️ 사용자 [{}]의 권한 정보가 Redis에서 삭제되었습니다.", email);
     }
 
@@ -0,0 +1,85 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ChatEventDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Redis Stream 채팅 브로커 (chat.broker.mode=redis-stream)
+ * - 이벤트를 Redis Stream "CHAT:EVENTS"에 추가(XADD, 최대 길이 chat.broker.stream.max-len 근사 유지)한다.
+ * - 각 서버는 소비자 그룹 없이 스트림 전체를 이어서 읽고(XREAD BLOCK), 이 서버에 구독 중인 수신 대상에게만 전달한다.
+ * - Pub/Sub와 달리 Redis 연결이 잠시 끊겨도 마지막으로 읽은 ID부터 이어서 읽으므로 그 사이 이벤트를 잃지 않는다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "redis-stream")
+public class RedisStreamChatBroker implements ChatBroker {
+
+    public static final String STREAM_KEY = "CHAT:EVENTS";
+    private static final String EVENT_FIELD = "event";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisConnectionFactory connectionFactory;
+    private final MessageSubscriberService messageSubscriberService;
+    private final long maxLength;
+
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public RedisStreamChatBroker(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisTemplate,
+                                 RedisConnectionFactory connectionFactory,
+                                 MessageSubscriberService messageSubscriberService,
+                                 @Value("${chat.broker.stream.max-len:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.connectionFactory = connectionFactory;
+        this.messageSubscriberService = messageSubscriberService;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 스트림 읽기 시작(시작 시점 이후 이벤트부터)
+     */
+    @PostConstruct
+    public void start() {
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .batchSize(500)
+                        .errorHandler(e -> log.warn("⚠️ 채팅 이벤트 스트림 읽기 오류 - {}", e.getMessage()))
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+        container.receive(StreamOffset.create(STREAM_KEY, ReadOffset.latest()),
+                record -> messageSubscriberService.dispatch(record.getValue().get(EVENT_FIELD)));
+        container.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Override
+    public void publish(ChatEventDto event, String json) {
+        // XADD MAXLEN ~ : 추가와 함께 오래된 이벤트를 근사 트리밍(한 번의 명령)
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of(EVENT_FIELD, json)).withStreamKey(STREAM_KEY),
+                RedisStreamCommands.XAddOptions.maxlen(maxLength).approximateTrimming(true));
+    }
+}
@@ -0,0 +1,24 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.ChatEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 외부 STOMP 브로커 릴레이 채팅 브로커 (chat.broker.mode=relay)
+ * - WebSocketConfig가 enableStompBrokerRelay로 외부 브로커에 연결하고, 브로커가 모든 서버의 구독자에게 전달한다.
+ * - 따라서 Redis를 거치지 않고 수신 대상 전체의 목적지로 바로 전송한다.(이 서버 구독 여부를 따지지 않는다)
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "relay")
+public class RelayChatBroker implements ChatBroker {
+
+    private final MessageSubscriberService messageSubscriberService;
+
+    @Override
+    public void publish(ChatEventDto event, String json) {
+        messageSubscriberService.onEvent(event, json, false);
+    }
+}
@@ -0,0 +1,314 @@
+package com.javalab.student.service;
+
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.security.dto.MemberIdentity;
+import com.javalab.student.util.SnowflakeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Stream 메시지 저장소 (chat.persistence.mode=stream)
+ * - 메시지 ID를 서버에서 생성(SnowflakeIdGenerator)하고 Redis Stream "CHAT:MESSAGES"에 추가한 뒤 바로 응답/전달한다.
+ *   전송 요청마다 message 테이블 INSERT와 회원 조회를 기다리지 않는다.
+ * - 백그라운드 작업(chat.persistence.flush-ms 주기)이 소비자 그룹 "chat-writer"로 스트림을 읽어
+ *   message 테이블에 JDBC 배치로 저장하고 저장 확인(XACK) 후 스트림에서 삭제한다.
+ * - 다른 서버가 읽고 chat.persistence.claim-idle-ms 동안 확인하지 않은 메시지(종료된 서버의 메시지)는
+ *   XPENDING으로 찾아 XCLAIM으로 가져온 뒤 대신 저장한다. 그 서버가 다시 시작하지 않아도 메시지가 남지 않는다.
+ * - msg_id(기본키) 중복만 무시(ON DUPLICATE KEY UPDATE)하므로 재시작 후 확인되지 않은 메시지를 다시 저장해도 중복되지 않는다.
+ * - 그 밖의 제약 조건 위반(외래키, 길이 등)으로 저장할 수 없는 메시지는 "CHAT:MESSAGES:FAILED" 스트림으로 옮긴다.
+ * - 메시지 내용 길이(Message.content @Size)는 스트림에 추가하기 전에 확인한다.
+ * - 서버 번호(chat.snowflake.node-id)는 메시지 ID와 소비자 이름에 쓰이므로 서버마다 다르게 반드시 지정해야 한다.
+ *   지정하지 않으면 시작하지 않는다.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "chat.persistence.mode", havingValue = "stream")
+public class StreamMessageStore implements MessageStore {
+
+    public static final String STREAM_KEY = "CHAT:MESSAGES";
+    public static final String FAILED_STREAM_KEY = "CHAT:MESSAGES:FAILED";
+    public static final String GROUP = "chat-writer";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO message (msg_id, sender_id, receiver_id, content, is_read, deleted_by_sender, " +
+            "deleted_by_receiver, edited, reg_time, update_time, created_by, modified_by) " +
+            "VALUES (?, ?, ?, ?, false, false, false, false, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE msg_id = msg_id";
+
+    // Message.content 최대 길이(@Size)
+    private static final int MAX_CONTENT_LENGTH = 255;
+
+    // 존재 확인한 회원 ID 캐시(수신자 확인용)
+    private static final long MEMBER_CHECK_TTL_MS = 600_000;
+    private static final int MAX_MEMBER_CHECKS = 10_000;
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberRepository memberRepository;
+    private final CurrentMember currentMember;
+    private final SnowflakeIdGenerator idGenerator;
+    private final int batchSize;
+    private final Duration claimIdle;
+    private final String consumerName;
+
+    private final Map<Long, Long> knownMembers = new ConcurrentHashMap<>();
+    private volatile boolean groupReady;
+    private volatile boolean replayPending = true;
+    private volatile long nextClaimAt;
+
+    public StreamMessageStore(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                              JdbcTemplate jdbcTemplate,
+                              MemberRepository memberRepository,
+                              CurrentMember currentMember,
+                              SnowflakeIdGenerator idGenerator,
+                              @Value("${chat.persistence.batch-size:500}") int batchSize,
+                              @Value("${chat.persistence.claim-idle-ms:60000}") long claimIdleMs) {
+        if (!idGenerator.isAssigned()) {
+            throw new IllegalStateException(
+                    "chat.persistence.mode=stream 에서는 chat.snowflake.node-id를 서버마다 다르게 지정해야 합니다.");
+        }
+        this.redisStringTemplate = redisStringTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.memberRepository = memberRepository;
+        this.currentMember = currentMember;
+        this.idGenerator = idGenerator;
+        this.batchSize = batchSize;
+        this.claimIdle = Duration.ofMillis(claimIdleMs);
+        this.consumerName = "node-" + idGenerator.getNodeId();
+    }
+
+    @PostConstruct
+    public void init() {
+        ensureGroup();
+    }
+
+    @Override
+    public MessageResponseDto save(MessageRequestDto requestDto, String content) {
+        Long senderId = requestDto.getSenderId();
+        Long receiverId = requestDto.getReceiverId();
+        if (content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("메시지 내용은 1자 이상 " + MAX_CONTENT_LENGTH + "자 이하여야 합니다.");
+        }
+
+        // 1. 발신자 이름 : 로그인한 회원이 발신자이면 요청 단위 회원 정보를 사용(DB 조회 없음)
+        MemberIdentity identity = currentMember.get();
+        String senderName;
+        String createdBy = null;
+        if (identity != null && senderId.equals(identity.id())) {
+            senderName = identity.name();
+            createdBy = identity.email();
+        } else {
+            Member sender = memberRepository.findById(senderId)
+                    .orElseThrow(() -> new IllegalArgumentException("발신자를 찾을 수 없습니다."));
+            senderName = sender.getName();
+        }
+        // 2. 수신자 존재 확인(확인한 회원 ID는 일정 시간 캐시)
+        if (!memberExists(receiverId)) {
+            throw new IllegalArgumentException("수신자를 찾을 수 없습니다.");
+        }
+
+        // 3. 서버에서 메시지 ID 생성 후 스트림에 추가
+        long id = idGenerator.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, String> fields = new HashMap<>();
+        fields.put("id", String.valueOf(id));
+        fields.put("senderId", String.valueOf(senderId));
+        fields.put("receiverId", String.valueOf(receiverId));
+        fields.put("content", content);
+        fields.put("regTime", now.toString());
+        if (createdBy != null) {
+            fields.put("createdBy", createdBy);
+        }
+        redisStringTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(STREAM_KEY));
+
+        return new MessageResponseDto(id, senderId, senderName, receiverId, content, false, now, now);
+    }
+
+    /**
+     * 스트림의 메시지를 message 테이블에 일괄 저장
+     * - 시작 후 처음에는 이 서버가 읽고 확인하지 못한 메시지(재시작 전 처리 중이던 메시지)부터 다시 저장한다.
+     * - claim-idle-ms 주기로 다른 서버가 오래 확인하지 않은 메시지를 가져와 저장한다.
+     */
+    @Scheduled(fixedDelayString = "${chat.persistence.flush-ms:200}")
+    public void flush() {
+        try {
+            if (!groupReady) {
+                ensureGroup();
+            }
+            if (replayPending) {
+                while (writeBatch(ReadOffset.from("0"))) {
+                    // 확인되지 않은 메시지를 모두 저장할 때까지 반복
+                }
+                replayPending = false;
+            }
+            if (System.currentTimeMillis() >= nextClaimAt) {
+                while (claimIdleBatch()) {
+                    // 오래 확인되지 않은 메시지를 모두 가져올 때까지 반복
+                }
+                nextClaimAt = System.currentTimeMillis() + claimIdle.toMillis();
+            }
+            while (writeBatch(ReadOffset.lastConsumed())) {
+                // 쌓인 메시지를 모두 저장할 때까지 반복
+            }
+        } catch (RuntimeException e) {
+            // 확인(ACK)하지 않은 메시지는 다음 주기에 다시 저장한다.
+            replayPending = true;
+            groupReady = false;
+            log.error("❌ 채팅 메시지 일괄 저장 실패, 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    /**
+     * 한 묶음 저장
+     * @return 묶음이 가득 찼으면(더 읽을 메시지가 있을 수 있으면) true
+     */
+    private boolean writeBatch(ReadOffset offset) {
+        StreamOperations<String, Object, Object> ops = redisStringTemplate.opsForStream();
+        List<MapRecord<String, Object, Object>> records = ops.read(
+                Consumer.from(GROUP, consumerName),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(STREAM_KEY, offset));
+        if (records == null || records.isEmpty()) {
+            return false;
+        }
+        write(records);
+        return records.size() == batchSize;
+    }
+
+    /**
+     * 다른 서버가 읽고 오래 확인하지 않은 메시지를 가져와 저장
+     * - XCLAIM의 최소 대기시간 조건으로 다시 확인하므로, 여러 서버가 동시에 가져가도 한 서버만 가져온다.
+     * @return 가져온 메시지가 있으면(더 남아 있을 수 있으면) true
+     */
+    private boolean claimIdleBatch() {
+        StreamOperations<String, Object, Object> ops = redisStringTemplate.opsForStream();
+        PendingMessages pendingMessages = ops.pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        if (pendingMessages == null || pendingMessages.isEmpty()) {
+            return false;
+        }
+        RecordId[] idleIds = pendingMessages.stream()
+                .filter(message -> !consumerName.equals(message.getConsumerName()))
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toArray(RecordId[]::new);
+        if (idleIds.length == 0) {
+            return false;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = ops.claim(STREAM_KEY, GROUP, consumerName, claimIdle, idleIds);
+        if (claimed == null || claimed.isEmpty()) {
+            return false;
+        }
+        log.warn("⚠️ 다른 서버가 확인하지 않은 채팅 메시지 {}건을 가져와 저장합니다.", claimed.size());
+        write(claimed);
+        return true;
+    }
+
+    /**
+     * 메시지를 저장하고 확인(XACK) 후 스트림에서 삭제
+     */
+    private void write(List<MapRecord<String, Object, Object>> records) {
+        StreamOperations<String, Object, Object> ops = redisStringTemplate.opsForStream();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::bind);
+        } catch (DataIntegrityViolationException e) {
+            // 저장할 수 없는 메시지가 섞여 있으면 한 건씩 저장하고 실패한 메시지는 따로 옮긴다.
+            records.forEach(this::insertOne);
+        }
+
+        RecordId[] ids = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        ops.acknowledge(STREAM_KEY, GROUP, ids);
+        ops.delete(STREAM_KEY, ids);
+        log.debug("채팅 메시지 {}건 저장", records.size());
+    }
+
+    private void insertOne(MapRecord<String, Object, Object> record) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, record));
+        } catch (DataIntegrityViolationException e) {
+            log.error("❌ 채팅 메시지 저장 불가, {}로 옮깁니다. id={}", FAILED_STREAM_KEY, record.getValue().get("id"), e);
+            redisStringTemplate.opsForStream().add(
+                    StreamRecords.newRecord().in(FAILED_STREAM_KEY).ofMap(record.getValue()));
+        }
+    }
+
+    private void bind(PreparedStatement ps, MapRecord<String, Object, Object> record) throws SQLException {
+        Map<Object, Object> fields = record.getValue();
+        Timestamp regTime = Timestamp.valueOf(LocalDateTime.parse((String) fields.get("regTime")));
+        String createdBy = (String) fields.get("createdBy");
+        ps.setLong(1, Long.parseLong((String) fields.get("id")));
+        ps.setLong(2, Long.parseLong((String) fields.get("senderId")));
+        ps.setLong(3, Long.parseLong((String) fields.get("receiverId")));
+        ps.setString(4, (String) fields.get("content"));
+        ps.setTimestamp(5, regTime);
+        ps.setTimestamp(6, regTime);
+        ps.setString(7, createdBy);
+        ps.setString(8, createdBy);
+    }
+
+    private boolean memberExists(Long memberId) {
+        long now = System.currentTimeMillis();
+        Long expiresAt = knownMembers.get(memberId);
+        if (expiresAt != null && expiresAt > now) {
+            return true;
+        }
+        if (!memberRepository.existsById(memberId)) {
+            return false;
+        }
+        if (knownMembers.size() >= MAX_MEMBER_CHECKS) {
+            knownMembers.values().removeIf(expiry -> expiry <= now);
+            if (knownMembers.size() >= MAX_MEMBER_CHECKS) {
+                knownMembers.clear();
+            }
+        }
+        knownMembers.put(memberId, now + MEMBER_CHECK_TTL_MS);
+        return true;
+    }
+
+    private void ensureGroup() {
+        try {
+            redisStringTemplate.opsForStream().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (RuntimeException e) {
+            // 이미 그룹이 있으면(BUSYGROUP) 그대로 사용
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")
+                    && !(e.getCause() != null && String.valueOf(e.getCause().getMessage()).contains("BUSYGROUP"))) {
+                log.warn("⚠️ 채팅 메시지 스트림 소비자 그룹 생성 실패: {}", e.getMessage());
+                return;
+            }
+        }
+        groupReady = true;
+    }
+}
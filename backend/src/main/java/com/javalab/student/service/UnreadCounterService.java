@@ -0,0 +1,210 @@
+package com.javalab.student.service;
+
+import com.javalab.student.config.websoket.ChatSubscriptionRegistry;
+import com.javalab.student.repository.MessageRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자별 읽지 않은 메시지 수 (Redis 카운터 "UNREAD:{사용자 ID}")
+ * - 메시지 저장 시 증가, 읽음 처리 시 감소하여 배지 조회마다 message 테이블을 COUNT 하지 않는다.
+ * - 카운터가 없으면 DB에서 한 번 세어 채운다. 카운터가 있는 사용자는 "UNREAD:USERS" 집합에 기록한다.
+ * - 주기적으로(chat.unread.reconcile-ms) DB 기준으로 다시 맞춘다.
+ * - 값이 바뀌면 Redis Pub/Sub "CHAT_UNREAD" 채널로 발행하고,
+ *   각 서버는 이 서버에 구독 중인 사용자에게만 /topic/chat/{사용자 ID}/unread 로 전달한다.
+ */
+@Service
+@Slf4j
+public class UnreadCounterService implements MessageListener {
+
+    public static final String CHANNEL = "CHAT_UNREAD";
+    private static final String KEY_PREFIX = "UNREAD:";
+    private static final String USERS_KEY = "UNREAD:USERS";
+    private static final Duration TTL = Duration.ofDays(1);
+    private static final int RECONCILE_CHUNK = 500;
+
+    /**
+     * 카운터 변경(카운터가 있을 때만, 0 미만으로 내려가지 않음)
+     * - ARGV : 변경량, TTL(초) / 반환값 : 변경 후 값, 카운터가 없으면 -1
+     */
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return -1 end " +
+            "local value = tonumber(current) + tonumber(ARGV[1]) " +
+            "if value < 0 then value = 0 end " +
+            "redis.call('SET', KEYS[1], value, 'EX', ARGV[2]) " +
+            "return value",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MessageRepository messageRepository;
+    private final ChatDeliveryService chatDeliveryService;
+    private final ChatSubscriptionRegistry chatSubscriptionRegistry;
+
+    public UnreadCounterService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                MessageRepository messageRepository,
+                                ChatDeliveryService chatDeliveryService,
+                                ChatSubscriptionRegistry chatSubscriptionRegistry) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.listenerContainer = listenerContainer;
+        this.messageRepository = messageRepository;
+        this.chatDeliveryService = chatDeliveryService;
+        this.chatSubscriptionRegistry = chatSubscriptionRegistry;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 읽지 않은 메시지 수 조회(카운터가 없으면 DB에서 세어 채운다)
+     */
+    public int get(Long userId) {
+        String cached = redisStringTemplate.opsForValue().get(key(userId));
+        if (cached != null) {
+            return Integer.parseInt(cached);
+        }
+        int count = messageRepository.countUnreadByReceiverId(userId);
+        redisStringTemplate.opsForValue().setIfAbsent(key(userId), String.valueOf(count), TTL);
+        redisStringTemplate.opsForSet().add(USERS_KEY, String.valueOf(userId));
+        return count;
+    }
+
+    /**
+     * 새 메시지 수신 : 1 증가
+     */
+    public void increment(Long userId) {
+        add(userId, 1);
+    }
+
+    /**
+     * 읽음 처리 : count만큼 감소
+     * - 트랜잭션 안에서 호출하면 커밋 후에 반영한다.
+     */
+    public void decrement(Long userId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(userId, -count);
+                }
+            });
+            return;
+        }
+        add(userId, -count);
+    }
+
+    /**
+     * 카운터를 DB 기준으로 다시 맞춘다.
+     * - stream 저장 모드에서 아직 저장되지 않은 메시지는 다음 주기에 반영된다.
+     */
+    @Scheduled(fixedDelayString = "${chat.unread.reconcile-ms:300000}")
+    public void reconcile() {
+        try {
+            Set<String> members = redisStringTemplate.opsForSet().members(USERS_KEY);
+            if (members == null || members.isEmpty()) {
+                return;
+            }
+            List<Long> userIds = members.stream().map(Long::valueOf).toList();
+            for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK) {
+                reconcile(userIds.subList(from, Math.min(from + RECONCILE_CHUNK, userIds.size())));
+            }
+        } catch (RuntimeException e) {
+            log.error("❌ 읽지 않은 메시지 수 보정 실패", e);
+        }
+    }
+
+    private void reconcile(List<Long> userIds) {
+        Map<Long, Integer> dbCounts = new HashMap<>();
+        for (Object[] row : messageRepository.countUnreadGroupByReceiverId(userIds)) {
+            dbCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        List<String> keys = userIds.stream().map(this::key).toList();
+        List<String> cached = redisStringTemplate.opsForValue().multiGet(keys);
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            String current = cached == null ? null : cached.get(i);
+            if (current == null) {
+                // 카운터가 만료된 사용자는 다음 조회 때 다시 채운다.
+                expired.add(String.valueOf(userId));
+                continue;
+            }
+            int actual = dbCounts.getOrDefault(userId, 0);
+            if (Integer.parseInt(current) != actual) {
+                redisStringTemplate.opsForValue().set(key(userId), String.valueOf(actual), TTL);
+                publish(userId, actual);
+                log.info("읽지 않은 메시지 수 보정 - userId={}, {} -> {}", userId, current, actual);
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisStringTemplate.opsForSet().remove(USERS_KEY, expired.toArray());
+        }
+    }
+
+    /**
+     * 다른 서버(또는 이 서버)에서 발행한 카운터 변경을 이 서버에 구독 중인 사용자에게 전달
+     * - 메시지 형식 : "{사용자 ID}:{읽지 않은 메시지 수}"
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf(':');
+            Long userId = Long.valueOf(body.substring(0, separator));
+            if (!chatSubscriptionRegistry.hasLocalSubscriber(userId)) {
+                return;
+            }
+            int count = Integer.parseInt(body.substring(separator + 1));
+            chatDeliveryService.deliver(Map.of("type", "UNREAD_COUNT", "unreadCount", count),
+                    ChatSubscriptionRegistry.CHAT_TOPIC_PREFIX + userId + "/unread");
+        } catch (RuntimeException e) {
+            log.error("❌ 읽지 않은 메시지 수 전달 실패", e);
+        }
+    }
+
+    private void add(Long userId, int delta) {
+        try {
+            Long value = redisStringTemplate.execute(ADD_SCRIPT, List.of(key(userId)),
+                    String.valueOf(delta), String.valueOf(TTL.toSeconds()));
+            int count = value == null || value < 0 ? get(userId) : value.intValue();
+            publish(userId, count);
+        } catch (RuntimeException e) {
+            // 카운터 반영 실패는 주기 보정으로 맞춘다.
+            log.warn("⚠️ 읽지 않은 메시지 수 반영 실패 - userId={}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void publish(Long userId, int count) {
+        redisStringTemplate.convertAndSend(CHANNEL, userId + ":" + count);
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.javalab.student.service.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 자주 요청되는 썸네일 메모리 캐시(LRU)
+ * - 전체 크기(바이트) 기준으로 제한하고, 가득 차면 가장 오래 사용하지 않은 항목부터 제거한다.
+ *   (image.serving.cache-bytes 전체 크기, image.serving.cache-max-entry-bytes 항목당 최대 크기)
+ * - 파일 수정시간이 다르면(교체된 파일) 캐시를 쓰지 않고 제거한다.
+ */
+@Component
+public class ImageMemoryCache {
+
+    /**
+     * 캐시 통계
+     * @param entries 항목 수
+     * @param bytes 사용 중인 크기
+     * @param maxBytes 최대 크기
+     * @param hits 누적 적중 수
+     * @param misses 누적 미적중 수
+     */
+    public record CacheStats(int entries, long bytes, long maxBytes, long hits, long misses) {
+    }
+
+    private record CachedImage(byte[] data, long lastModified) {
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    // 접근 순서 LinkedHashMap : 조회한 항목이 뒤로 이동, 앞에서부터 제거
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ImageMemoryCache(@Value("${image.serving.cache-bytes:33554432}") long maxBytes,
+                            @Value("${image.serving.cache-max-entry-bytes:262144}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    /**
+     * 캐시 조회, 없거나 수정시간이 다르면 null
+     */
+    public synchronized byte[] get(String key, long lastModified) {
+        CachedImage cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.lastModified() != lastModified) {
+            remove(key);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.data();
+    }
+
+    /**
+     * 캐시 저장(항목당 최대 크기를 넘으면 저장하지 않는다)
+     */
+    public synchronized void put(String key, byte[] data, long lastModified) {
+        if (data.length > maxEntryBytes) {
+            return;
+        }
+        remove(key);
+        Iterator<Map.Entry<String, CachedImage>> eldest = entries.entrySet().iterator();
+        while (currentBytes + data.length > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().data().length;
+            eldest.remove();
+        }
+        entries.put(key, new CachedImage(data, lastModified));
+        currentBytes += data.length;
+    }
+
+    public synchronized void remove(String key) {
+        CachedImage removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.data().length;
+        }
+    }
+
+    public boolean accepts(long size) {
+        return size <= maxEntryBytes;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(entries.size(), currentBytes, maxBytes, hits.sum(), misses.sum());
+    }
+}
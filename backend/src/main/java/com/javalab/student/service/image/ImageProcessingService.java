@@ -0,0 +1,217 @@
+package com.javalab.student.service.image;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 이미지 파생본 생성 서비스
+ * - 업로드 요청은 원본만 저장하고 바로 응답하며, 파생본은 크기가 제한된 작업 스레드 풀에서 만든다.
+ *   (image.pipeline.workers 개 스레드, 대기열 image.pipeline.queue-size, 가득 차면 생성하지 않고 원본을 그대로 쓴다)
+ * - 파생본 : 썸네일(thumb_, 300x300), 중간 크기(medium_, 1024x1024), WebP(webp_, 중간 크기, ImageIO WebP writer가 있을 때만)
+ *   원본과 같은 폴더에 접두사를 붙인 이름으로 저장한다.
+ * - 트랜잭션 안에서 요청하면 커밋 후에 작업을 등록한다.(롤백되면 만들지 않고, 완료 콜백에서 갱신할 행이 보이도록)
+ * - 대기열 크기, 처리 건수, 평균/최대 처리시간은 stats()로 조회한다.
+ */
+@Service
+@Slf4j
+public class ImageProcessingService {
+
+    public static final String THUMBNAIL_PREFIX = "thumb_";
+    public static final String MEDIUM_PREFIX = "medium_";
+    public static final String WEBP_PREFIX = "webp_";
+    private static final int THUMBNAIL_SIZE = 300;
+    private static final int MEDIUM_SIZE = 1024;
+
+    /**
+     * 생성된 파생본 경로
+     * @param webp WebP writer가 없으면 null
+     */
+    public record ImageDerivatives(Path original, Path thumbnail, Path medium, Path webp) {
+    }
+
+    /**
+     * 처리 통계
+     * @param queueDepth 대기 중인 작업 수
+     * @param active 처리 중인 작업 수
+     * @param completed 누적 완료 수
+     * @param failed 누적 실패 수(이미지가 아니거나 읽을 수 없는 파일 등)
+     * @param rejected 대기열이 가득 차서 생성하지 않은 수
+     * @param avgProcessingMs 평균 처리시간(파생본 전체)
+     * @param maxProcessingMs 최대 처리시간
+     */
+    public record ImageStats(int queueDepth, int active, long completed, long failed, long rejected,
+                             double avgProcessingMs, double maxProcessingMs) {
+    }
+
+    private final ThreadPoolExecutor workers;
+    private final boolean webpSupported;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    public ImageProcessingService(@Value("${image.pipeline.workers:2}") int workerCount,
+                                  @Value("${image.pipeline.queue-size:200}") int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+        if (!webpSupported) {
+            log.info("ImageIO WebP writer가 없어 WebP 파생본은 만들지 않습니다.");
+        }
+    }
+
+    /**
+     * 파생본 생성 요청(바로 반환)
+     * @param original 저장된 원본 파일
+     * @param onComplete 생성 완료 후 작업 스레드에서 호출(예: 게시글 썸네일 URL 갱신), 없으면 null
+     */
+    public void process(Path original, Consumer<ImageDerivatives> onComplete) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(original, onComplete);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(original, onComplete);
+            }
+        });
+    }
+
+    /**
+     * 원본의 파생본 삭제(원본 삭제/교체 시)
+     */
+    public void deleteDerivatives(Path original) {
+        if (original == null) {
+            return;
+        }
+        for (Path derivative : new Path[]{thumbnailPath(original), mediumPath(original), webpPath(original)}) {
+            try {
+                Files.deleteIfExists(derivative);
+            } catch (IOException e) {
+                log.warn("파생본 삭제 실패 - {}: {}", derivative, e.getMessage());
+            }
+        }
+    }
+
+    public ImageStats stats() {
+        long count = completed.sum();
+        double avg = count == 0 ? 0 : processingNanos.sum() / (double) count / 1_000_000.0;
+        return new ImageStats(workers.getQueue().size(), active.get(), count, failed.sum(), rejected.sum(),
+                avg, maxProcessingNanos.get() / 1_000_000.0);
+    }
+
+    public static String thumbnailName(String fileName) {
+        return THUMBNAIL_PREFIX + fileName;
+    }
+
+    public static String mediumName(String fileName) {
+        return MEDIUM_PREFIX + fileName;
+    }
+
+    public static String webpName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return WEBP_PREFIX + (dot > 0 ? fileName.substring(0, dot) : fileName) + ".webp";
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void submit(Path original, Consumer<ImageDerivatives> onComplete) {
+        try {
+            workers.execute(() -> run(original, onComplete));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("⚠️ 이미지 작업 대기열이 가득 차 파생본을 만들지 않습니다 - {}", original.getFileName());
+        }
+    }
+
+    private void run(Path original, Consumer<ImageDerivatives> onComplete) {
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            ImageDerivatives derivatives = createDerivatives(original);
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            processingNanos.add(elapsed);
+            maxProcessingNanos.accumulateAndGet(elapsed, Math::max);
+            if (onComplete != null) {
+                onComplete.accept(derivatives);
+            }
+        } catch (Exception e) {
+            failed.increment();
+            log.error("이미지 파생본 생성 실패 - {}: {}", original.getFileName(), e.getMessage());
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    /**
+     * 원본을 한 번만 디코딩하여 모든 파생본을 만든다.(큰 크기 -> 작은 크기 순)
+     * - 같은 내용의 파일(해시 이름)이 다시 올라와 파생본이 이미 있으면 디코딩하지 않는다.
+     */
+    ImageDerivatives createDerivatives(Path original) throws IOException {
+        Path existingWebp = webpSupported ? webpPath(original) : null;
+        if (Files.exists(thumbnailPath(original)) && Files.exists(mediumPath(original))
+                && (existingWebp == null || Files.exists(existingWebp))) {
+            return new ImageDerivatives(original, thumbnailPath(original), mediumPath(original), existingWebp);
+        }
+        var source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("이미지 파일이 아닙니다.");
+        }
+        Path medium = mediumPath(original);
+        Thumbnails.of(source).size(MEDIUM_SIZE, MEDIUM_SIZE).toFile(medium.toFile());
+
+        Path webp = null;
+        if (webpSupported) {
+            webp = webpPath(original);
+            Thumbnails.of(source).size(MEDIUM_SIZE, MEDIUM_SIZE).outputFormat("webp").toFile(webp.toFile());
+        }
+
+        Path thumbnail = thumbnailPath(original);
+        Thumbnails.of(source).size(THUMBNAIL_SIZE, THUMBNAIL_SIZE).toFile(thumbnail.toFile());
+        return new ImageDerivatives(original, thumbnail, medium, webp);
+    }
+
+    private static Path thumbnailPath(Path original) {
+        return original.resolveSibling(thumbnailName(original.getFileName().toString()));
+    }
+
+    private static Path mediumPath(Path original) {
+        return original.resolveSibling(mediumName(original.getFileName().toString()));
+    }
+
+    private static Path webpPath(Path original) {
+        return original.resolveSibling(webpName(original.getFileName().toString()));
+    }
+}
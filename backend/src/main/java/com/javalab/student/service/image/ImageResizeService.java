@@ -0,0 +1,269 @@
+package com.javalab.student.service.image;
+
+import com.javalab.student.entity.FileBlob;
+import com.javalab.student.repository.FileBlobRepository;
+import com.javalab.student.service.storage.BlobBackend;
+import lombok.extern.slf4j.Slf4j;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 요청 크기 이미지 생성 서비스 (/img/{hash}?w=&h=&fmt=)
+ * - 처음 요청될 때 원본(해시 이름 파일)에서 만들고, 디스크 캐시(image.resize.cache-dir)에
+ *   "{hash}_w{너비}_h{높이}.{형식}" 이름으로 저장해 다음 요청부터는 바로 보낸다.
+ * - 같은 크기를 동시에 요청하면 한 요청만 만들고 나머지는 그 결과를 기다린다.
+ * - 너비/높이는 허용 목록(image.resize.sizes)만, 동시 생성은 image.resize.max-concurrent 개로 제한한다.
+ *   (임의 크기 요청으로 디스크/CPU를 소모시키는 것 방지)
+ */
+@Service
+@Slf4j
+public class ImageResizeService {
+
+    private static final Pattern HASH = Pattern.compile("^[0-9a-f]{64}$");
+    private static final Set<String> FORMATS = Set.of("jpg", "png", "webp");
+    private static final long WAIT_SECONDS = 10;
+
+    /**
+     * 생성 통계
+     * @param rendered 새로 만든 수
+     * @param diskHits 디스크 캐시에서 보낸 수
+     * @param collapsed 다른 요청의 생성 결과를 기다려 받은 수
+     * @param rejected 동시 생성 한도를 넘어 거절한 수
+     * @param avgRenderMs 평균 생성시간
+     */
+    public record ResizeStats(long rendered, long diskHits, long collapsed, long rejected, double avgRenderMs) {
+    }
+
+    private final FileBlobRepository fileBlobRepository;
+    private final BlobBackend blobBackend;
+    private final Path cacheDirectory;
+    private final Set<Integer> allowedSizes;
+    private final Semaphore renderPermits;
+    private final boolean webpSupported;
+
+    // 생성 중인 파생본(캐시 파일 이름 -> 결과)
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder rendered = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong renderNanos = new AtomicLong();
+
+    public ImageResizeService(FileBlobRepository fileBlobRepository,
+                              BlobBackend blobBackend,
+                              @Value("${image.resize.cache-dir}") String cacheDirectory,
+                              @Value("${image.resize.sizes:64,128,256,300,480,640,800,1024,1280}") Set<Integer> allowedSizes,
+                              @Value("${image.resize.max-concurrent:4}") int maxConcurrent) {
+        this.fileBlobRepository = fileBlobRepository;
+        this.blobBackend = blobBackend;
+        this.cacheDirectory = Paths.get(cacheDirectory);
+        this.allowedSizes = new TreeSet<>(allowedSizes);
+        this.renderPermits = new Semaphore(maxConcurrent);
+        this.webpSupported = ImageIO.getImageWritersByFormatName("webp").hasNext();
+    }
+
+    /**
+     * 요청 크기 파생본 경로(없으면 생성)
+     * @param width 너비(없으면 높이에 맞춤)
+     * @param height 높이(없으면 너비에 맞춤)
+     * @param format jpg, png, webp(없으면 원본 형식, WebP writer가 없으면 jpg)
+     * @return 원본이 없으면 null
+     * @throws IllegalArgumentException 해시 형식이 잘못되었거나 허용하지 않은 크기/형식
+     * @throws IllegalStateException 동시 생성 한도 초과 또는 대기시간 초과
+     */
+    public Path resize(String hash, Integer width, Integer height, String format) throws IOException {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("잘못된 이미지 해시입니다.");
+        }
+        if (width == null && height == null) {
+            throw new IllegalArgumentException("너비(w) 또는 높이(h)가 필요합니다.");
+        }
+        if ((width != null && !allowedSizes.contains(width)) || (height != null && !allowedSizes.contains(height))) {
+            throw new IllegalArgumentException("허용하지 않은 크기입니다. 허용 크기: " + allowedSizes);
+        }
+        String requestedFormat = format == null ? null : format.toLowerCase(Locale.ROOT);
+        if (requestedFormat != null && !FORMATS.contains(requestedFormat)) {
+            throw new IllegalArgumentException("허용하지 않은 형식입니다. 허용 형식: " + FORMATS);
+        }
+
+        // 형식을 지정하지 않았으면 원본 형식이 필요하므로 원본부터 찾는다.
+        FileBlob source = null;
+        if (requestedFormat == null) {
+            source = findSource(hash);
+            if (source == null) {
+                return null;
+            }
+            requestedFormat = outputFormat(source.getName());
+        }
+        String outputFormat = "webp".equals(requestedFormat) && !webpSupported ? "jpg" : requestedFormat;
+        String cacheName = cacheName(hash, width, height, outputFormat);
+        Path cached = cachePath(hash, cacheName);
+        if (Files.exists(cached)) {
+            diskHits.increment();
+            return cached;
+        }
+
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(cacheName, mine);
+        if (running != null) {
+            collapsed.increment();
+            return await(running);
+        }
+        try {
+            // 앞선 생성이 방금 끝났을 수 있으므로 다시 확인
+            if (Files.exists(cached)) {
+                diskHits.increment();
+                mine.complete(cached);
+                return cached;
+            }
+            if (source == null) {
+                source = findSource(hash);
+            }
+            Path result = source == null ? null : render(source, cached, width, height, outputFormat);
+            mine.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheName, mine);
+        }
+    }
+
+    /**
+     * 원본의 요청 크기 파생본 전체 삭제(원본 삭제 시)
+     */
+    public void deleteDerivatives(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return;
+        }
+        Path directory = cacheDirectory.resolve(hash.substring(0, 2));
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> derivatives = Files.newDirectoryStream(directory, hash + "_*")) {
+            for (Path derivative : derivatives) {
+                Files.deleteIfExists(derivative);
+            }
+        } catch (IOException e) {
+            log.warn("요청 크기 파생본 삭제 실패 - {}: {}", hash, e.getMessage());
+        }
+    }
+
+    public ResizeStats stats() {
+        long count = rendered.sum();
+        double avg = count == 0 ? 0 : renderNanos.get() / (double) count / 1_000_000.0;
+        return new ResizeStats(count, diskHits.sum(), collapsed.sum(), rejected.sum(), avg);
+    }
+
+    static String cacheName(String hash, Integer width, Integer height, String format) {
+        return hash + "_w" + (width == null ? 0 : width) + "_h" + (height == null ? 0 : height) + "." + format;
+    }
+
+    private Path render(FileBlob source, Path target, Integer width, Integer height, String format) throws IOException {
+        Path original = blobBackend.localPath(source.getBucket(), source.getName());
+        if (original == null || !Files.exists(original)) {
+            return null;
+        }
+        try {
+            if (!renderPermits.tryAcquire(WAIT_SECONDS, TimeUnit.SECONDS)) {
+                rejected.increment();
+                throw new IllegalStateException("이미지 생성 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이미지 생성이 중단되었습니다.", e);
+        }
+        long start = System.nanoTime();
+        try {
+            BufferedImage image = ImageIO.read(original.toFile());
+            if (image == null) {
+                throw new IOException("이미지 파일이 아닙니다.");
+            }
+            // 작은 원본은 늘리지 않는다.
+            int targetWidth = Math.min(width == null ? Integer.MAX_VALUE : width, image.getWidth());
+            int targetHeight = Math.min(height == null ? Integer.MAX_VALUE : height, image.getHeight());
+
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(".resize-" + UUID.randomUUID() + "." + format);
+            try {
+                Thumbnails.Builder<BufferedImage> builder = Thumbnails.of(image)
+                        .size(targetWidth, targetHeight)
+                        .outputFormat(format);
+                if ("jpg".equals(format)) {
+                    builder.imageType(BufferedImage.TYPE_INT_RGB); // JPEG는 투명도 없음
+                }
+                builder.toFile(temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            rendered.increment();
+            renderNanos.addAndGet(System.nanoTime() - start);
+            return target;
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private Path await(CompletableFuture<Path> running) throws IOException {
+        try {
+            return running.get(WAIT_SECONDS * 2, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("이미지 생성 대기시간을 초과했습니다.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("이미지 생성 대기가 중단되었습니다.", e);
+        }
+    }
+
+    private FileBlob findSource(String hash) {
+        return fileBlobRepository.findFirstByNameStartingWith(hash + ".").orElse(null);
+    }
+
+    private Path cachePath(String hash, String cacheName) {
+        // 한 폴더에 파일이 몰리지 않도록 해시 앞 두 글자로 나눈다.
+        return cacheDirectory.resolve(hash.substring(0, 2)).resolve(cacheName);
+    }
+
+    private static String outputFormat(String sourceName) {
+        String extension = sourceName.substring(sourceName.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "png", "gif" -> "png";
+            case "webp" -> "webp";
+            default -> "jpg";
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.javalab.student.service.image;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.service.storage.FileStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 이미지 전송 서비스
+ * - 파일은 Tomcat sendfile(커널에서 바로 전송)로 보내고, 지원하지 않으면 FileChannel.transferTo로 보낸다.
+ * - 해시 이름 파일(SHA-256, 파생본 포함)은 내용이 바뀌지 않으므로 해시를 강한 ETag로 쓰고 1년 캐시(immutable)한다.
+ *   상품/펫/게시글 이미지와 /img/** 모두 로그인 없이 볼 수 있으므로(SecurityConfig) 공유 캐시(public)를 허용한다.
+ *   예전 이름 파일은 크기/수정시간으로 ETag를 만들고 매번 재검증(no-cache)한다.
+ * - If-None-Match / If-Modified-Since가 맞으면 본문 없이 304, Range(단일 구간)는 206으로 응답한다.
+ *   여러 구간 요청은 전체 파일(200)로 응답한다.
+ * - 썸네일(thumb_)과 요청 크기 파생본(/img/{hash})은 메모리 LRU 캐시(ImageMemoryCache)에서 보낸다.
+ */
+@Service
+@Slf4j
+public class ImageServingService {
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // (파생본 접두사) + SHA-256 + (요청 크기 파생본 "_w{너비}_h{높이}") + 확장자
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile(
+            "^(?:" + ImageProcessingService.THUMBNAIL_PREFIX + "|" + ImageProcessingService.MEDIUM_PREFIX + "|"
+                    + ImageProcessingService.WEBP_PREFIX + ")?[0-9a-f]{64}(?:_w\\d+_h\\d+)?\\.[0-9a-z]+$");
+    // 요청 크기 파생본(ImageResizeService)
+    private static final Pattern RESIZED = Pattern.compile("^[0-9a-f]{64}_w\\d+_h\\d+\\.[0-9a-z]+$");
+
+    /**
+     * 전송 통계
+     * @param served 본문을 보낸 응답 수(200, 206)
+     * @param notModified 304 응답 수
+     * @param partial 206 응답 수
+     * @param sendfile sendfile로 보낸 응답 수
+     * @param memoryCache 썸네일 메모리 캐시 통계
+     */
+    public record ServingStats(long served, long notModified, long partial, long sendfile,
+                               ImageMemoryCache.CacheStats memoryCache) {
+    }
+
+    private final FileStorageService fileStorageService;
+    private final ImageMemoryCache imageMemoryCache;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder sendfile = new LongAdder();
+
+    public ImageServingService(FileStorageService fileStorageService, ImageMemoryCache imageMemoryCache) {
+        this.fileStorageService = fileStorageService;
+        this.imageMemoryCache = imageMemoryCache;
+    }
+
+    /**
+     * 버킷의 업로드 이미지 전송
+     */
+    public void serve(StorageBucket bucket, String name, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Path file;
+        try {
+            file = fileStorageService.localPath(bucket, name);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serveFile(file, bucket + "/" + name, request, response);
+    }
+
+    /**
+     * 파일 전송
+     * @param cacheKey 메모리 캐시 키
+     */
+    public void serveFile(Path file, String cacheKey, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            imageMemoryCache.remove(cacheKey);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String fileName = file.getFileName().toString();
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        boolean immutable = CONTENT_ADDRESSED.matcher(fileName).matches();
+        String etag = immutable
+                ? "\"" + fileName.substring(0, fileName.lastIndexOf('.')) + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(immutable));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // ETag/Last-Modified 헤더 설정, 조건이 맞으면 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            notModified.increment();
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of(); // 형식이 잘못된 Range는 무시
+            }
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                partial.increment();
+            }
+        }
+        long count = end - start + 1;
+
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+        served.increment();
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        // 썸네일/요청 크기 파생본 전체 요청은 메모리 캐시에서 전송
+        boolean hot = fileName.startsWith(ImageProcessingService.THUMBNAIL_PREFIX) || RESIZED.matcher(fileName).matches();
+        if (count == length && hot && imageMemoryCache.accepts(length)) {
+            byte[] data = imageMemoryCache.get(cacheKey, lastModified);
+            if (data == null) {
+                data = Files.readAllBytes(file);
+                if (data.length == length) {
+                    imageMemoryCache.put(cacheKey, data, lastModified);
+                }
+            }
+            response.getOutputStream().write(data, 0, (int) Math.min(data.length, count));
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 Tomcat이 커널 sendfile로 전송한다.(end는 포함하지 않는 위치)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfile.increment();
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    break; // 전송 도중 파일이 줄어든 경우
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    public ServingStats stats() {
+        return new ServingStats(served.sum(), notModified.sum(), partial.sum(), sendfile.sum(),
+                imageMemoryCache.stats());
+    }
+
+    private static String cacheControl(boolean immutable) {
+        CacheControl cacheControl = immutable
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).immutable()
+                : CacheControl.noCache();
+        return cacheControl.cachePublic().getHeaderValue();
+    }
+
+    /**
+     * If-Range : 캐시된 사본이 현재 파일과 같을 때만 Range를 적용한다.(다르면 전체 전송)
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.dto.shop.CartDetailDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 저장소
+ * - 회원별 장바구니 상품(장바구니 상품 ID, 상품, 수량)을 저장하고 조회한다.
+ * - 구현체는 shop.cart.mode 설정으로 선택한다.
+ *   - db (기본값) : DbCartStore, cart / cart_item 테이블에 바로 저장
+ *   - redis : RedisCartStore, 회원별 Redis 해시에 저장하고 cart / cart_item 테이블에는 나중에(write-behind) 반영
+ * - redis 모드에서는 장바구니 상품 ID가 상품 ID와 같다.(회원의 장바구니 안에서 상품은 한 줄만 존재)
+ */
+public interface CartStore {
+
+    /**
+     * 장바구니에 상품 추가(이미 담긴 상품이면 수량 증가)
+     * @param email 회원 이메일
+     * @param itemId 상품 ID
+     * @param count 추가 수량
+     * @return 장바구니 상품 ID
+     */
+    Long addItem(String email, Long itemId, int count);
+
+    /**
+     * 장바구니 목록 조회
+     * @param email 회원 이메일
+     */
+    List<CartDetailDto> getCartList(String email);
+
+    /**
+     * 장바구니 상품이 회원의 장바구니에 들어있는지 확인
+     * @param email 회원 이메일
+     * @param cartItemId 장바구니 상품 ID
+     */
+    boolean contains(String email, Long cartItemId);
+
+    /**
+     * 장바구니 상품 수량 수정
+     * @param email 회원 이메일
+     * @param cartItemId 장바구니 상품 ID
+     * @param count 수정할 수량
+     */
+    void updateCount(String email, Long cartItemId, int count);
+
+    /**
+     * 장바구니 상품 삭제
+     * @param email 회원 이메일
+     * @param cartItemIds 장바구니 상품 ID 목록
+     */
+    void remove(String email, Collection<Long> cartItemIds);
+
+    /**
+     * 장바구니 상품 ID -> 상품 ID 조회
+     * - 존재하지 않는 장바구니 상품 ID는 결과에 포함되지 않는다. 소유자 확인은 contains()로 한다.
+     * @param email 회원 이메일
+     * @param cartItemIds 장바구니 상품 ID 목록
+     */
+    Map<Long, Long> findItemIds(String email, Collection<Long> cartItemIds);
+
+    /**
+     * 장바구니 내용을 cart / cart_item 테이블에 반영
+     * - 주문시 호출한다. DB에 바로 저장하는 구현체는 할 일이 없다.
+     * @param email 회원 이메일
+     */
+    default void flush(String email) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.dto.shop.CartDetailDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Cart;
+import com.javalab.student.entity.shop.CartItem;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.CartItemRepository;
+import com.javalab.student.repository.shop.CartRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.security.CurrentMember;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB 장바구니 저장소 (기본)
+ * - 장바구니 변경을 cart / cart_item 테이블에 바로 저장한다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "shop.cart.mode", havingValue = "db", matchIfMissing = true)
+public class DbCartStore implements CartStore {
+
+    private final ItemRepository itemRepository;
+    private final MemberRepository memberRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final CurrentMember currentMember;
+
+    @Override
+    public Long addItem(String email, Long itemId, int count) {
+        // 1. 장바구니에 담을 상품 조회(상품이 영속 영역에 저장)
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(EntityNotFoundException::new);
+        // 2. 로그인 한 회원 ID 조회(요청 단위 캐시)
+        Long memberId = requireMemberId(email);
+
+        // 3. 회원의 장바구니가 이미 만들어져 있는지 조회
+        Cart cart = cartRepository.findByMemberId(memberId);
+
+        // 4. 장바구니가 없다면 새로 생성(최초로 장바구니 생성 회원)
+        if (cart == null) {
+            cart = Cart.createCart(memberRepository.getReferenceById(memberId));
+            cartRepository.save(cart);
+        }
+
+        // 5. 장바구니에 상품이 이미 담겨있는지 조회
+        CartItem savedCartItem = cartItemRepository.findByCartIdAndItemId(cart.getId(), item.getId());
+
+        // 6. 장바구니에 상품이 이미 담겨있다면 수량만 추가
+        if (savedCartItem != null) {
+            savedCartItem.addCount(count);
+            return savedCartItem.getId();
+        }
+
+        // 7. 장바구니에 상품이 없다면 새로 장바구니 아이템 생성
+        CartItem cartItem = CartItem.createCartItem(cart, item, count);
+        cartItemRepository.save(cartItem);
+        return cartItem.getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CartDetailDto> getCartList(String email) {
+        // 1. 현재 로그인한 회원의 장바구니가 있는지 조회
+        Cart cart = cartRepository.findByMemberId(requireMemberId(email));
+        // 2. 장바구니가 없다면 빈 리스트 반환
+        if (cart == null) {
+            return new ArrayList<>();
+        }
+        // 3. 장바구니에 담긴 상품 목록 조회
+        return cartItemRepository.findCartDetailDtoList(cart.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean contains(String email, Long cartItemId) {
+        CartItem cartItem = cartItemRepository.findById(cartItemId)
+                .orElseThrow(EntityNotFoundException::new);
+        // 장바구니 소유자와 로그인 회원의 ID 비교(회원 엔티티를 로딩하지 않는다)
+        Member savedMember = cartItem.getCart().getMember();
+        Long memberId = currentMember.getId(email);
+        return memberId != null && memberId.equals(savedMember.getId());
+    }
+
+    @Override
+    public void updateCount(String email, Long cartItemId, int count) {
+        CartItem cartItem = cartItemRepository.findById(cartItemId)
+                .orElseThrow(EntityNotFoundException::new);
+        cartItem.updateCount(count);
+    }
+
+    @Override
+    public void remove(String email, Collection<Long> cartItemIds) {
+        cartItemRepository.deleteAllById(cartItemIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> findItemIds(String email, Collection<Long> cartItemIds) {
+        Map<Long, Long> itemIds = new HashMap<>();
+        for (CartItem cartItem : cartItemRepository.findAllWithItemByIdIn(cartItemIds)) {
+            itemIds.put(cartItem.getId(), cartItem.getItem().getId());
+        }
+        return itemIds;
+    }
+
+    private Long requireMemberId(String email) {
+        Long memberId = currentMember.getId(email);
+        if (memberId == null) {
+            throw new EntityNotFoundException("존재하지 않는 회원입니다.");
+        }
+        return memberId;
+    }
+}
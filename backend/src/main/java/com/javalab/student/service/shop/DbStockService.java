@@ -0,0 +1,47 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.repository.shop.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * DB 재고 예약 서비스 (기본)
+ * - UPDATE item SET stock_number = stock_number - ? WHERE item_id = ? AND stock_number >= ?
+ * - 엔티티를 읽고 쓰는(read-modify-write) 방식과 달리 DB 행 잠금 안에서 비교와 차감이 함께 일어나므로
+ *   동시 주문에도 재고가 음수가 되지 않는다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Log4j2
+@ConditionalOnProperty(name = "shop.stock.mode", havingValue = "db", matchIfMissing = true)
+public class DbStockService implements StockService {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public void reserve(Long itemId, int count) {
+        if (itemRepository.decreaseStock(itemId, count) == 0) {
+            Integer stockNumber = itemRepository.findStockNumberById(itemId);
+            if (stockNumber == null) {
+                throw new EntityNotFoundException("존재하지 않는 상품입니다.");
+            }
+            throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: " + stockNumber + ")");
+        }
+    }
+
+    @Override
+    public void release(Long itemId, int count) {
+        itemRepository.increaseStock(itemId, count);
+    }
+
+    @Override
+    public void resetStock(Long itemId, int stockNumber) {
+        // DB 재고가 곧 예약용 재고이므로 할 일이 없다.
+    }
+}
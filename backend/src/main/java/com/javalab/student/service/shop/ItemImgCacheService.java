@@ -0,0 +1,180 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.repository.shop.ItemImgRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대표 이미지 경로 캐시 서비스 (itemId -> 대표 이미지 URL)
+ * - 주문 목록, 주문 상세, 장바구니, 상품 목록에서 공통으로 사용하는 read-through 캐시
+ * - Redis에 "ITEM_REPIMG:{itemId}" 키로 이미지 경로를 저장한다.
+ * - 캐시에 없는 상품은 DB에서 IN 쿼리 한 번으로 조회 후 캐시에 저장한다.
+ * - 대표 이미지가 없는 상품은 빈 문자열로 저장하여 매번 DB를 조회하지 않도록 한다.
+ * - 이미지 등록/수정 시 ItemImgService에서 evict()를 호출하여 무효화한다.
+ */
+@Service
+@Log4j2
+public class ItemImgCacheService {
+
+    private static final String KEY_PREFIX = "ITEM_REPIMG:";
+    private static final Duration TTL = Duration.ofHours(6);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final ItemImgRepository itemImgRepository;
+
+    // 캐시 적중/미스 카운터
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public ItemImgCacheService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                               ItemImgRepository itemImgRepository) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.itemImgRepository = itemImgRepository;
+    }
+
+    /**
+     * 상품 하나의 대표 이미지 경로 조회
+     * @param itemId 상품 ID
+     * @return 대표 이미지 경로, 대표 이미지가 없으면 null
+     */
+    public String get(Long itemId) {
+        return getAll(List.of(itemId)).get(itemId);
+    }
+
+    /**
+     * 여러 상품의 대표 이미지 경로 일괄 조회
+     * - Redis MGET 한 번 + (캐시 미스가 있으면) DB IN 쿼리 한 번으로 처리한다.
+     * @param itemIds 상품 ID 목록
+     * @return 상품 ID -> 대표 이미지 경로, 대표 이미지가 없는 상품은 포함되지 않는다.
+     */
+    public Map<Long, String> getAll(Collection<Long> itemIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (itemIds == null || itemIds.isEmpty()) {
+            return result;
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(itemIds));
+        List<Long> missedIds = new ArrayList<>();
+
+        // 1. Redis에서 일괄 조회
+        List<String> cached = null;
+        try {
+            cached = redisStringTemplate.opsForValue().multiGet(ids.stream().map(this::key).toList());
+        } catch (Exception e) {
+            log.warn("대표 이미지 캐시 조회 실패, DB에서 조회합니다: {}", e.getMessage());
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            String url = (cached != null) ? cached.get(i) : null;
+            if (url == null) {
+                missedIds.add(ids.get(i));
+            } else if (!url.isEmpty()) {
+                result.put(ids.get(i), url);
+            }
+        }
+        hitCount.addAndGet(ids.size() - missedIds.size());
+        missCount.addAndGet(missedIds.size());
+
+        if (missedIds.isEmpty()) {
+            return result;
+        }
+
+        // 2. 캐시 미스 상품은 DB에서 일괄 조회
+        Map<Long, String> loaded = new HashMap<>();
+        for (Object[] row : itemImgRepository.findRepImgUrlsByItemIds(missedIds)) {
+            loaded.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+        result.putAll(loaded);
+
+        // 3. 조회 결과를 캐시에 저장 (대표 이미지가 없는 상품은 빈 문자열)
+        Map<Long, String> toCache = new HashMap<>();
+        for (Long itemId : missedIds) {
+            String url = loaded.get(itemId);
+            toCache.put(itemId, url != null ? url : "");
+        }
+        put(toCache);
+
+        return result;
+    }
+
+    /**
+     * 대표 이미지 캐시 무효화
+     * - 트랜잭션이 진행중이면 커밋 이후에 삭제하여, 커밋 전 다른 요청이 이전 값을 다시 캐싱하지 않도록 한다.
+     * @param itemId 상품 ID
+     */
+    public void evict(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(itemId);
+                }
+            });
+        } else {
+            delete(itemId);
+        }
+    }
+
+    /**
+     * 캐시 적중/미스 통계
+     */
+    public Map<String, Long> getStats() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("requestCount", hits + misses);
+        return stats;
+    }
+
+    private void delete(Long itemId) {
+        try {
+            redisStringTemplate.delete(key(itemId));
+        } catch (Exception e) {
+            log.warn("대표 이미지 캐시 삭제 실패 [{}]: {}", itemId, e.getMessage());
+        }
+    }
+
+    /**
+     * 파이프라인으로 여러 키를 TTL과 함께 한 번에 저장
+     */
+    private void put(Map<Long, String> values) {
+        try {
+            redisStringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                values.forEach((itemId, url) -> connection.stringCommands().set(
+                        key(itemId).getBytes(StandardCharsets.UTF_8),
+                        url.getBytes(StandardCharsets.UTF_8),
+                        Expiration.from(TTL),
+                        RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("대표 이미지 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private String key(Long itemId) {
+        return KEY_PREFIX + itemId;
+    }
+}
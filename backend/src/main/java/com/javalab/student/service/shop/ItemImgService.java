@@ -1,11 +1,13 @@
 package com.javalab.student.service.shop;
 
+import com.javalab.student.constant.StorageBucket;
 import com.javalab.student.entity.shop.ItemImg;
 import com.javalab.student.repository.shop.ItemImgRepository;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.storage.FileStorageService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.thymeleaf.util.StringUtils;
@@ -18,11 +20,10 @@ import org.thymeleaf.util.StringUtils;
 @RequiredArgsConstructor
 public class ItemImgService {
 
-    @Value("${itemImgLocation}")
-    private String itemImgLocation;
-
     private final ItemImgRepository itemImgRepository;
-    private final FileService fileService;
+    private final FileStorageService fileStorageService;
+    private final ItemImgCacheService itemImgCacheService;
+    private final ImageProcessingService imageProcessingService;
 
     /**
      * 상품 이미지 저장
@@ -37,17 +38,21 @@ public class ItemImgService {
 
         //파일 업로드(StringUtils : Thymeleaf의 유틸리티 클래스)
         if(!StringUtils.isEmpty(oriImgName)){
-            // FileService의 uploadFile 메소드를 호출하여 파일 업로드
-            // itemImgLocation : 업로드할 파일 경로
-            // oriImgName : 원본 파일명
-            // itemImgFile.getBytes() : 파일 데이터
-            imgName = fileService.uploadFile(itemImgLocation, oriImgName, itemImgFile.getBytes());
+            // FileStorageService의 store 메소드를 호출하여 파일 업로드
+            // ITEM : 상품 이미지 저장소(itemImgLocation)
+            // 파일 이름은 내용의 SHA-256, 같은 이미지는 한 번만 저장
+            imgName = fileStorageService.store(StorageBucket.ITEM, itemImgFile).name();
             imgUrl = "/images/item/" + imgName;
+            // 썸네일/중간 크기/WebP 파생본은 커밋 후 이미지 작업 스레드에서 생성
+            imageProcessingService.process(fileStorageService.localPath(StorageBucket.ITEM, imgName), null);
         }
 
         //상품 이미지 정보 저장
         iTemImg.updateItemImg(oriImgName, imgName, imgUrl);
         itemImgRepository.save(iTemImg);
+
+        // 대표 이미지 캐시 무효화
+        itemImgCacheService.evict(iTemImg.getItem().getId());
     }
 
     /**
@@ -62,8 +67,8 @@ public class ItemImgService {
 
         // 2. 화면에서 받아온 파일이 존재할 경우 기존 파일 삭제
         if(!itemImgFile.isEmpty()) {
-            // 2.1. 기존 파일 삭제, 여기서 기존이란? - 기존 이미지 파일을 삭제
-            fileService.deleteFile(itemImgLocation + "/" + itemImg.getImgName());
+            // 2.1. 기존 파일 참조 해제, 다른 상품이 같은 이미지를 쓰지 않으면 커밋 후 파일과 파생본 삭제
+            fileStorageService.release(StorageBucket.ITEM, itemImg.getImgName());
         }
         // 3. 화면에서 받아온 파일이 존재할 경우 새로운 파일 업로드하기 위해서 필요한 변수 선언
         String oriImgName = itemImgFile.getOriginalFilename(); // 화면에서 받아온 파일명
@@ -73,15 +78,20 @@ public class ItemImgService {
         // 4. 파일 업로드(화면에서 받아온 파일이 존재할 경우)
         if(!StringUtils.isEmpty(oriImgName)){
             // 4.1. 파일 업로드
-            imgName = fileService.uploadFile(itemImgLocation, oriImgName, itemImgFile.getBytes());
+            imgName = fileStorageService.store(StorageBucket.ITEM, itemImgFile).name();
             // 4.2. 이미지 URL, 이미지 URL은 상대경로로 저장, 이렇게 저장한 값이 DB에 저장됨
             imgUrl = "/images/item/" + imgName;
+            // 4.3. 파생본 생성 요청(커밋 후 이미지 작업 스레드에서 생성)
+            imageProcessingService.process(fileStorageService.localPath(StorageBucket.ITEM, imgName), null);
         }
 
         // 5. 상품 이미지 정보 수정, 이렇게 수정하면 JPA가 변경감지하여 수정된 내용을 DB에 반영
         // updateItemImg() 메서드는 ItemImg 엔티티의 메서드로 영속화 되어 있는 ItemImg 엔티티의 정보를 수정하게 되고
         // JPA가 변경감지하여 수정된 내용을 DB에 반영.
         itemImg.updateItemImg(oriImgName, imgName, imgUrl);
+
+        // 6. 대표 이미지 캐시 무효화
+        itemImgCacheService.evict(itemImg.getItem().getId());
     }
 
 }
@@ -35,6 +35,8 @@ public class ItemService {
     private final ItemImgRepository itemImgRepository;
     private final ItemSubstanceRepository itemSubstanceRepository;
     private final SubstanceRepository substanceRepository;
+    private final ItemSummaryCacheService itemSummaryCacheService;
+    private final StockService stockService;
 
     // 상품 등록
     @Transactional
@@ -176,6 +178,10 @@ itemFormDto.setSubstanceIds(substanceIds);
 
         // 2. 영속화된 상품 정보 수정 (변경 감지)
         item.updateItem(itemFormDto);
+        // 2.1. 상품 요약 캐시(상품명, 가격) 무효화
+        itemSummaryCacheService.evict(item.getId());
+        // 2.2. 수정한 재고를 예약용 재고(redis 모드 카운터)에 커밋 후 반영
+        stockService.resetStock(item.getId(), item.getStockNumber());
 
         // 3. 기존 상품 이미지 리스트 조회 (DB에서 가져옴)
         List<ItemImg> itemImgList = itemImgRepository.findByItemId(item.getId());
@@ -218,49 +224,13 @@ itemFormDto.setSubstanceIds(substanceIds);
     /**
      * 판매중인 상품 리스트
      * 대표 이미지만 반환
+     * - 상품, 대표 이미지, 알러지 성분을 각각 한 번의 쿼리로 조회한다.(ItemRepositoryCustomImpl)
      * @param itemSellStatus
      * @return
      */
     @Transactional(readOnly = true)
     public List<ItemFormDto> getItemListByItemSellStatus(ItemSellStatus itemSellStatus) {
-        // 1. 판매 상태에 따라 상품 목록 조회
-        List<Item> itemList = itemRepository.findByItemSellStatus(itemSellStatus);
-
-        // 2. 조회된 상품 목록을 ItemFormDto 리스트로 변환
-        List<ItemFormDto> itemFormDtoList = new ArrayList<>();
-
-        for (Item item : itemList) {
-            // 3. 해당 상품의 대표 이미지 조회 (repimgYn = 'Y'인 이미지만 가져오기)
-            ItemImg repItemImg = itemImgRepository.findByItemIdAndRepimgYn(item.getId(), "Y");
-
-            // 4. 대표 이미지가 있을 경우, ItemImgDto로 변환
-            ItemImgDto repItemImgDto = null;
-            if (repItemImg != null) {
-                repItemImgDto = ItemImgDto.entityToDto(repItemImg); // 대표 이미지 DTO 변환
-            }
-
-            // 5. 상품 정보를 ItemFormDto로 변환하고, 대표 이미지 정보 추가
-            ItemFormDto itemFormDto = ItemFormDto.of(item);
-            if (repItemImgDto != null) {
-                itemFormDto.setItemImgDtoList(List.of(repItemImgDto)); // 대표 이미지만 리스트에 추가
-            } else {
-                itemFormDto.setItemImgDtoList(new ArrayList<>()); // 대표 이미지가 없는 경우 빈 리스트
-            }
-
-
-            // 알러지 성분 ID 추가
-        List<Long> substanceIds = itemSubstanceRepository.findByItemId(item.getId()).stream()
-        .map(is -> is.getSubstance().getSubstanceId())
-        .collect(Collectors.toList());
-    
-        itemFormDto.setSubstanceIds(substanceIds);
-
-
-            // 6. 변환된 DTO를 리스트에 추가
-            itemFormDtoList.add(itemFormDto);
-        }
-
-        return itemFormDtoList;
+        return itemRepository.findItemFormDtoListBySellStatus(itemSellStatus);
     }
 
 
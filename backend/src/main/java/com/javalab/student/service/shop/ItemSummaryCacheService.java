@@ -0,0 +1,120 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.dto.shop.ItemSummaryDto;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.repository.shop.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 요약 정보 캐시 서비스 (itemId -> 상품명, 가격)
+ * - Redis 장바구니 목록 조회에서 사용하는 read-through 캐시
+ * - Redis에 "ITEM_SUMMARY:{itemId}" 키로 상품 요약 정보를 JSON으로 저장한다.
+ * - 캐시에 없는 상품은 DB에서 IN 쿼리 한 번으로 조회 후 캐시에 저장한다.
+ * - 상품 수정 시 ItemService에서 evict()를 호출하여 무효화한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class ItemSummaryCacheService {
+
+    private static final String KEY_PREFIX = "ITEM_SUMMARY:";
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ItemRepository itemRepository;
+
+    /**
+     * 여러 상품의 요약 정보 일괄 조회
+     * - Redis MGET 한 번 + (캐시 미스가 있으면) DB IN 쿼리 한 번으로 처리한다.
+     * @param itemIds 상품 ID 목록
+     * @return 상품 ID -> 상품 요약 정보, 존재하지 않는 상품은 포함되지 않는다.
+     */
+    public Map<Long, ItemSummaryDto> getAll(Collection<Long> itemIds) {
+        Map<Long, ItemSummaryDto> result = new HashMap<>();
+        if (itemIds == null || itemIds.isEmpty()) {
+            return result;
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(itemIds));
+        List<Long> missedIds = new ArrayList<>();
+
+        // 1. Redis에서 일괄 조회
+        List<Object> cached = null;
+        try {
+            cached = redisTemplate.opsForValue().multiGet(ids.stream().map(this::key).toList());
+        } catch (Exception e) {
+            log.warn("상품 요약 캐시 조회 실패, DB에서 조회합니다: {}", e.getMessage());
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            Object value = (cached != null) ? cached.get(i) : null;
+            if (value instanceof ItemSummaryDto summary) {
+                result.put(ids.get(i), summary);
+            } else {
+                missedIds.add(ids.get(i));
+            }
+        }
+
+        if (missedIds.isEmpty()) {
+            return result;
+        }
+
+        // 2. 캐시 미스 상품은 DB에서 일괄 조회 후 캐시에 저장
+        for (Item item : itemRepository.findAllById(missedIds)) {
+            ItemSummaryDto summary = new ItemSummaryDto(item.getId(), item.getItemNm(), item.getPrice());
+            result.put(item.getId(), summary);
+            try {
+                redisTemplate.opsForValue().set(key(item.getId()), summary, TTL);
+            } catch (Exception e) {
+                log.warn("상품 요약 캐시 저장 실패 [{}]: {}", item.getId(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 상품 요약 캐시 무효화
+     * - 트랜잭션이 진행중이면 커밋 이후에 삭제한다.
+     * @param itemId 상품 ID
+     */
+    public void evict(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete(itemId);
+                }
+            });
+        } else {
+            delete(itemId);
+        }
+    }
+
+    private void delete(Long itemId) {
+        try {
+            redisTemplate.delete(key(itemId));
+        } catch (Exception e) {
+            log.warn("상품 요약 캐시 삭제 실패 [{}]: {}", itemId, e.getMessage());
+        }
+    }
+
+    private String key(Long itemId) {
+        return KEY_PREFIX + itemId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.javalab.student.service.shop;
 
 
+import com.javalab.student.constant.OrderStatus;
 import com.javalab.student.dto.shop.OrderDto;
 import com.javalab.student.dto.shop.OrderHistDto;
 import com.javalab.student.dto.shop.OrderItemDto;
@@ -14,10 +15,10 @@ import com.javalab.student.repository.shop.ItemImgRepository;
 import com.javalab.student.repository.shop.ItemRepository;
 import com.javalab.student.repository.shop.OrderItemRepository;
 import com.javalab.student.repository.shop.OrderRepository;
+import com.javalab.student.security.CurrentMember;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +27,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,12 +38,19 @@ import java.util.stream.Collectors;
 @Log4j2
 public class OrderService {
 
+    // 대표 이미지가 없는 상품의 기본 이미지 경로
+    private static final String DEFAULT_IMAGE_URL = "/assets/images/noImg.jpg";
+
    // 의존성 주입
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
     private final ItemImgRepository itemImgRepository;
+    private final ItemImgCacheService itemImgCacheService;
+    private final SalesRollupService salesRollupService;
+    private final StockService stockService;
+    private final CurrentMember currentMember;
 
 
     // 주문 엔티티 생성 및 영속화
@@ -83,28 +94,30 @@ public class OrderService {
         List<Order> orders = orderRepository.findOrders(email, pageable);
         // 2. 주문 목록 총 개수 조회
         Long totalCount = orderRepository.countOrder(email);
-        // 3. 주문 목록 저장용 ArrayList 생성
+        // 3. 주문 목록에 포함된 모든 상품의 대표 이미지를 한 번에 조회
+        List<Long> itemIds = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .map(orderItem -> orderItem.getItem().getId())
+                .collect(Collectors.toList());
+        Map<Long, String> imgUrlMap = itemImgCacheService.getAll(itemIds);
+        // 4. 주문 목록 저장용 ArrayList 생성
         List<OrderHistDto> orderHistDtos = new ArrayList<>();
-        // 3.1. 주문 목록을 순회하면서 주문 정보를 DTO로 변환
+        // 4.1. 주문 목록을 순회하면서 주문 정보를 DTO로 변환
         for (Order order : orders) {
-            // 3.1.1. 주문 한 건에 대한 주문 DTO 생성
+            // 4.1.1. 주문 한 건에 대한 주문 DTO 생성
             OrderHistDto orderHistDto = new OrderHistDto(order);
-            // 3.1.2. 주문 정보에서 주문 상품 리스트 조회
-            List<OrderItem> orderItems = order.getOrderItems();
-            // 3.2. 하나의 주문에서 여러 상품을 주문할 수 있으므로 상품 리스트를 순회하면서 상품 정보를 DTO로 변환
-            for (OrderItem orderItem : orderItems) {
-                // 3.2.1 주문 상품 리스트에서 각 상품의 대표 이미지만 조회해서 ItemImg 객체 생성
-                ItemImg itemImg = itemImgRepository
-                        .findByItemIdAndRepimgYn(orderItem.getItem().getId(), "Y");
-                // 3.2.2. 주문 상품 DTO 생성
-                OrderItemDto orderItemDto = new OrderItemDto(orderItem, itemImg.getImgUrl());
-                // 3.2.3 주문 DTO에 주문 상품 추가
+            // 4.2. 하나의 주문에서 여러 상품을 주문할 수 있으므로 상품 리스트를 순회하면서 상품 정보를 DTO로 변환
+            for (OrderItem orderItem : order.getOrderItems()) {
+                // 4.2.1. 주문 상품 DTO 생성(대표 이미지가 없으면 기본 이미지)
+                String imgUrl = imgUrlMap.getOrDefault(orderItem.getItem().getId(), DEFAULT_IMAGE_URL);
+                OrderItemDto orderItemDto = new OrderItemDto(orderItem, imgUrl);
+                // 4.2.2 주문 DTO에 주문 상품 추가
                 orderHistDto.addOrderItemDto(orderItemDto);
             }
-            // 3.3. 주문 목록에 주문 DTO 추가, 한 건의 주문 정보를 전체 주문 목록에 추가
+            // 4.3. 주문 목록에 주문 DTO 추가, 한 건의 주문 정보를 전체 주문 목록에 추가
             orderHistDtos.add(orderHistDto);
         }
-        // 4. 주문 목록 반환
+        // 5. 주문 목록 반환
         return new PageImpl<OrderHistDto>(orderHistDtos, pageable, totalCount);
     }
 
@@ -119,19 +132,14 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public boolean validateOrder(Long orderId, String email){
-        // 현재 로그인 한 회원 정보 조회
-        Member curMember = memberRepository.findByEmail(email);
+        // 현재 로그인 한 회원 ID 조회(요청 단위 캐시)
+        Long curMemberId = currentMember.getId(email);
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(EntityNotFoundException::new);
-        // 주문을 낸 회원 정보 조회
+        // 주문을 낸 회원과 현재 로그인한 회원이 같은지 확인(회원 ID 비교, 회원 엔티티를 로딩하지 않는다)
         Member savedMember = order.getMember();
-        // 주문을 낸 회원과 현재 로그인한 회원이 같은지 확인
-        if(!StringUtils.equals(curMember.getEmail(), savedMember.getEmail())){
-            return false;
-        }
-
-        return true;
+        return curMemberId != null && savedMember != null && curMemberId.equals(savedMember.getId());
     }
 
     /**
@@ -144,7 +152,18 @@ public class OrderService {
     public void cancelOrder(Long orderId){
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(EntityNotFoundException::new);
+        OrderStatus beforeStatus = order.getOrderStatus();
+        // 이미 취소된 주문은 재고를 중복 복구하지 않는다.
+        if (beforeStatus == OrderStatus.CANCELED) {
+            return;
+        }
         order.cancelOrder();
+        // 재고 복구
+        for (OrderItem orderItem : order.getOrderItems()) {
+            stockService.release(orderItem.getItem().getId(), orderItem.getCount());
+        }
+        // 매출 집계 반영(이전 상태 -> 취소)
+        salesRollupService.recordStatusChange(order, beforeStatus);
     }
 
 
@@ -159,23 +178,42 @@ public class OrderService {
      * @return
      */
     public Long orders(List<OrderItemDto> orderItemDtoList, String email){
-        // 1. 주문자 조회
-        Member member = memberRepository.findByEmail(email);
-        // 2. 주문 상품 리스트 저장을 위한 ArrayList 생성
+        // 1. 주문자 조회(요청 단위 캐시의 회원 ID로 참조만 생성, 회원 조회 쿼리 없음)
+        Long memberId = currentMember.getId(email);
+        if (memberId == null) {
+            throw new EntityNotFoundException("존재하지 않는 회원입니다.");
+        }
+        Member member = memberRepository.getReferenceById(memberId);
+        // 2. 주문할 상품 일괄 조회(IN 쿼리 한 번)
+        List<Long> itemIds = orderItemDtoList.stream()
+                .map(OrderItemDto::getItemId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Item> itemMap = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        if (itemMap.size() != itemIds.size()) {
+            throw new EntityNotFoundException("존재하지 않는 상품이 포함되어 있습니다.");
+        }
+        // 3. 재고 차감, 상품 ID 오름차순으로 잠금 순서를 고정하여 동시 주문간 데드락을 방지한다.
+        //    같은 상품이 여러 줄이면 수량을 합쳐서 한 번만 차감한다.
+        Map<Long, Integer> countByItemId = new TreeMap<>();
+        for (OrderItemDto orderItemDto : orderItemDtoList) {
+            countByItemId.merge(orderItemDto.getItemId(), orderItemDto.getCount(), Integer::sum);
+        }
+        countByItemId.forEach(stockService::reserve);
+        // 4. 주문 상품 리스트 생성, 장바구니에서 전달받은 순서 유지
         List<OrderItem> orderItemList = new ArrayList<>();
-        // 3. 장바구니에서 전달받은 dto를 순회하면서 주문 상품 엔티티 생성 후 리스트에 추가
         for (OrderItemDto orderItemDto : orderItemDtoList) {
-            Item item = itemRepository.findById(orderItemDto.getItemId())
-                    .orElseThrow(EntityNotFoundException::new);
-
-            OrderItem orderItem = OrderItem.createOrderItem(item, orderItemDto.getCount());
-            orderItemList.add(orderItem);
+            Item item = itemMap.get(orderItemDto.getItemId());
+            orderItemList.add(OrderItem.createOrderItem(item, orderItemDto.getCount()));
         }
-        // 4. 위에서 생성한 주문 상품 리스트와 주문자를 이용해서 주문 엔티티 생성
+        // 5. 위에서 생성한 주문 상품 리스트와 주문자를 이용해서 주문 엔티티 생성
         Order order = Order.createOrder(member, orderItemList);
-        // 5. 주문 저장(영속화)
+        // 6. 주문 저장(영속화), 주문 상품은 cascade로 함께 저장되며 JDBC 배치로 INSERT 된다.
         orderRepository.save(order);
-        // 6. 주문 번호 반환
+        // 7. 매출 집계 반영
+        salesRollupService.recordOrder(order);
+        // 8. 주문 번호 반환
         return order.getId();
     }
 
@@ -197,19 +235,18 @@ public class OrderService {
             throw new SecurityException("해당 주문에 접근할 권한이 없습니다.");
         }
 
-        // 기본 이미지 URL 설정
-        String defaultImageUrl = "/assets/images/noImg.jpg";
-
-        // 주문 아이템 조회 및 DTO 변환 (이미지 포함)
+        // 주문 아이템 조회
         List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
-        return orderItems.stream()
-                .map(orderItem -> {
-                    // 대표 이미지 조회 (Optional.ofNullable 사용)
-                    ItemImg itemImg = itemImgRepository.findByItemIdAndRepimgYn(orderItem.getItem().getId(), "Y");
-                    String imgUrl = (itemImg != null) ? itemImg.getImgUrl() : defaultImageUrl;
 
-                    return new OrderItemDto(orderItem, imgUrl);
-                })
+        // 대표 이미지 일괄 조회
+        Map<Long, String> imgUrlMap = itemImgCacheService.getAll(orderItems.stream()
+                .map(orderItem -> orderItem.getItem().getId())
+                .collect(Collectors.toList()));
+
+        // DTO 변환 (대표 이미지가 없으면 기본 이미지)
+        return orderItems.stream()
+                .map(orderItem -> new OrderItemDto(orderItem,
+                        imgUrlMap.getOrDefault(orderItem.getItem().getId(), DEFAULT_IMAGE_URL)))
                 .collect(Collectors.toList());
     }
     }
@@ -33,6 +33,7 @@ public class PaymentService {
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final CartService cartService;
+    private final SalesRollupService salesRollupService;
 
     @Transactional
     public Map<String, Object> processPayment(PaymentRequestDto requestDto, Long orderId) {
@@ -82,15 +83,18 @@ public class PaymentService {
         log.info("✅ 결제 정보 저장 완료: {}", payment);
 
         // 6. 주문 상태 업데이트
+        OrderStatus beforeStatus = order.getOrderStatus();
         order.setOrderStatus(OrderStatus.PAYMENT_COMPLETED);
         orderRepository.save(order);
+        // 6.1. 매출 집계 반영(이전 상태 -> 결제완료)
+        salesRollupService.recordStatusChange(order, beforeStatus);
 
         // 7. ✅ 결제 완료 후 장바구니 아이템 삭제
         List<Long> cartItemIds = requestDto.getCartItemId();
         if (cartItemIds != null && !cartItemIds.isEmpty()) {
             // cartItemIds에 포함된 상품을 장바구니에서 삭제
             log.info("결제 완료 후 삭제할 장바구니 상품 IDs: {}", cartItemIds);
-            cartService.removeCartItem(cartItemIds);  // 장바구니 아이템 삭제
+            cartService.removeCartItem(cartItemIds, order.getMember().getEmail());  // 장바구니 아이템 삭제
         }
 
 
@@ -0,0 +1,397 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.dto.shop.CartDetailDto;
+import com.javalab.student.dto.shop.ItemSummaryDto;
+import com.javalab.student.entity.shop.Cart;
+import com.javalab.student.entity.shop.CartItem;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.CartItemRepository;
+import com.javalab.student.repository.shop.CartRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.security.CurrentMember;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis 장바구니 저장소 (shop.cart.mode=redis)
+ * - 회원별 장바구니를 Redis 해시 "CART:{email}" (상품 ID -> 수량)로 관리한다.
+ * - 수량 추가는 HINCRBY로 처리하므로 상품 담기 요청마다 DB를 조회하지 않는다.
+ * - 변경된 회원은 "CART:DIRTY" 집합에 기록하고, 주문시 또는 주기적으로(기본 60초) cart / cart_item 테이블에 반영한다.
+ *   같은 회원을 여러 서버가 동시에 반영하지 않도록 "CART:FLUSH:LOCK:{email}"(SET NX PX)을 얻은 쪽만 반영한다.
+ * - 해시가 없으면 DB 장바구니로 채운다. 빈 장바구니와 구분하기 위해 "_loaded" 필드를 함께 저장한다.
+ * - 장바구니 목록은 해시 + 상품 요약 캐시 + 대표 이미지 캐시로만 구성한다.
+ */
+@Service
+@Log4j2
+@ConditionalOnProperty(name = "shop.cart.mode", havingValue = "redis")
+public class RedisCartStore implements CartStore {
+
+    private static final String CART_KEY_PREFIX = "CART:";
+    private static final String DIRTY_KEY = "CART:DIRTY";
+    private static final String LOADED_FIELD = "_loaded";
+    private static final String FLUSH_LOCK_PREFIX = "CART:FLUSH:LOCK:";
+    private static final Duration TTL = Duration.ofDays(7);
+    // 반영 도중 서버가 종료되면 이 시간 뒤에 다른 서버가 반영할 수 있다.
+    private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(60);
+
+    /**
+     * DB 장바구니로 해시 채우기 (해시가 이미 있으면 그대로 둔다)
+     * - ARGV[1] : TTL(초), ARGV[2..] : 상품 ID, 수량 쌍
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], '" + LOADED_FIELD + "', '1') " +
+            "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 수량 추가
+     * - ARGV : 상품 ID, 추가 수량, TTL(초), 회원 이메일 / 반환값 : 추가 후 수량
+     */
+    private static final DefaultRedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "redis.call('SADD', KEYS[2], ARGV[4]) " +
+            "return count",
+            Long.class);
+
+    /**
+     * 수량 수정 (장바구니에 있는 상품만)
+     * - ARGV : 상품 ID, 수량, TTL(초), 회원 이메일 / 반환값 : 1 수정, 0 장바구니에 없음
+     */
+    private static final DefaultRedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 0 then return 0 end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "redis.call('SADD', KEYS[2], ARGV[4]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 상품 삭제
+     * - ARGV[1] : TTL(초), ARGV[2] : 회원 이메일, ARGV[3..] : 상품 ID / 반환값 : 삭제된 상품 수
+     */
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "local removed = 0 " +
+            "for i = 3, #ARGV do removed = removed + redis.call('HDEL', KEYS[1], ARGV[i]) end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "redis.call('SADD', KEYS[2], ARGV[2]) " +
+            "return removed",
+            Long.class);
+
+    /**
+     * 반영 잠금 해제 (잠금을 얻은 쪽의 토큰일 때만 삭제)
+     */
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end " +
+            "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final ItemSummaryCacheService itemSummaryCacheService;
+    private final ItemImgCacheService itemImgCacheService;
+    private final ItemRepository itemRepository;
+    private final MemberRepository memberRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CurrentMember currentMember;
+
+    public RedisCartStore(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                          ItemSummaryCacheService itemSummaryCacheService,
+                          ItemImgCacheService itemImgCacheService,
+                          ItemRepository itemRepository,
+                          MemberRepository memberRepository,
+                          CartRepository cartRepository,
+                          CartItemRepository cartItemRepository,
+                          TransactionTemplate transactionTemplate,
+                          CurrentMember currentMember) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.itemSummaryCacheService = itemSummaryCacheService;
+        this.itemImgCacheService = itemImgCacheService;
+        this.itemRepository = itemRepository;
+        this.memberRepository = memberRepository;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.currentMember = currentMember;
+    }
+
+    @Override
+    public Long addItem(String email, Long itemId, int count) {
+        // 1. 상품 존재 여부 확인(상품 요약 캐시)
+        if (!itemSummaryCacheService.getAll(List.of(itemId)).containsKey(itemId)) {
+            throw new EntityNotFoundException("존재하지 않는 상품입니다.");
+        }
+        // 2. 장바구니 해시가 없으면 DB 장바구니로 채운 뒤 수량 추가
+        ensureLoaded(email);
+        redisStringTemplate.execute(ADD_SCRIPT, List.of(cartKey(email), DIRTY_KEY),
+                String.valueOf(itemId), String.valueOf(count), ttlSeconds(), email);
+        return itemId;
+    }
+
+    @Override
+    public List<CartDetailDto> getCartList(String email) {
+        // 1. 장바구니 해시 조회(없으면 DB 장바구니로 채운다)
+        Map<Object, Object> entries = redisStringTemplate.opsForHash().entries(cartKey(email));
+        Map<Long, Integer> counts = entries.isEmpty() ? load(email) : toCounts(entries);
+        if (counts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 2. 상품 요약 정보와 대표 이미지를 캐시에서 일괄 조회
+        Map<Long, ItemSummaryDto> summaries = itemSummaryCacheService.getAll(counts.keySet());
+        Map<Long, String> imgUrls = itemImgCacheService.getAll(counts.keySet());
+
+        // 3. 장바구니 상세 DTO 생성(삭제된 상품은 제외, 최근 등록 상품 순)
+        List<CartDetailDto> cartDetailDtoList = new ArrayList<>();
+        counts.keySet().stream()
+                .sorted(Comparator.reverseOrder())
+                .forEach(itemId -> {
+                    ItemSummaryDto summary = summaries.get(itemId);
+                    if (summary != null) {
+                        cartDetailDtoList.add(new CartDetailDto(itemId, summary.getItemNm(), summary.getPrice(),
+                                counts.get(itemId), imgUrls.get(itemId)));
+                    }
+                });
+        return cartDetailDtoList;
+    }
+
+    @Override
+    public boolean contains(String email, Long cartItemId) {
+        ensureLoaded(email);
+        return Boolean.TRUE.equals(redisStringTemplate.opsForHash().hasKey(cartKey(email), String.valueOf(cartItemId)));
+    }
+
+    @Override
+    public void updateCount(String email, Long cartItemId, int count) {
+        ensureLoaded(email);
+        Long updated = redisStringTemplate.execute(UPDATE_SCRIPT, List.of(cartKey(email), DIRTY_KEY),
+                String.valueOf(cartItemId), String.valueOf(count), ttlSeconds(), email);
+        if (updated == null || updated == 0) {
+            throw new EntityNotFoundException("장바구니에 없는 상품입니다.");
+        }
+    }
+
+    @Override
+    public void remove(String email, Collection<Long> cartItemIds) {
+        ensureLoaded(email);
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds());
+        args.add(email);
+        cartItemIds.forEach(cartItemId -> args.add(String.valueOf(cartItemId)));
+        redisStringTemplate.execute(REMOVE_SCRIPT, List.of(cartKey(email), DIRTY_KEY), args.toArray());
+    }
+
+    @Override
+    public Map<Long, Long> findItemIds(String email, Collection<Long> cartItemIds) {
+        ensureLoaded(email);
+        List<Object> fields = cartItemIds.stream().map(id -> (Object) String.valueOf(id)).toList();
+        List<Object> values = redisStringTemplate.opsForHash().multiGet(cartKey(email), fields);
+
+        Map<Long, Long> itemIds = new HashMap<>();
+        int i = 0;
+        for (Long cartItemId : cartItemIds) {
+            if (values.get(i++) != null) {
+                itemIds.put(cartItemId, cartItemId);
+            }
+        }
+        return itemIds;
+    }
+
+    /**
+     * 회원 장바구니를 cart / cart_item 테이블에 반영
+     * - 호출하는 쪽의 트랜잭션에 참여하며, 트랜잭션이 커밋되지 않으면 다시 반영 대상으로 등록한다.
+     * - 반영 잠금은 트랜잭션이 끝난 뒤 해제하므로, 다음 반영은 커밋된 cart_item 행을 기준으로 한다.
+     * - 다른 서버가 같은 회원을 반영 중이면 반영 대상으로만 남겨두고 다음 주기에 반영한다.
+     * - 반영 도중 들어온 변경은 DIRTY 집합에 다시 기록되므로 다음 주기에 반영된다.
+     */
+    @Override
+    public void flush(String email) {
+        String lockKey = FLUSH_LOCK_PREFIX + email;
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisStringTemplate.opsForValue().setIfAbsent(lockKey, token, FLUSH_LOCK_TTL))) {
+            markDirty(email);
+            return;
+        }
+
+        redisStringTemplate.opsForSet().remove(DIRTY_KEY, email);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        markDirty(email);
+                    }
+                    unlock(lockKey, token);
+                }
+            });
+        }
+
+        try {
+            Map<Object, Object> entries = redisStringTemplate.opsForHash().entries(cartKey(email));
+            if (entries.isEmpty()) {
+                // 해시가 없으면 DB 장바구니가 최신이다.
+                return;
+            }
+            writeToDb(email, toCounts(entries));
+        } catch (RuntimeException e) {
+            markDirty(email);
+            throw e;
+        } finally {
+            if (!inTransaction) {
+                unlock(lockKey, token);
+            }
+        }
+    }
+
+    /**
+     * 변경된 장바구니를 DB에 반영 (기본 60초 주기)
+     * - 회원마다 별도 트랜잭션으로 반영하여 한 회원의 실패가 다른 회원에게 영향을 주지 않도록 한다.
+     */
+    @Scheduled(fixedDelayString = "${shop.cart.flush-ms:60000}")
+    public void flushDirty() {
+        Set<String> emails;
+        try {
+            emails = redisStringTemplate.opsForSet().members(DIRTY_KEY);
+        } catch (Exception e) {
+            log.error("장바구니 변경 목록 조회 실패: {}", e.getMessage(), e);
+            return;
+        }
+        if (emails == null || emails.isEmpty()) {
+            return;
+        }
+
+        int flushed = 0;
+        for (String email : emails) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flush(email));
+                flushed++;
+            } catch (Exception e) {
+                log.error("장바구니 DB 반영 실패 [{}]: {}", email, e.getMessage(), e);
+            }
+        }
+        log.info("장바구니 DB 반영 완료: {}/{}명", flushed, emails.size());
+    }
+
+    /**
+     * 해시 기준으로 cart_item 행을 추가/수정/삭제
+     */
+    private void writeToDb(String email, Map<Long, Integer> counts) {
+        Long memberId = currentMember.getId(email);
+        if (memberId == null) {
+            return;
+        }
+        Cart cart = cartRepository.findByMemberId(memberId);
+        if (cart == null) {
+            if (counts.isEmpty()) {
+                return;
+            }
+            cart = cartRepository.save(Cart.createCart(memberRepository.getReferenceById(memberId)));
+        }
+
+        Map<Long, Integer> remaining = new HashMap<>(counts);
+        for (CartItem cartItem : cartItemRepository.findByCartId(cart.getId())) {
+            Integer count = remaining.remove(cartItem.getItem().getId());
+            if (count == null) {
+                cartItemRepository.delete(cartItem);
+            } else if (count != cartItem.getCount()) {
+                cartItem.updateCount(count);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            List<CartItem> newCartItems = new ArrayList<>();
+            for (Item item : itemRepository.findAllById(remaining.keySet())) {
+                newCartItems.add(CartItem.createCartItem(cart, item, remaining.get(item.getId())));
+            }
+            cartItemRepository.saveAll(newCartItems);
+        }
+    }
+
+    /**
+     * 장바구니 해시가 없으면 DB 장바구니로 채운다.
+     */
+    private void ensureLoaded(String email) {
+        if (!Boolean.TRUE.equals(redisStringTemplate.hasKey(cartKey(email)))) {
+            load(email);
+        }
+    }
+
+    /**
+     * DB 장바구니를 조회하여 해시에 저장
+     * - 동시에 여러 요청이 채우더라도 먼저 만들어진 해시를 덮어쓰지 않는다.
+     * @return 상품 ID -> 수량
+     */
+    private Map<Long, Integer> load(String email) {
+        Map<Long, Integer> counts = new HashMap<>();
+        List<String> args = new ArrayList<>();
+        args.add(ttlSeconds());
+        for (Object[] row : cartItemRepository.findItemCountsByMemberEmail(email)) {
+            Long itemId = (Long) row[0];
+            Integer count = (Integer) row[1];
+            counts.put(itemId, count);
+            args.add(String.valueOf(itemId));
+            args.add(String.valueOf(count));
+        }
+        redisStringTemplate.execute(LOAD_SCRIPT, List.of(cartKey(email)), args.toArray());
+        return counts;
+    }
+
+    private Map<Long, Integer> toCounts(Map<Object, Object> entries) {
+        Map<Long, Integer> counts = new HashMap<>();
+        entries.forEach((field, value) -> {
+            if (!LOADED_FIELD.equals(field)) {
+                counts.put(Long.valueOf(field.toString()), Integer.valueOf(value.toString()));
+            }
+        });
+        return counts;
+    }
+
+    private void markDirty(String email) {
+        try {
+            redisStringTemplate.opsForSet().add(DIRTY_KEY, email);
+        } catch (Exception e) {
+            log.error("장바구니 변경 표시 실패 [{}]: {}", email, e.getMessage());
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisStringTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.error("장바구니 반영 잠금 해제 실패 [{}]: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private String cartKey(String email) {
+        return CART_KEY_PREFIX + email;
+    }
+
+    private String ttlSeconds() {
+        return String.valueOf(TTL.toSeconds());
+    }
+}
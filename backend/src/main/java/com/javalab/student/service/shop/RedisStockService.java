@@ -0,0 +1,212 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.repository.shop.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 재고 예약 서비스 (플래시 세일용, shop.stock.mode=redis)
+ * - 상품별 재고를 Redis "STOCK:{itemId}" 카운터로 관리하고 Lua 스크립트로 비교와 차감을 원자적으로 처리한다.
+ * - 카운터가 없으면 DB 재고로 초기화(SETNX)한다.
+ * - 차감/복구량은 "STOCK:PENDING" 해시에 누적하고, 주기적으로 DB에 반영(reconcile)한다.
+ *   여러 서버 중 "STOCK:RECONCILE:LOCK"(SET NX PX)을 얻은 서버 하나만 반영한다.
+ * - 주문 트랜잭션이 롤백되면 Redis 차감도 되돌린다.
+ * - 관리자가 재고를 수정하면 커밋 후 카운터를 수정한 재고 + 아직 DB에 반영되지 않은 변경분으로 다시 맞춘다.
+ * - 반영 결과 DB 재고가 음수가 되면 0으로 맞추고 불일치를 로그로 남긴다.
+ */
+@Service
+@Log4j2
+@ConditionalOnProperty(name = "shop.stock.mode", havingValue = "redis")
+public class RedisStockService implements StockService {
+
+    private static final String STOCK_KEY_PREFIX = "STOCK:";
+    private static final String PENDING_KEY = "STOCK:PENDING";
+    private static final String PROCESSING_KEY = "STOCK:PENDING:PROCESSING";
+    private static final String LOCK_KEY = "STOCK:RECONCILE:LOCK";
+    // 반영이 실패하거나 도중에 서버가 종료되면 이 시간 뒤에 처리용 키부터 다시 반영한다.
+    private static final Duration LOCK_TTL = Duration.ofSeconds(60);
+
+    /**
+     * 재고 차감 스크립트
+     * - 반환값 : -2 카운터 없음, -1 재고 부족, 0 이상 차감 후 재고
+     */
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -2 end " +
+            "local count = tonumber(ARGV[1]) " +
+            "if tonumber(stock) < count then return -1 end " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[2], -count) " +
+            "return redis.call('DECRBY', KEYS[1], count)",
+            Long.class);
+
+    /**
+     * 재고 복구 스크립트
+     * - 반환값 : -2 카운터 없음(DB에 직접 복구해야 함), 0 이상 복구 후 재고
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -2 end " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[2], ARGV[1]) " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * 재고 카운터 재설정 스크립트
+     * - 카운터가 있을 때만 "수정한 재고 + 반영 대기 변경분(PENDING, PROCESSING)"으로 설정한다.
+     * - 카운터가 없으면 다음 주문 때 DB 재고로 초기화된다.
+     */
+    private static final DefaultRedisScript<Long> RESET_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "local delta = tonumber(redis.call('HGET', KEYS[2], ARGV[2]) or '0') " +
+            "  + tonumber(redis.call('HGET', KEYS[3], ARGV[2]) or '0') " +
+            "redis.call('SET', KEYS[1], tonumber(ARGV[1]) + delta) " +
+            "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RedisStockService(@Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                             ItemRepository itemRepository,
+                             TransactionTemplate transactionTemplate) {
+        this.redisStringTemplate = redisStringTemplate;
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void reserve(Long itemId, int count) {
+        Long result = executeReserve(itemId, count);
+        if (result == -2) {
+            // 카운터가 없으면 DB 재고로 초기화 후 다시 시도
+            Integer stockNumber = itemRepository.findStockNumberById(itemId);
+            if (stockNumber == null) {
+                throw new EntityNotFoundException("존재하지 않는 상품입니다.");
+            }
+            redisStringTemplate.opsForValue().setIfAbsent(stockKey(itemId), String.valueOf(stockNumber));
+            result = executeReserve(itemId, count);
+        }
+        if (result < 0) {
+            throw new OutOfStockException("상품의 재고가 부족 합니다. (현재 재고 수량: "
+                    + redisStringTemplate.opsForValue().get(stockKey(itemId)) + ")");
+        }
+
+        // 주문 트랜잭션이 롤백되면 Redis 차감을 되돌린다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        executeRelease(itemId, count);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void release(Long itemId, int count) {
+        if (executeRelease(itemId, count) == -2) {
+            // 카운터가 없으면 DB 재고에 바로 반영
+            itemRepository.increaseStock(itemId, count);
+        }
+    }
+
+    @Override
+    public void resetStock(Long itemId, int stockNumber) {
+        Runnable reset = () -> {
+            try {
+                redisStringTemplate.execute(RESET_SCRIPT, List.of(stockKey(itemId), PENDING_KEY, PROCESSING_KEY),
+                        String.valueOf(stockNumber), String.valueOf(itemId));
+            } catch (RuntimeException e) {
+                log.error("Redis 재고 재설정 실패 - 상품 {}: {}", itemId, e.getMessage(), e);
+            }
+        };
+        // 수정 트랜잭션이 커밋된 뒤에 반영한다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reset.run();
+                }
+            });
+        } else {
+            reset.run();
+        }
+    }
+
+    /**
+     * Redis 재고 변경분을 DB에 반영 (기본 5초 주기)
+     * - 누적 해시를 처리용 키로 RENAME 하여 반영 도중 들어오는 변경분과 분리한다.
+     * - 이전 처리 중 장애로 처리용 키가 남아 있으면 그것부터 반영한다.
+     * - 잠금을 얻지 못하면 다른 서버가 반영 중이므로 건너뛴다.(같은 묶음을 두 번 반영하거나,
+     *   다른 서버가 읽기 전의 처리용 키를 RENAME으로 덮어쓰지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${shop.stock.reconcile-ms:5000}")
+    public void reconcile() {
+        try {
+            Boolean locked = redisStringTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL);
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+            if (!Boolean.TRUE.equals(redisStringTemplate.hasKey(PROCESSING_KEY))) {
+                if (!Boolean.TRUE.equals(redisStringTemplate.hasKey(PENDING_KEY))) {
+                    redisStringTemplate.delete(LOCK_KEY);
+                    return;
+                }
+                redisStringTemplate.rename(PENDING_KEY, PROCESSING_KEY);
+            }
+
+            Map<Object, Object> deltas = redisStringTemplate.opsForHash().entries(PROCESSING_KEY);
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach((itemId, delta) ->
+                    applyDelta(Long.valueOf(itemId.toString()), Integer.parseInt(delta.toString()))));
+            redisStringTemplate.delete(List.of(PROCESSING_KEY, LOCK_KEY));
+            log.info("Redis 재고 DB 반영 완료: {}개 상품", deltas.size());
+        } catch (Exception e) {
+            log.error("Redis 재고 DB 반영 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 변경분 반영, 차감 결과가 음수가 되면 0으로 맞추고 불일치를 기록한다.
+     */
+    private void applyDelta(Long itemId, int delta) {
+        if (delta > 0) {
+            itemRepository.increaseStock(itemId, delta);
+        } else if (delta < 0 && itemRepository.decreaseStock(itemId, -delta) == 0) {
+            Integer stockNumber = itemRepository.findStockNumberById(itemId);
+            if (stockNumber != null) {
+                log.warn("Redis/DB 재고 불일치 - 상품 {}: DB 재고 {}, 차감 {}, 0으로 맞춥니다.", itemId, stockNumber, -delta);
+                itemRepository.decreaseStock(itemId, stockNumber);
+            }
+        }
+    }
+
+    private Long executeReserve(Long itemId, int count) {
+        return redisStringTemplate.execute(RESERVE_SCRIPT, List.of(stockKey(itemId), PENDING_KEY),
+                String.valueOf(count), String.valueOf(itemId));
+    }
+
+    private Long executeRelease(Long itemId, int count) {
+        return redisStringTemplate.execute(RELEASE_SCRIPT, List.of(stockKey(itemId), PENDING_KEY),
+                String.valueOf(count), String.valueOf(itemId));
+    }
+
+    private String stockKey(Long itemId) {
+        return STOCK_KEY_PREFIX + itemId;
+    }
+}
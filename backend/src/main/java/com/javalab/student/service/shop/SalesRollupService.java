@@ -0,0 +1,136 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.entity.shop.Order;
+import com.javalab.student.entity.shop.OrderItem;
+import com.javalab.student.repository.shop.SalesRollupRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * 매출 집계(sales_daily_rollup) 서비스
+ * - 주문의 상태가 바뀔 때마다 일별/상품별/상태별 판매 수량과 금액을 증감한다.
+ * - 호출하는 쪽(주문, 결제, 주문 취소)의 트랜잭션에 참여하므로 주문 변경과 집계가 함께 커밋/롤백된다.
+ * - rebuild()로 주문 이력 전체에서 집계를 다시 만들 수 있다.
+ * - 시작 시 빈 집계 테이블 채우기는 여러 서버 중 "SALES:BACKFILL:LOCK"(SET NX PX)을 얻은 서버 하나만 한다.
+ */
+@Service
+@Log4j2
+public class SalesRollupService {
+
+    private static final String BACKFILL_LOCK_KEY = "SALES:BACKFILL:LOCK";
+    // 채우는 도중 서버가 종료되면 이 시간 뒤에 다른 서버가 다시 시작할 때 채울 수 있다.
+    private static final Duration BACKFILL_LOCK_TTL = Duration.ofMinutes(10);
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SalesRollupService(SalesRollupRepository salesRollupRepository,
+                              @Qualifier("redisStringTemplate") RedisTemplate<String, String> redisStringTemplate,
+                              TransactionTemplate transactionTemplate) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.redisStringTemplate = redisStringTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 신규 주문 집계 반영
+     * @param order 저장된 주문
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(Order order) {
+        apply(order, order.getOrderStatus(), 1);
+    }
+
+    /**
+     * 주문 상태 변경 집계 반영
+     * - 이전 상태 집계에서 차감하고 새 상태 집계에 더한다.
+     * @param order 주문(상태 변경 후)
+     * @param fromStatus 변경 전 주문 상태
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, OrderStatus fromStatus) {
+        OrderStatus toStatus = order.getOrderStatus();
+        if (fromStatus == toStatus) {
+            return;
+        }
+        apply(order, fromStatus, -1);
+        apply(order, toStatus, 1);
+    }
+
+    /**
+     * 주문 이력 전체로 집계 테이블 재생성
+     */
+    @Transactional
+    public int rebuild() {
+        log.info("매출 집계 테이블 재생성 시작");
+        salesRollupRepository.deleteAllRows();
+        int rows = salesRollupRepository.rebuildFromOrders();
+        log.info("매출 집계 테이블 재생성 완료: {}행", rows);
+        return rows;
+    }
+
+    /**
+     * 애플리케이션 시작 시 집계 테이블이 비어 있으면 주문 이력으로 채운다.
+     * - 여러 서버가 동시에 시작해도 잠금을 얻은 서버 하나만 채운다.(중복 INSERT 방지)
+     * - 잠금은 커밋 후 해제하고, 잠금을 얻은 뒤 다시 확인하므로 먼저 채운 서버의 결과를 지우지 않는다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (salesRollupRepository.count() > 0) {
+            return;
+        }
+        Boolean locked;
+        try {
+            locked = redisStringTemplate.opsForValue().setIfAbsent(BACKFILL_LOCK_KEY, "1", BACKFILL_LOCK_TTL);
+        } catch (Exception e) {
+            // 잠금 없이 채우면 여러 서버가 중복으로 채울 수 있으므로 건너뛴다.(관리자 재생성으로 채울 수 있다)
+            log.error("매출 집계 채우기 잠금 실패, 건너뜁니다: {}", e.getMessage());
+            return;
+        }
+        if (!Boolean.TRUE.equals(locked)) {
+            log.info("다른 서버가 매출 집계 테이블을 채우는 중입니다.");
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (salesRollupRepository.count() == 0) {
+                    rebuild();
+                }
+            });
+        } finally {
+            redisStringTemplate.delete(BACKFILL_LOCK_KEY);
+        }
+    }
+
+    /**
+     * 주문 상품별로 (주문일, 상품, 상태) 집계 행에 sign 방향으로 수량/금액을 반영
+     */
+    private void apply(Order order, OrderStatus status, int sign) {
+        if (status == null || order.getOrderDate() == null) {
+            return;
+        }
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            if (orderItem.getItem() == null) {
+                continue;
+            }
+            salesRollupRepository.upsert(salesDate,
+                    orderItem.getItem().getId(),
+                    status.name(),
+                    (long) sign * orderItem.getCount(),
+                    sign * orderItem.getTotalPrice());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.javalab.student.service.shop;
+
+/**
+ * 상품 재고 예약 서비스
+ * - 주문 시 재고를 차감(예약)하고, 주문 취소 시 재고를 복구한다.
+ * - 구현체는 shop.stock.mode 설정으로 선택한다.
+ *   - db (기본값) : DbStockService, 조건부 UPDATE로 DB에서 원자적으로 차감
+ *   - redis : RedisStockService, 플래시 세일용 Redis 카운터로 차감 후 주기적으로 DB에 반영
+ */
+public interface StockService {
+
+    /**
+     * 재고 차감
+     * @param itemId 상품 ID
+     * @param count 차감 수량
+     * @throws com.javalab.student.exception.OutOfStockException 재고가 부족한 경우
+     */
+    void reserve(Long itemId, int count);
+
+    /**
+     * 재고 복구
+     * @param itemId 상품 ID
+     * @param count 복구 수량
+     */
+    void release(Long itemId, int count);
+
+    /**
+     * 관리자 재고 수정 반영
+     * - 관리자가 상품 재고를 직접 수정하면 커밋 후 예약용 재고에도 반영한다.
+     * @param itemId 상품 ID
+     * @param stockNumber 수정한 재고 수량
+     */
+    void resetStock(Long itemId, int stockNumber);
+}
@@ -0,0 +1,118 @@
+package com.javalab.student.service.shop;
+
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.dto.shop.TopSellingProductDTO;
+import com.javalab.student.repository.shop.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 판매량 상위 상품 랭킹 서비스
+ * - 매출 집계 테이블을 상품 테이블과 조인해 삭제된 상품을 제외하고, 판매 수량 순 상위 K개만 DB에서(LIMIT) 조회한다.
+ * - 조회 조건(상태, K, 기간, 알러지 성분)별 결과를 메모리에 캐시하고 주기적으로 다시 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Log4j2
+public class TopSellingService {
+
+    public static final int DEFAULT_LIMIT = 5;
+    public static final int MAX_LIMIT = 100;
+
+    // 조회 조건 조합이 무한히 늘어나지 않도록 캐시 크기 제한
+    private static final int MAX_CACHED_RANKINGS = 200;
+
+    // 전체 기간 조회시 사용하는 날짜 범위
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final Map<RankingKey, List<TopSellingProductDTO>> rankingCache = new ConcurrentHashMap<>();
+
+    /**
+     * 랭킹 조회 조건
+     * - startDate, endDate가 null이면 전체 기간
+     * - substanceId가 null이면 전체 상품, 있으면 해당 알러지 성분에 안전한 상품만
+     */
+    private record RankingKey(OrderStatus status, int limit, LocalDate startDate, LocalDate endDate, Long substanceId) {
+    }
+
+    /**
+     * 판매량 상위 상품 조회 (캐시)
+     * @param status 주문 상태
+     * @param limit 조회할 상품 수(1 ~ 100)
+     * @param startDate 시작일(포함), null이면 처음부터
+     * @param endDate 종료일(포함), null이면 끝까지
+     * @param substanceId 알러지 성분 ID, null이면 전체 상품
+     */
+    public List<TopSellingProductDTO> getTopSellingProducts(OrderStatus status, int limit,
+                                                            LocalDate startDate, LocalDate endDate,
+                                                            Long substanceId) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("조회할 상품 수는 1 ~ " + MAX_LIMIT + " 사이여야 합니다.");
+        }
+        RankingKey key = new RankingKey(status, limit, startDate, endDate, substanceId);
+
+        List<TopSellingProductDTO> cached = rankingCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<TopSellingProductDTO> ranking = rank(key);
+        if (rankingCache.size() >= MAX_CACHED_RANKINGS) {
+            rankingCache.clear();
+        }
+        rankingCache.put(key, ranking);
+        return ranking;
+    }
+
+    /**
+     * 캐시된 랭킹 주기적 갱신 (기본 5분)
+     */
+    @Scheduled(fixedDelayString = "${sales.top-selling.refresh-ms:300000}")
+    public void refreshTopSellingProducts() {
+        for (RankingKey key : new ArrayList<>(rankingCache.keySet())) {
+            try {
+                rankingCache.put(key, rank(key));
+            } catch (Exception e) {
+                log.warn("판매량 랭킹 갱신 실패 {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 랭킹 계산
+     * - 조건에 맞는 상품별 판매 수량 상위 K개(상품명 포함)를 한 번의 쿼리로 조회
+     */
+    private List<TopSellingProductDTO> rank(RankingKey key) {
+        log.info("판매량 상위 {}개 상품 추출 중... {}", key.limit(), key);
+
+        LocalDate startDate = key.startDate() != null ? key.startDate() : MIN_DATE;
+        LocalDate endDate = key.endDate() != null ? key.endDate() : MAX_DATE;
+        Pageable top = PageRequest.of(0, key.limit());
+
+        List<Object[]> rows = key.substanceId() == null
+                ? salesRollupRepository.findTopSellingBetween(key.status(), startDate, endDate, top)
+                : salesRollupRepository.findTopSellingBetweenAndSubstance(key.status(), startDate, endDate, key.substanceId(), top);
+
+        List<TopSellingProductDTO> topSellingProducts = rows.stream()
+                .map(row -> new TopSellingProductDTO((String) row[0], ((Number) row[1]).intValue()))
+                .toList();
+
+        log.info("상위 {}개 판매 상품 추출 완료: {}", key.limit(), topSellingProducts.size());
+        return topSellingProducts;
+    }
+}
@@ -0,0 +1,40 @@
+package com.javalab.student.service.storage;
+
+import com.javalab.student.constant.StorageBucket;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * 파일(blob) 저장소 백엔드
+ * - 구현체는 storage.backend 설정으로 선택한다.
+ *   - local (기본값) : LocalBlobBackend, 버킷별 로컬 폴더
+ * - 업로드는 먼저 로컬 임시 파일(spool)에 받으면서 해시를 계산하고, 해시 이름이 정해지면 putIfAbsent로 옮긴다.
+ */
+public interface BlobBackend {
+
+    /**
+     * 업로드를 받을 임시 파일 생성(같은 파일 시스템이면 옮길 때 복사하지 않는다)
+     */
+    Path createSpoolFile(StorageBucket bucket) throws IOException;
+
+    /**
+     * 임시 파일을 blob으로 저장, 이미 있으면 임시 파일을 지우고 false
+     */
+    boolean putIfAbsent(StorageBucket bucket, String name, Path spoolFile) throws IOException;
+
+    boolean exists(StorageBucket bucket, String name);
+
+    /**
+     * 로컬 파일 경로(이미지 파생본 생성, 파일 전송용), 로컬 파일이 없는 백엔드는 null
+     */
+    Path localPath(StorageBucket bucket, String name);
+
+    ReadableByteChannel open(StorageBucket bucket, String name) throws IOException;
+
+    /**
+     * blob 삭제, 없으면 false
+     */
+    boolean delete(StorageBucket bucket, String name) throws IOException;
+}
@@ -0,0 +1,372 @@
+package com.javalab.student.service.storage;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.entity.FileBlob;
+import com.javalab.student.repository.FileBlobRepository;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.image.ImageResizeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 업로드 파일 저장 서비스
+ * - 업로드는 64KB 버퍼 하나로 채널에서 임시 파일로 스트리밍하면서 SHA-256을 계산한다.(파일 전체를 byte[]로 읽지 않는다)
+ * - 파일 이름은 "SHA-256(16진수).확장자", 같은 버킷에 같은 내용이 이미 있으면 새로 쓰지 않고 참조 수만 늘린다.
+ * - 참조 수는 file_blob 테이블에 두고, 0이 되면 파일과 이미지 파생본(요청 크기 파생본 포함)을 삭제한다.
+ * - 참조 수 변경은 호출한 트랜잭션 안에서 한다.(요청당 DB 연결 하나, 행 잠금은 커밋까지 유지)
+ *   파일 쓰기는 행을 잠근 채 바로 하고(호출한 쪽이 곧바로 파생본을 만든다), 파일 삭제는 커밋 후 별도 스레드에서
+ *   행을 다시 잠그고 참조가 없을 때만 한다. 트랜잭션 밖에서 호출하면 자체 트랜잭션에서 처리한다.
+ * - 호출한 트랜잭션이 롤백되면 참조 수 변경도 함께 롤백되고, 새로 쓴 파일은 참조가 없으면 삭제한다.
+ * - 에디터 본문 이미지(storeUnclaimed)는 참조 수 0으로 저장하고 게시글 저장 시 retain으로 참조한다.
+ *   storage.unclaimed.ttl-hours 동안 참조되지 않은 파일은 주기적으로 삭제한다.
+ * - 저장소는 BlobBackend 구현체(storage.backend)에 위임한다.
+ */
+@Service
+@Slf4j
+public class FileStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String DEFAULT_EXTENSION = "bin";
+    private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp");
+
+    /**
+     * 저장 결과
+     * @param name 저장된 파일 이름(SHA-256.확장자)
+     * @param deduplicated 같은 내용의 파일이 이미 있어 새로 쓰지 않았으면 true
+     */
+    public record StoredFile(StorageBucket bucket, String name, long size, boolean deduplicated) {
+    }
+
+    private final BlobBackend blobBackend;
+    private final FileBlobRepository fileBlobRepository;
+    private final ImageProcessingService imageProcessingService;
+    private final ImageResizeService imageResizeService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration unclaimedTtl;
+    // 커밋 후 파일 삭제(호출 스레드가 DB 연결을 두 개 잡지 않도록 별도 스레드에서 처리)
+    private final ExecutorService cleanupExecutor;
+
+    public FileStorageService(BlobBackend blobBackend,
+                              FileBlobRepository fileBlobRepository,
+                              ImageProcessingService imageProcessingService,
+                              ImageResizeService imageResizeService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${storage.unclaimed.ttl-hours:24}") long unclaimedTtlHours) {
+        this.blobBackend = blobBackend;
+        this.fileBlobRepository = fileBlobRepository;
+        this.imageProcessingService = imageProcessingService;
+        this.imageResizeService = imageResizeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unclaimedTtl = Duration.ofHours(unclaimedTtlHours);
+        this.cleanupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "blob-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 업로드 파일 저장(참조 수 1 증가)
+     */
+    public StoredFile store(StorageBucket bucket, MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(bucket, Channels.newChannel(in), file.getOriginalFilename(), true);
+        }
+    }
+
+    /**
+     * 채널 내용 저장(채널은 호출한 쪽에서 닫는다)
+     * @param originalFileName 확장자 추출용 원본 파일 이름
+     */
+    public StoredFile store(StorageBucket bucket, ReadableByteChannel source, String originalFileName) throws IOException {
+        return store(bucket, source, originalFileName, true);
+    }
+
+    /**
+     * 참조 없이 저장(에디터 본문 이미지 업로드)
+     * - 게시글을 저장할 때 retain으로 참조하고, 참조되지 않으면 storage.unclaimed.ttl-hours 후 삭제된다.
+     */
+    public StoredFile storeUnclaimed(StorageBucket bucket, MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(bucket, Channels.newChannel(in), file.getOriginalFilename(), false);
+        }
+    }
+
+    /**
+     * 이미 저장된 파일 참조(참조 수 1 증가)
+     * @return 파일이 없으면 false
+     */
+    public boolean retain(StorageBucket bucket, String name) {
+        if (name == null || name.isBlank()) {
+            return false;
+        }
+        Integer updated = TransactionSynchronizationManager.isActualTransactionActive()
+                ? fileBlobRepository.retain(key(bucket, name))
+                : transactionTemplate.execute(status -> fileBlobRepository.retain(key(bucket, name)));
+        if (updated == null || updated == 0) {
+            log.warn("참조할 파일이 없습니다 - {}/{}", bucket, name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 파일 참조 해제
+     * - 참조 수가 0이 되면 (트랜잭션 안이면 커밋 후) 파일과 이미지 파생본을 삭제한다.
+     * - file_blob 행이 없는 파일(해시 이름 도입 전에 올린 파일)은 바로 삭제한다.
+     */
+    public void release(StorageBucket bucket, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> decrement(bucket, name)))) {
+                    deleteIfUnreferenced(bucket, name);
+                }
+            } catch (Exception e) {
+                log.warn("파일 참조 해제 실패 - {}/{}: {}", bucket, name, e.getMessage());
+            }
+            return;
+        }
+        if (decrement(bucket, name)) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cleanupLater(bucket, name);
+                }
+            });
+        }
+    }
+
+    /**
+     * 로컬 파일 경로(이미지 파생본 생성, 파일 전송용)
+     */
+    public Path localPath(StorageBucket bucket, String name) {
+        return blobBackend.localPath(bucket, name);
+    }
+
+    public boolean exists(StorageBucket bucket, String name) {
+        return blobBackend.exists(bucket, name);
+    }
+
+    /**
+     * 참조되지 않은 업로드 정리 (기본 1시간 주기)
+     * - 참조 수 0인 채로 storage.unclaimed.ttl-hours가 지난 파일(저장하지 않은 에디터 이미지)을 삭제한다.
+     */
+    @Scheduled(fixedDelayString = "${storage.unclaimed.sweep-ms:3600000}")
+    public void sweepUnclaimed() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(unclaimedTtl);
+        for (FileBlob candidate : fileBlobRepository.findTop100ByRefCountAndUpdateTimeBefore(0, cutoff)) {
+            StorageBucket bucket = candidate.getBucket();
+            String name = candidate.getName();
+            try {
+                Boolean deleted = transactionTemplate.execute(status -> {
+                    Optional<FileBlob> blob = fileBlobRepository.findForUpdate(candidate.getKey());
+                    if (blob.isEmpty() || blob.get().getRefCount() > 0 || blob.get().getUpdateTime().isAfter(cutoff)) {
+                        return false;
+                    }
+                    fileBlobRepository.delete(blob.get());
+                    return true;
+                });
+                if (Boolean.TRUE.equals(deleted)) {
+                    deleteIfUnreferenced(bucket, name);
+                }
+            } catch (Exception e) {
+                log.warn("참조되지 않은 파일 정리 실패 - {}/{}: {}", bucket, name, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupExecutor.shutdown();
+    }
+
+    private StoredFile store(StorageBucket bucket, ReadableByteChannel source, String originalFileName,
+                             boolean claim) throws IOException {
+        Path spoolFile = blobBackend.createSpoolFile(bucket);
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            try (FileChannel out = FileChannel.open(spoolFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    digest.update(buffer.array(), 0, read);
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                    size += read;
+                }
+            }
+
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extensionOf(originalFileName);
+            long storedSize = size;
+            boolean created;
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                created = register(bucket, name, storedSize, spoolFile, claim);
+                if (created) {
+                    deleteOnRollback(bucket, name);
+                }
+            } else {
+                created = Boolean.TRUE.equals(
+                        transactionTemplate.execute(status -> register(bucket, name, storedSize, spoolFile, claim)));
+            }
+            return new StoredFile(bucket, name, storedSize, !created);
+        } catch (FileStorageException e) {
+            throw (IOException) e.getCause();
+        } finally {
+            Files.deleteIfExists(spoolFile);
+        }
+    }
+
+    /**
+     * 참조 수 행 잠금(증가 또는 생성) 후 파일 쓰기
+     * @return 파일을 새로 썼으면 true
+     */
+    private boolean register(StorageBucket bucket, String name, long size, Path spoolFile, boolean claim) {
+        if (claim) {
+            fileBlobRepository.acquire(key(bucket, name), bucket.name(), name, size);
+        } else {
+            fileBlobRepository.acquireUnclaimed(key(bucket, name), bucket.name(), name, size);
+        }
+        try {
+            // 행은 있는데 파일이 없으면(수동 삭제 등) 다시 쓴다.
+            return blobBackend.putIfAbsent(bucket, name, spoolFile);
+        } catch (IOException e) {
+            throw new FileStorageException("파일 저장 실패: " + name, e);
+        }
+    }
+
+    /**
+     * 참조 수 감소(행 잠금)
+     * @return 마지막 참조였거나 행이 없으면(파일을 삭제해야 하면) true
+     */
+    private boolean decrement(StorageBucket bucket, String name) {
+        Optional<FileBlob> blob = fileBlobRepository.findForUpdate(key(bucket, name));
+        if (blob.isEmpty()) {
+            return true;
+        }
+        FileBlob fileBlob = blob.get();
+        fileBlob.setRefCount(fileBlob.getRefCount() - 1);
+        if (fileBlob.getRefCount() > 0) {
+            return false;
+        }
+        fileBlobRepository.delete(fileBlob);
+        return true;
+    }
+
+    /**
+     * 행을 잠그고 참조가 없을 때만 파일 삭제(그 사이 다시 올린 파일은 지우지 않는다)
+     */
+    private void deleteIfUnreferenced(StorageBucket bucket, String name) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (fileBlobRepository.findForUpdate(key(bucket, name)).isEmpty()) {
+                    deleteBlob(bucket, name);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("파일 삭제 실패 - {}/{}: {}", bucket, name, e.getMessage());
+        }
+    }
+
+    private void cleanupLater(StorageBucket bucket, String name) {
+        try {
+            cleanupExecutor.execute(() -> deleteIfUnreferenced(bucket, name));
+        } catch (RejectedExecutionException e) {
+            log.warn("종료 중이라 파일 삭제를 건너뜁니다 - {}/{}", bucket, name);
+        }
+    }
+
+    private void deleteBlob(StorageBucket bucket, String name) {
+        try {
+            blobBackend.delete(bucket, name);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패 - {}/{}: {}", bucket, name, e.getMessage());
+        }
+        Path localPath = blobBackend.localPath(bucket, name);
+        if (localPath != null) {
+            imageProcessingService.deleteDerivatives(localPath);
+        }
+        // 요청 크기 파생본(/img/{hash})
+        int dot = name.lastIndexOf('.');
+        imageResizeService.deleteDerivatives(dot < 0 ? name : name.substring(0, dot));
+    }
+
+    /**
+     * 호출한 트랜잭션이 롤백되면 새로 쓴 파일 정리(참조 수 증가는 DB에서 함께 롤백된다)
+     */
+    private void deleteOnRollback(StorageBucket bucket, String name) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    cleanupLater(bucket, name);
+                }
+            }
+        });
+    }
+
+    static String extensionOf(String originalFileName) {
+        if (originalFileName == null) {
+            return DEFAULT_EXTENSION;
+        }
+        int dot = originalFileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : originalFileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return ALLOWED_EXTENSIONS.contains(extension) ? extension : DEFAULT_EXTENSION;
+    }
+
+    private static String key(StorageBucket bucket, String name) {
+        return bucket.name() + "/" + name;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 트랜잭션 콜백 안에서 IOException 전달용
+     */
+    private static class FileStorageException extends RuntimeException {
+        FileStorageException(String message, IOException cause) {
+            super(message, cause);
+        }
+    }
+}
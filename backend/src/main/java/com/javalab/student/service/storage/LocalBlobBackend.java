@@ -0,0 +1,88 @@
+package com.javalab.student.service.storage;
+
+import com.javalab.student.constant.StorageBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 로컬 파일 시스템 저장소 (storage.backend=local, 기본값)
+ * - 버킷별 폴더 : itemImgLocation, petImgLocation, postImgLocation (기존 이미지 URL 그대로 제공)
+ * - 임시 파일은 같은 폴더에 ".upload-*.tmp"로 만들고, 저장할 때 이름만 바꾼다.(ATOMIC_MOVE)
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local", matchIfMissing = true)
+public class LocalBlobBackend implements BlobBackend {
+
+    private final Map<StorageBucket, Path> directories = new EnumMap<>(StorageBucket.class);
+
+    public LocalBlobBackend(@Value("${itemImgLocation}") String itemImgLocation,
+                            @Value("${petImgLocation}") String petImgLocation,
+                            @Value("${postImgLocation}") String postImgLocation) {
+        directories.put(StorageBucket.ITEM, Paths.get(itemImgLocation));
+        directories.put(StorageBucket.PET, Paths.get(petImgLocation));
+        directories.put(StorageBucket.POST, Paths.get(postImgLocation));
+    }
+
+    @Override
+    public Path createSpoolFile(StorageBucket bucket) throws IOException {
+        Path directory = directories.get(bucket);
+        Files.createDirectories(directory);
+        return directory.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+    }
+
+    @Override
+    public boolean putIfAbsent(StorageBucket bucket, String name, Path spoolFile) throws IOException {
+        Path target = localPath(bucket, name);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(spoolFile);
+            return false;
+        }
+        try {
+            Files.move(spoolFile, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(spoolFile);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean exists(StorageBucket bucket, String name) {
+        return Files.exists(localPath(bucket, name));
+    }
+
+    @Override
+    public Path localPath(StorageBucket bucket, String name) {
+        Path directory = directories.get(bucket);
+        Path path = directory.resolve(name).normalize();
+        // 경로 조작(../) 방지
+        if (!path.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("잘못된 파일 이름입니다: " + name);
+        }
+        return path;
+    }
+
+    @Override
+    public ReadableByteChannel open(StorageBucket bucket, String name) throws IOException {
+        return FileChannel.open(localPath(bucket, name), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean delete(StorageBucket bucket, String name) throws IOException {
+        return Files.deleteIfExists(localPath(bucket, name));
+    }
+}
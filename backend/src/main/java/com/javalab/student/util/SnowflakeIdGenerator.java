@@ -0,0 +1,68 @@
+package com.javalab.student.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake 방식 ID 생성기
+ * - DB를 거치지 않고 서버 안에서 시간 순으로 증가하는 ID를 만든다.
+ *   [41비트 : 기준 시각(2024-01-01 UTC) 이후 밀리초][5비트 : 서버 번호][7비트 : 같은 밀리초 안의 순번]
+ * - 브라우저(JavaScript Number)에서 반올림되지 않도록 전체를 53비트 이하로 만든다.(Number.MAX_SAFE_INTEGER)
+ * - 서버 번호(chat.snowflake.node-id, 0 ~ 31)는 서버마다 달라야 하며 기본값이 없다.
+ *   지정하지 않으면 ID를 만들 수 없다.(stream 모드는 시작할 때 확인한다 - StreamMessageStore)
+ * - 시계가 뒤로 가면 마지막 시각을 그대로 사용하여 ID가 줄어들지 않게 한다.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    public static final long UNASSIGNED = -1L;
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public SnowflakeIdGenerator(@Value("${chat.snowflake.node-id:-1}") long nodeId) {
+        if (nodeId != UNASSIGNED && (nodeId < 0 || nodeId > MAX_NODE_ID)) {
+            throw new IllegalArgumentException("chat.snowflake.node-id는 0 ~ " + MAX_NODE_ID + " 사이여야 합니다.");
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        if (!isAssigned()) {
+            throw new IllegalStateException("chat.snowflake.node-id가 지정되지 않았습니다.");
+        }
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 밀리초 안의 순번을 모두 쓰면 다음 밀리초로 넘긴다.
+                timestamp = lastTimestamp + 1;
+                while (System.currentTimeMillis() < timestamp) {
+                    Thread.onSpinWait();
+                }
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * 서버 번호가 지정되었는지 여부
+     */
+    public boolean isAssigned() {
+        return nodeId != UNASSIGNED;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
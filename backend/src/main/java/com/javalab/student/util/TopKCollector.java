@@ -0,0 +1,54 @@
+package com.javalab.student.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 상위 K개 집계 유틸리티
+ * - (키, 값) 쌍을 하나씩 받아서 값이 큰 상위 K개만 유지한다.
+ * - 크기 K의 최소 힙(PriorityQueue)을 사용하므로 전체 정렬(N log N) 대신 N log K 로 처리하고,
+ *   메모리도 K개만 사용한다.
+ * - 스레드 안전하지 않으므로 한 스레드에서 사용한다.
+ * @param <K> 키 타입(예: 상품 ID)
+ */
+public class TopKCollector<K> {
+
+    private final int k;
+    private final PriorityQueue<Map.Entry<K, Long>> heap;
+
+    // 값 오름차순(최소 힙)
+    private final Comparator<Map.Entry<K, Long>> order = Map.Entry.comparingByValue();
+
+    public TopKCollector(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k는 1 이상이어야 합니다: " + k);
+        }
+        this.k = k;
+        this.heap = new PriorityQueue<>(k, order);
+    }
+
+    /**
+     * 값 하나 반영
+     * - 힙이 가득 찼고 최소값보다 작거나 같으면 바로 버린다.
+     */
+    public void offer(K key, long value) {
+        if (heap.size() < k) {
+            heap.offer(Map.entry(key, value));
+        } else if (value > heap.peek().getValue()) {
+            heap.poll();
+            heap.offer(Map.entry(key, value));
+        }
+    }
+
+    /**
+     * 상위 K개를 값 내림차순으로 반환
+     */
+    public List<Map.Entry<K, Long>> result() {
+        List<Map.Entry<K, Long>> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
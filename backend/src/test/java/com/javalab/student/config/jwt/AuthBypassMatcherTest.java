@@ -0,0 +1,71 @@
+package com.javalab.student.config.jwt;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 토큰 인증 필터 우회 경로 판별 테스트
+ * - 기존 필터의 판별 방식(정확히 일치 Set.contains, 접두사 startsWith)과 결과가 같아야 한다.
+ */
+class AuthBypassMatcherTest {
+
+    private final AuthBypassMatcher matcher = new AuthBypassMatcher(
+            AuthBypassMatcher.DEFAULT_EXACT_PATHS, AuthBypassMatcher.DEFAULT_PREFIXES);
+
+    /**
+     * 기존 필터의 판별 방식
+     */
+    private boolean legacyMatches(String path) {
+        return AuthBypassMatcher.DEFAULT_EXACT_PATHS.contains(path)
+                || AuthBypassMatcher.DEFAULT_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    @Test
+    @DisplayName("정확히 일치해야 하는 경로는 하위 경로를 우회하지 않는다")
+    void exactPaths() {
+        assertThat(matcher.matches("/api/auth/login")).isTrue();
+        assertThat(matcher.matches("/api/members/checkEmail")).isTrue();
+        assertThat(matcher.matches("/ping.js")).isTrue();
+        assertThat(matcher.matches("/api/auth/login/")).isFalse();
+        assertThat(matcher.matches("/api/auth/logout")).isFalse();
+        assertThat(matcher.matches("/api/members")).isFalse();
+    }
+
+    @Test
+    @DisplayName("접두사 경로는 startsWith와 같이 동작한다")
+    void prefixes() {
+        assertThat(matcher.matches("/ws")).isTrue();
+        assertThat(matcher.matches("/wsx")).isTrue();
+        assertThat(matcher.matches("/ws/info/123")).isTrue();
+        assertThat(matcher.matches("/api/postsXYZ")).isTrue();
+        assertThat(matcher.matches("/api/posts/1/comments")).isTrue();
+        assertThat(matcher.matches("/api/item/view/3")).isTrue();
+        assertThat(matcher.matches("/api/item/view")).isFalse();
+        assertThat(matcher.matches("/images/a.png")).isTrue();
+        assertThat(matcher.matches("/image")).isFalse();
+        assertThat(matcher.matches("/api/cart/list")).isFalse();
+        assertThat(matcher.matches("/")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("기존 판별 방식과 결과가 같다")
+    void sameAsLegacy() {
+        List<String> paths = List.of(
+                "/api/auth/login", "/api/auth/userInfo", "/api/auth/logout", "/api/auth/login/kakao",
+                "/api/members/register", "/api/members/checkEmail", "/api/members/1",
+                "/ping.js", "/ping.jsx", "/swagger-ui/index.html", "/swagger", "/v3/api-docs/swagger-config",
+                "/ws", "/ws/info", "/wsinfo", "/w", "/api/item/list", "/api/item/list/2", "/api/item/new",
+                "/api/item/view/", "/api/item/view/10", "/topic/chat/5", "/topic/chat", "/api/notices",
+                "/api/notices/3", "/api/posts", "/api/posts/7/like", "/images/x.png", "/image/y.jpg",
+                "/imag", "/api/cart", "/api/orders", "/api/pets/1", "/admin", "/");
+        for (String path : paths) {
+            assertThat(matcher.matches(path)).as(path).isEqualTo(legacyMatches(path));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.javalab.student.config.jwt;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.service.LocalAuthorityCache;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+import jakarta.transaction.Transactional;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인증 필터 지연시간 측정 (p50 / p99)
+ * - 로컬 권한 캐시를 매번 비운 경우(요청마다 Redis GET + JSON 역직렬화)와
+ *   로컬 권한 캐시를 사용하는 경우의 TokenAuthenticationFilter 처리 시간을 로그로 남긴다.
+ *   지연시간은 실행 환경에 따라 달라지므로 검증하지 않고, 로컬 캐시 적중 시 Redis를 조회하지 않는지만 검증한다.
+ * - Redis, DB가 필요하므로 AUTH_BENCHMARK=true 환경 변수가 있을 때만 실행한다.
+ */
+@SpringBootTest(properties = "security.authority-cache.ttl-ms=60000")
+@Transactional
+@Log4j2
+@EnabledIfEnvironmentVariable(named = "AUTH_BENCHMARK", matches = "true")
+public class TokenAuthenticationFilterLatencyTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final String EMAIL = "auth-benchmark@test.com";
+
+    @Autowired
+    private TokenAuthenticationFilter tokenAuthenticationFilter;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private LocalAuthorityCache localAuthorityCache;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @DisplayName("로컬 권한 캐시 적중 시 Redis 없이 인증하고, 적용 전후 p50/p99 지연시간을 기록한다")
+    public void compareFilterLatency() throws Exception {
+        Member member = new Member();
+        member.setEmail(EMAIL);
+        member.setName("인증필터벤치마크");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        memberRepository.save(member);
+        em.flush();
+
+        redisTemplate.opsForValue().set("AUTH:" + EMAIL, List.of("ROLE_USER"), Duration.ofMinutes(10));
+        String token = tokenProvider.generateToken(EMAIL, Duration.ofHours(1));
+
+        try {
+            long[] redisOnly = measure(token, true);
+            long[] localCache = measure(token, false);
+
+            log.info("[인증 필터 지연시간] Redis 매번 조회 - p50: {}us, p99: {}us / 로컬 캐시 - p50: {}us, p99: {}us",
+                    percentile(redisOnly, 50), percentile(redisOnly, 99),
+                    percentile(localCache, 50), percentile(localCache, 99));
+
+            // 로컬 캐시에 권한이 있으면 Redis의 권한 정보를 지워도 인증된다.(Redis 조회 없음)
+            assertThat(filter(token)).isEqualTo(200);
+            redisTemplate.delete("AUTH:" + EMAIL);
+            for (int i = 0; i < 100; i++) {
+                assertThat(filter(token)).isEqualTo(200);
+            }
+            // 로컬 캐시를 비우면 Redis를 조회하고, 권한 정보가 없으므로 거부된다.
+            localAuthorityCache.evictLocal(EMAIL);
+            assertThat(filter(token)).isEqualTo(401);
+        } finally {
+            redisTemplate.delete("AUTH:" + EMAIL);
+            localAuthorityCache.evictLocal(EMAIL);
+        }
+    }
+
+    /**
+     * 필터 호출 시간(나노초) 측정
+     * @param evictEachTime true이면 매 요청 전에 로컬 캐시를 비워 Redis를 조회하게 한다.
+     */
+    private long[] measure(String token, boolean evictEachTime) throws Exception {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            if (evictEachTime) {
+                localAuthorityCache.evictLocal(EMAIL);
+            }
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart/list");
+            request.setCookies(new Cookie("accToken", token));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            long start = System.nanoTime();
+            tokenAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            SecurityContextHolder.clearContext();
+            if (i >= WARMUP) {
+                samples[i - WARMUP] = elapsed;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 필터 한 번 호출
+     * @return 응답 상태 코드
+     */
+    private int filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart/list");
+        request.setCookies(new Cookie("accToken", token));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        tokenAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+
+    private long percentile(long[] samples, int percentile) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000;
+    }
+}
@@ -1,5 +1,6 @@
 package com.javalab.student.config.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import java.time.Duration;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Slf4j
@@ -44,4 +46,30 @@ class TokenProviderTest {
         // Then: 추출한 회원 ID가 원래 회원 ID와 같은지 검증
         assertThat(extractedMemberId).isEqualTo(memberId);
     }
+
+    @Test
+    @DisplayName("parseValidClaims(): 유효한 토큰은 클레임을, 변조/만료된 토큰은 null을 반환한다.")
+    void parseValidClaims() {
+        // Given
+        String token = tokenProvider.generateToken("claims@test.com", Duration.ofHours(1));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = tokenProvider.generateToken("claims@test.com", Duration.ofSeconds(-1));
+
+        // When
+        Claims first = tokenProvider.parseValidClaims(token);
+        Claims second = tokenProvider.parseValidClaims(token);
+
+        // Then: 두 번째 조회는 캐시된 클레임을 그대로 반환한다.
+        assertThat(first.getSubject()).isEqualTo("claims@test.com");
+        assertThat(second).isSameAs(first);
+        assertThat(tokenProvider.parseValidClaims(tampered)).isNull();
+        assertThat(tokenProvider.parseValidClaims(expired)).isNull();
+        assertThat(tokenProvider.validateToken(expired)).isFalse();
+
+        // 조회 메서드도 같은 캐시를 사용하고, 유효하지 않은 토큰은 IllegalArgumentException으로 알린다.
+        assertThat(tokenProvider.getEmailFromToken(token)).isEqualTo("claims@test.com");
+        assertThat(tokenProvider.getExpiration(token)).isEqualTo(first.getExpiration());
+        assertThatThrownBy(() -> tokenProvider.getEmailFromToken(tampered)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tokenProvider.getExpiration(expired)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -0,0 +1,163 @@
+package com.javalab.student.config.websoket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javalab.student.config.redis.ChatChannelSharding;
+import com.javalab.student.constant.ChatEventType;
+import com.javalab.student.dto.ChatEventDto;
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.service.ChatDeliveryService;
+import com.javalab.student.service.MessageSubscriberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 채팅 Redis 중계 팬아웃 테스트
+ * - 사용자 수와 상관없이 구독 채널 수는 샤드 수로 고정된다.
+ * - Redis 대신 두 서버(노드)의 구독 리스너에 같은 메시지를 직접 전달하여
+ *   구독 중인 사용자가 있는 서버에서만 웹소켓으로 전달되는지 확인한다.
+ */
+class ChatFanoutTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ChatChannelSharding sharding = new ChatChannelSharding(16);
+
+    @Test
+    @DisplayName("10만 명의 사용자도 샤드 채널 16개로 나뉜다")
+    void shardChannelsAreBounded() {
+        Set<String> subscribed = sharding.topics().stream()
+                .map(ChannelTopic::getTopic)
+                .collect(Collectors.toSet());
+        Set<String> used = new HashSet<>();
+        for (long userId = 1; userId <= 100_000; userId++) {
+            used.add(sharding.channelFor(userId));
+        }
+        assertThat(subscribed).hasSize(16);
+        assertThat(subscribed).containsAll(used);
+    }
+
+    @Test
+    @DisplayName("구독 중인 사용자가 있는 서버에서만 웹소켓으로 전달한다")
+    void relaysOnlyToLocalSubscribers() throws Exception {
+        SimpMessagingTemplate nodeATemplate = mock(SimpMessagingTemplate.class);
+        SimpMessagingTemplate nodeBTemplate = mock(SimpMessagingTemplate.class);
+        ChatSubscriptionRegistry nodeARegistry = new ChatSubscriptionRegistry();
+        ChatSubscriptionRegistry nodeBRegistry = new ChatSubscriptionRegistry();
+        // 전달 묶음 대기시간 0 : 호출 스레드에서 바로 전달
+        MessageSubscriberService nodeA = new MessageSubscriberService(
+                new ChatDeliveryService(nodeATemplate, objectMapper, 0, 100), objectMapper, nodeARegistry);
+        MessageSubscriberService nodeB = new MessageSubscriberService(
+                new ChatDeliveryService(nodeBTemplate, objectMapper, 0, 100), objectMapper, nodeBRegistry);
+
+        // 수신자 99999는 A 서버, 발신자 7은 B 서버에 접속
+        nodeARegistry.subscribe("session-a", "sub-0", "/topic/chat/99999");
+        nodeBRegistry.subscribe("session-b", "sub-0", "/topic/chat/7");
+
+        DefaultMessage redisMessage = toRedisMessage(7L, 99999L, "안녕하세요");
+        nodeA.onMessage(redisMessage, null);
+        nodeB.onMessage(redisMessage, null);
+
+        verify(nodeATemplate).send(eq("/topic/chat/99999"), any(Message.class));
+        verify(nodeATemplate, never()).send(eq("/topic/chat/7"), any(Message.class));
+        verify(nodeBTemplate).send(eq("/topic/chat/7"), any(Message.class));
+        verify(nodeBTemplate, never()).send(eq("/topic/chat/99999"), any(Message.class));
+
+        // 연결이 끊기면 더 이상 전달하지 않는다.
+        nodeARegistry.removeSession("session-a");
+        nodeA.onMessage(redisMessage, null);
+        verify(nodeATemplate, times(1)).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("채팅 이벤트는 수신 대상이 접속한 서버에서 종류별 목적지로 전달한다")
+    void routesEventsByRecipient() throws Exception {
+        SimpMessagingTemplate nodeATemplate = mock(SimpMessagingTemplate.class);
+        SimpMessagingTemplate nodeBTemplate = mock(SimpMessagingTemplate.class);
+        ChatSubscriptionRegistry nodeARegistry = new ChatSubscriptionRegistry();
+        ChatSubscriptionRegistry nodeBRegistry = new ChatSubscriptionRegistry();
+        MessageSubscriberService nodeA = new MessageSubscriberService(
+                new ChatDeliveryService(nodeATemplate, objectMapper, 0, 100), objectMapper, nodeARegistry);
+        MessageSubscriberService nodeB = new MessageSubscriberService(
+                new ChatDeliveryService(nodeBTemplate, objectMapper, 0, 100), objectMapper, nodeBRegistry);
+        nodeARegistry.subscribe("session-a", "sub-0", "/topic/chat/99999");
+        nodeBRegistry.subscribe("session-b", "sub-0", "/topic/chat/7");
+
+        // 새 메시지 : 수신자/발신자 모두에게 메시지 본문 전달
+        MessageResponseDto message = new MessageResponseDto();
+        message.setId(1L);
+        message.setSenderId(7L);
+        message.setReceiverId(99999L);
+        message.setContent("안녕하세요");
+        DefaultMessage created = toRedisMessage(ChatEventDto.created(message));
+        nodeA.onMessage(created, null);
+        nodeB.onMessage(created, null);
+        verify(nodeATemplate).send(eq("/topic/chat/99999"), any(Message.class));
+        verify(nodeBTemplate).send(eq("/topic/chat/7"), any(Message.class));
+
+        // 읽음 : 이벤트 경로로 전달, 메시지 ID를 채널로 쓰지 않는다.
+        DefaultMessage read = toRedisMessage(
+                ChatEventDto.update(ChatEventType.MESSAGE_READ, 1L, 7L, 99999L, null));
+        nodeA.onMessage(read, null);
+        nodeB.onMessage(read, null);
+        verify(nodeATemplate).send(eq("/topic/chat/99999/events"), any(Message.class));
+        verify(nodeBTemplate).send(eq("/topic/chat/7/events"), any(Message.class));
+
+        // 입력 중 : 수신자에게만 전달
+        DefaultMessage typing = toRedisMessage(ChatEventDto.typing(7L, 99999L));
+        nodeA.onMessage(typing, null);
+        nodeB.onMessage(typing, null);
+        verify(nodeATemplate, times(2)).send(eq("/topic/chat/99999/events"), any(Message.class));
+        verify(nodeBTemplate, times(1)).send(eq("/topic/chat/7/events"), any(Message.class));
+
+        // 모르는 봉투 버전은 건너뛴다.
+        ChatEventDto future = ChatEventDto.typing(7L, 99999L);
+        future.setV(ChatEventDto.VERSION + 1);
+        nodeA.onMessage(toRedisMessage(future), null);
+        verify(nodeATemplate, times(3)).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("같은 사용자의 구독이 모두 해제되어야 로컬 구독자에서 제외된다")
+    void registryCountsSubscriptions() {
+        ChatSubscriptionRegistry registry = new ChatSubscriptionRegistry();
+        registry.subscribe("s1", "sub-0", "/topic/chat/1");
+        registry.subscribe("s2", "sub-0", "/topic/chat/1");
+        registry.subscribe("s2", "sub-1", "/topic/notice");
+
+        registry.unsubscribe("s1", "sub-0");
+        assertThat(registry.hasLocalSubscriber(1L)).isTrue();
+        registry.removeSession("s2");
+        assertThat(registry.hasLocalSubscriber(1L)).isFalse();
+        assertThat(registry.localUserCount()).isZero();
+    }
+
+    private DefaultMessage toRedisMessage(ChatEventDto event) throws Exception {
+        return new DefaultMessage(sharding.channelFor(event.getReceiverId()).getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(event));
+    }
+
+    private DefaultMessage toRedisMessage(Long senderId, Long receiverId, String content) throws Exception {
+        String json = objectMapper.writeValueAsString(MessageRequestDto.builder()
+                .senderId(senderId)
+                .receiverId(receiverId)
+                .content(content)
+                .build());
+        return new DefaultMessage(sharding.channelFor(receiverId).getBytes(StandardCharsets.UTF_8),
+                json.getBytes(StandardCharsets.UTF_8));
+    }
+}
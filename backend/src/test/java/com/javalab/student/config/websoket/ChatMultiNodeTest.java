@@ -0,0 +1,129 @@
+package com.javalab.student.config.websoket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javalab.student.constant.ChatEventType;
+import com.javalab.student.dto.ChatEventDto;
+import com.javalab.student.service.ChatBroker;
+import com.javalab.student.service.ChatDeliveryService;
+import com.javalab.student.service.MessagePublisherService;
+import com.javalab.student.service.MessageSubscriberService;
+import com.javalab.student.service.PresenceService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 여러 서버(노드) 채팅 전달 테스트
+ * - Redis 대신 메모리 브로커(별도 스레드에서 모든 서버의 구독 리스너로 전달)를 두고 서버 두 대를 구성한다.
+ * - A 서버에서 발행한 이벤트가 B 서버에 접속한 사용자에게 한 번씩 발행 순서대로 전달되고, A 서버로는 전달되지 않는지 확인한다.
+ *   전달 지연시간(p50/p99)은 실행 환경에 따라 달라지므로 로그로만 남긴다.
+ * - 수신 대상이 모두 오프라인이면 직렬화/발행하지 않는지 확인한다.
+ */
+@Slf4j
+class ChatMultiNodeTest {
+
+    private static final int EVENT_COUNT = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    // Redis Pub/Sub 대용 : 발행 스레드와 다른 스레드에서 구독 리스너를 호출한다.
+    private final ExecutorService bus = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A 서버에서 발행한 이벤트가 B 서버 접속자에게만 발행 순서대로 한 번씩 전달된다")
+    void crossesNodesInOrder() throws Exception {
+        long[] latencies = new long[EVENT_COUNT];
+        List<Long> deliveredIds = new CopyOnWriteArrayList<>();
+        ConcurrentHashMap<Long, Long> publishedAt = new ConcurrentHashMap<>();
+        CountDownLatch delivered = new CountDownLatch(EVENT_COUNT);
+
+        SimpMessagingTemplate nodeATemplate = mock(SimpMessagingTemplate.class);
+        SimpMessagingTemplate nodeBTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            long now = System.nanoTime();
+            Message<?> frame = invocation.getArgument(1);
+            ChatEventDto event = objectMapper.readValue((byte[]) frame.getPayload(), ChatEventDto.class);
+            latencies[event.getMessageId().intValue()] = now - publishedAt.get(event.getMessageId());
+            deliveredIds.add(event.getMessageId());
+            delivered.countDown();
+            return null;
+        }).when(nodeBTemplate).send(anyString(), any(Message.class));
+
+        MessageSubscriberService nodeA = node(nodeATemplate, new ChatSubscriptionRegistry());
+        ChatSubscriptionRegistry nodeBRegistry = new ChatSubscriptionRegistry();
+        nodeBRegistry.subscribe("session-b", "sub-0", "/topic/chat/2");
+        MessageSubscriberService nodeB = node(nodeBTemplate, nodeBRegistry);
+
+        // 메모리 브로커 : 모든 서버의 구독 리스너로 전달
+        ChatBroker broker = (event, json) -> bus.execute(() -> {
+            nodeA.dispatch(json);
+            nodeB.dispatch(json);
+        });
+        PresenceService presenceService = mock(PresenceService.class);
+        when(presenceService.onlineAmong(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        MessagePublisherService publisher = new MessagePublisherService(broker, objectMapper, presenceService);
+
+        for (long i = 0; i < EVENT_COUNT; i++) {
+            publishedAt.put(i, System.nanoTime());
+            // 발신자 1은 어느 서버에도 구독하지 않았다.
+            publisher.publish(ChatEventDto.update(ChatEventType.MESSAGE_READ, i, 1L, 2L, null));
+        }
+        assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        verify(nodeATemplate, never()).send(anyString(), any(Message.class));
+        verify(nodeBTemplate, times(EVENT_COUNT)).send(eq("/topic/chat/2/events"), any(Message.class));
+        assertThat(deliveredIds).containsExactlyElementsOf(LongStream.range(0, EVENT_COUNT).boxed().toList());
+
+        Arrays.sort(latencies);
+        log.info("[여러 서버 채팅 전달] {}건 - p50: {}us, p99: {}us", EVENT_COUNT,
+                TimeUnit.NANOSECONDS.toMicros(latencies[EVENT_COUNT / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[EVENT_COUNT * 99 / 100]));
+    }
+
+    @Test
+    @DisplayName("수신 대상이 모두 오프라인이면 발행하지 않는다")
+    void skipsOfflineRecipients() {
+        ChatBroker broker = mock(ChatBroker.class);
+        PresenceService presenceService = mock(PresenceService.class);
+        when(presenceService.onlineAmong(any())).thenReturn(List.of());
+        MessagePublisherService publisher = new MessagePublisherService(broker, objectMapper, presenceService);
+
+        publisher.publish(ChatEventDto.typing(1L, 2L));
+        verifyNoInteractions(broker);
+
+        // 발신자만 접속 중이면 발신자에게만 발행한다.
+        when(presenceService.onlineAmong(any())).thenReturn(List.of(1L));
+        ChatEventDto read = ChatEventDto.update(ChatEventType.MESSAGE_READ, 10L, 1L, 2L, null);
+        publisher.publish(read);
+        verify(broker).publish(eq(read), anyString());
+        assertThat(read.getRecipients()).containsExactly(1L);
+    }
+
+    private MessageSubscriberService node(SimpMessagingTemplate template, ChatSubscriptionRegistry registry) {
+        // 전달 묶음 대기시간 0 : 구독 스레드에서 바로 전달
+        return new MessageSubscriberService(
+                new ChatDeliveryService(template, objectMapper, 0, EVENT_COUNT), objectMapper, registry);
+    }
+}
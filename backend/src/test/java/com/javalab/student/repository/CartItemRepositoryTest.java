@@ -0,0 +1,141 @@
+package com.javalab.student.repository;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.shop.CartDetailDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Cart;
+import com.javalab.student.entity.shop.CartItem;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.ItemImg;
+import com.javalab.student.repository.shop.CartItemRepository;
+import com.javalab.student.repository.shop.CartRepository;
+import com.javalab.student.repository.shop.ItemImgRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 장바구니 목록 조회 쿼리 테스트
+ * - 상품 이미지가 여러 장이어도 장바구니 상품당 한 행만 조회되어야 한다.
+ * - 장바구니 상품 금액(가격 * 수량)을 함께 조회한다.
+ * - 실행 계획에서 cart_item / item_img 인덱스를 사용하는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class CartItemRepositoryTest {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemImgRepository itemImgRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private Item createItem(String itemNm, long price, int imageCount) {
+        Item item = itemRepository.save(Item.builder()
+                .itemNm(itemNm)
+                .price(price)
+                .stockNumber(100)
+                .itemDetail("장바구니 조회 테스트")
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build());
+        for (int i = 0; i < imageCount; i++) {
+            ItemImg itemImg = new ItemImg();
+            itemImg.setItem(item);
+            itemImg.setImgName(itemNm + i + ".jpg");
+            itemImg.setOriImgName(itemNm + i + ".jpg");
+            itemImg.setImgUrl("/images/item/" + itemNm + i + ".jpg");
+            itemImg.setRepimgYn(i == 0 ? "Y" : "N");
+            itemImgRepository.save(itemImg);
+        }
+        return item;
+    }
+
+    private Cart createCart() {
+        Member member = memberRepository.save(Member.builder()
+                .name("장바구니테스트")
+                .email("cart-query@test.com")
+                .role(Role.USER)
+                .points(0)
+                .social(false)
+                .build());
+        return cartRepository.save(Cart.createCart(member));
+    }
+
+    @Test
+    @DisplayName("이미지 5장 상품도 장바구니에는 한 행만 조회되고 금액은 SQL에서 계산된다")
+    void findCartDetailDtoListReturnsOneRowPerLine() {
+        Cart cart = createCart();
+        Item itemWithImages = createItem("이미지5장상품", 1000L, 5);
+        Item itemWithoutImage = createItem("이미지없는상품", 2500L, 0);
+        cartItemRepository.save(CartItem.createCartItem(cart, itemWithImages, 3));
+        cartItemRepository.save(CartItem.createCartItem(cart, itemWithoutImage, 2));
+        em.flush();
+        em.clear();
+
+        List<CartDetailDto> cartDetailDtoList = cartItemRepository.findCartDetailDtoList(cart.getId());
+
+        assertThat(cartDetailDtoList).hasSize(2);
+        CartDetailDto withImages = cartDetailDtoList.stream()
+                .filter(dto -> dto.getItemNm().equals("이미지5장상품")).findFirst().orElseThrow();
+        assertThat(withImages.getImgUrl()).isEqualTo("/images/item/이미지5장상품0.jpg");
+        assertThat(withImages.getTotalPrice()).isEqualTo(3000L);
+
+        CartDetailDto withoutImage = cartDetailDtoList.stream()
+                .filter(dto -> dto.getItemNm().equals("이미지없는상품")).findFirst().orElseThrow();
+        assertThat(withoutImage.getImgUrl()).isNull();
+        assertThat(withoutImage.getTotalPrice()).isEqualTo(5000L);
+    }
+
+    @Test
+    @DisplayName("장바구니 목록 조회 실행 계획은 cart_item, item_img 인덱스를 사용한다")
+    void findCartDetailDtoListUsesIndexes() {
+        Cart cart = createCart();
+        for (int i = 0; i < 20; i++) {
+            cartItemRepository.save(CartItem.createCartItem(cart, createItem("실행계획상품" + i, 1000L, 3), 1));
+        }
+        em.flush();
+
+        // findCartDetailDtoList가 생성하는 SQL과 같은 형태의 쿼리
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "explain select ci.cart_item_id, i.item_nm, i.price, ci.count, " +
+                "(select max(im.img_url) from item_img im where im.item_id = i.item_id and im.repimg_yn = 'Y'), " +
+                "i.price * ci.count " +
+                "from cart_item ci join item i on i.item_id = ci.item_id " +
+                "where ci.cart_id = ? order by ci.reg_time desc", cart.getId());
+
+        Map<String, Object> cartItemRow = plan.stream()
+                .filter(row -> "ci".equals(row.get("table"))).findFirst().orElseThrow();
+        Map<String, Object> itemImgRow = plan.stream()
+                .filter(row -> "im".equals(row.get("table"))).findFirst().orElseThrow();
+
+        assertThat(cartItemRow.get("key")).isEqualTo("idx_cart_item_cart_reg");
+        assertThat(String.valueOf(cartItemRow.get("Extra"))).doesNotContain("filesort");
+        assertThat(itemImgRow.get("key")).isEqualTo("idx_item_img_item_rep");
+    }
+}
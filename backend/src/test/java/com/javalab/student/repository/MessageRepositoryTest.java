@@ -0,0 +1,147 @@
+package com.javalab.student.repository;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.dto.MessageSliceDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.Message;
+import com.javalab.student.service.MessageService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 커서(reg_time, msg_id) 페이지 조회 테스트
+ * - 커서를 따라가면 대화 전체를 중복/누락 없이 최신순으로 조회한다.
+ * - DTO로 바로 조회하므로 회원 엔티티를 영속성 컨텍스트에 올리지 않는다.
+ * - 실행 계획에서 메시지 인덱스를 사용하고 filesort가 없어야 한다.
+ */
+@SpringBootTest
+@Transactional
+class MessageRepositoryTest {
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private Member createMember(String email) {
+        return memberRepository.save(Member.builder()
+                .name("메시지테스트")
+                .email(email)
+                .role(Role.USER)
+                .points(0)
+                .social(false)
+                .build());
+    }
+
+    private void createConversation(Member a, Member b, int count) {
+        for (int i = 0; i < count; i++) {
+            boolean fromA = i % 3 != 0;
+            messageRepository.save(Message.builder()
+                    .sender(fromA ? a : b)
+                    .receiver(fromA ? b : a)
+                    .content("메시지 " + i)
+                    .read(false)
+                    .build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("대화 커서 페이지를 따라가면 전체 메시지를 중복 없이 최신순으로 조회한다")
+    void conversationPagesCoverAllMessages() {
+        Member a = createMember("message-cursor-a@test.com");
+        Member b = createMember("message-cursor-b@test.com");
+        createConversation(a, b, 25);
+
+        List<MessageResponseDto> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MessageSliceDto slice = messageService.getConversationPage(a.getId(), b.getId(), cursor, 10);
+            all.addAll(slice.getMessages());
+            cursor = slice.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(all).hasSize(25);
+        Set<Long> ids = new HashSet<>();
+        all.forEach(message -> ids.add(message.getId()));
+        assertThat(ids).hasSize(25);
+        for (int i = 1; i < all.size(); i++) {
+            MessageResponseDto newer = all.get(i - 1);
+            MessageResponseDto older = all.get(i);
+            assertThat(newer.getRegTime().isAfter(older.getRegTime())
+                    || (newer.getRegTime().isEqual(older.getRegTime()) && newer.getId() > older.getId())).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("받은 메시지 조회는 회원 엔티티를 로딩하지 않는다")
+    void inboxDoesNotLoadMembers() {
+        Member a = createMember("message-inbox-a@test.com");
+        Member b = createMember("message-inbox-b@test.com");
+        createConversation(a, b, 12);
+
+        List<MessageResponseDto> inbox = messageRepository.findInbox(b.getId(), PageRequest.of(0, 20));
+
+        assertThat(inbox).hasSize(8);
+        assertThat(inbox).allMatch(message -> "메시지테스트".equals(message.getSenderName()));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("받은 메시지 / 대화 조회 실행 계획은 메시지 인덱스를 사용하고 filesort가 없다")
+    void keysetQueriesUseIndexes() {
+        Member a = createMember("message-plan-a@test.com");
+        Member b = createMember("message-plan-b@test.com");
+        createConversation(a, b, 30);
+
+        // findInboxBefore / findDirectionBefore가 생성하는 SQL과 같은 형태의 쿼리
+        List<Map<String, Object>> inboxPlan = jdbcTemplate.queryForList(
+                "explain select m.msg_id from message m join member s on s.user_id = m.sender_id " +
+                "where m.receiver_id = ? and (m.reg_time < now() or (m.reg_time = now() and m.msg_id < ?)) " +
+                "order by m.reg_time desc, m.msg_id desc limit 21", b.getId(), Long.MAX_VALUE);
+        List<Map<String, Object>> directionPlan = jdbcTemplate.queryForList(
+                "explain select m.msg_id from message m join member s on s.user_id = m.sender_id " +
+                "where m.sender_id = ? and m.receiver_id = ? " +
+                "order by m.reg_time desc, m.msg_id desc limit 21", a.getId(), b.getId());
+
+        Map<String, Object> inboxRow = inboxPlan.stream()
+                .filter(row -> "m".equals(row.get("table"))).findFirst().orElseThrow();
+        Map<String, Object> directionRow = directionPlan.stream()
+                .filter(row -> "m".equals(row.get("table"))).findFirst().orElseThrow();
+
+        assertThat(inboxRow.get("key")).isEqualTo("idx_message_receiver_reg");
+        assertThat(String.valueOf(inboxRow.get("Extra"))).doesNotContain("filesort");
+        assertThat(directionRow.get("key")).isEqualTo("idx_message_sender_receiver_reg");
+        assertThat(String.valueOf(directionRow.get("Extra"))).doesNotContain("filesort");
+    }
+}
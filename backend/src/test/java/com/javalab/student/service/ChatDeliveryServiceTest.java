@@ -0,0 +1,113 @@
+package com.javalab.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 채팅 웹소켓 전달 테스트
+ * - 한 번 직렬화한 프레임을 여러 목적지에 재사용하는지
+ * - 묶음 대기시간 동안 모인 메시지를 목적지별 순서대로 전달하는지
+ * - 대기열이 가득 차 바로 전달할 때도 목적지 안의 순서를 지키는지
+ * - 전달이 끝난 목적지의 대기열이 남지 않는지
+ */
+class ChatDeliveryServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("여러 목적지에 같은 프레임을 재사용한다")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void reusesFrameForAllDestinations() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        ChatDeliveryService deliveryService = new ChatDeliveryService(template, objectMapper, 0, 100);
+
+        deliveryService.deliver(Map.of("content", "안녕"), "/topic/chat/1", "/topic/chat/2");
+
+        ArgumentCaptor<Message> frames = ArgumentCaptor.forClass(Message.class);
+        verify(template).send(eq("/topic/chat/1"), frames.capture());
+        verify(template).send(eq("/topic/chat/2"), frames.capture());
+        assertThat(frames.getAllValues().get(0)).isSameAs(frames.getAllValues().get(1));
+        assertThat(deliveryService.stats().delivered()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("묶음 대기시간 동안 모인 메시지를 순서대로 전달한다")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void batchesWithinWindow() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        ChatDeliveryService deliveryService = new ChatDeliveryService(template, objectMapper, 50, 100);
+
+        for (int i = 0; i < 3; i++) {
+            deliveryService.deliver("{\"seq\":" + i + "}", "/topic/chat/1");
+        }
+        assertThat(deliveryService.stats().queueDepth()).isEqualTo(3);
+
+        ArgumentCaptor<Message> frames = ArgumentCaptor.forClass(Message.class);
+        verify(template, timeout(2_000).times(3)).send(eq("/topic/chat/1"), frames.capture());
+        List<String> bodies = frames.getAllValues().stream()
+                .map(frame -> new String((byte[]) frame.getPayload(), StandardCharsets.UTF_8))
+                .toList();
+        assertThat(bodies).containsExactly("{\"seq\":0}", "{\"seq\":1}", "{\"seq\":2}");
+        assertThat(deliveryService.stats().queueDepth()).isZero();
+        deliveryService.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 그 목적지의 대기 메시지를 먼저 보내고 호출 스레드에서 바로 전달한다")
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void sendsDirectlyWhenQueueIsFull() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        ChatDeliveryService deliveryService = new ChatDeliveryService(template, objectMapper, 60_000, 1);
+
+        deliveryService.deliver("{\"seq\":0}", "/topic/chat/1");
+        verify(template, never()).send(eq("/topic/chat/1"), any(Message.class));
+        deliveryService.deliver("{\"seq\":1}", "/topic/chat/1");
+
+        // 묶음 대기시간을 기다리지 않고 순서대로 전달
+        ArgumentCaptor<Message> frames = ArgumentCaptor.forClass(Message.class);
+        verify(template, times(2)).send(eq("/topic/chat/1"), frames.capture());
+        List<String> bodies = frames.getAllValues().stream()
+                .map(frame -> new String((byte[]) frame.getPayload(), StandardCharsets.UTF_8))
+                .toList();
+        assertThat(bodies).containsExactly("{\"seq\":0}", "{\"seq\":1}");
+        assertThat(deliveryService.stats().queueDepth()).isZero();
+        deliveryService.shutdown();
+    }
+
+    @Test
+    @DisplayName("전달이 끝난 목적지의 대기열은 제거한다")
+    void removesDrainedQueues() {
+        SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+        ChatDeliveryService deliveryService = new ChatDeliveryService(template, objectMapper, 60_000, 100);
+
+        for (int i = 0; i < 50; i++) {
+            deliveryService.deliver("{\"seq\":" + i + "}", "/topic/chat/" + i);
+        }
+        assertThat(deliveryService.pendingDestinations()).isEqualTo(50);
+
+        deliveryService.flush();
+
+        verify(template, times(50)).send(any(String.class), any(Message.class));
+        assertThat(deliveryService.pendingDestinations()).isZero();
+        assertThat(deliveryService.stats().queueDepth()).isZero();
+
+        // 제거된 목적지에도 다시 대기열을 만들어 전달한다.
+        deliveryService.deliver("{\"seq\":50}", "/topic/chat/0");
+        assertThat(deliveryService.pendingDestinations()).isEqualTo(1);
+        deliveryService.shutdown();
+        verify(template, times(2)).send(eq("/topic/chat/0"), any(Message.class));
+    }
+}
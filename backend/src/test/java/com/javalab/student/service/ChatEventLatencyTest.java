@@ -0,0 +1,175 @@
+package com.javalab.student.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javalab.student.config.redis.ChatChannelSharding;
+import com.javalab.student.config.websoket.ChatSubscriptionRegistry;
+import com.javalab.student.constant.ChatEventType;
+import com.javalab.student.dto.ChatEventDto;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 채팅 이벤트 서버 간 전달 지연 측정
+ * - 한 JVM 안에 Redis 연결/구독 컨테이너를 따로 가진 서버 두 대(A, B)를 구성한다.
+ * - Redis Pub/Sub 브로커(RedisPubSubChatBroker)와 Redis Stream 브로커(RedisStreamChatBroker)를 각각 측정한다.
+ * - A 서버에서 발행한 이벤트가 Redis를 거쳐 B 서버의 웹소켓 전송(SimpMessagingTemplate.send)까지
+ *   도달하는 시간의 p50/p99/최대를 측정한다. A 서버에는 구독자가 없으므로 전달되지 않아야 한다.
+ * - CHAT_EVENT_BENCHMARK=true 환경 변수가 있을 때만 실행한다. Redis(REDIS_HOST, REDIS_PORT)가 필요하다.
+ */
+@Log4j2
+@EnabledIfEnvironmentVariable(named = "CHAT_EVENT_BENCHMARK", matches = "true")
+public class ChatEventLatencyTest {
+
+    private static final int EVENT_COUNT = 5_000;
+    private static final int USER_COUNT = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ChatChannelSharding sharding = new ChatChannelSharding(16);
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Node node : nodes) {
+            if (node.broker instanceof RedisStreamChatBroker streamBroker) {
+                streamBroker.stop();
+            }
+            node.container.stop();
+            node.container.destroy();
+            node.connectionFactory.destroy();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"redis-pubsub", "redis-stream"})
+    @DisplayName("서버 A에서 발행한 채팅 이벤트가 서버 B의 웹소켓 전송까지 걸리는 시간")
+    public void measureCrossNodeLatency(String brokerMode) throws Exception {
+        Map<Long, Long> publishedAt = new ConcurrentHashMap<>();
+        long[] latencies = new long[EVENT_COUNT];
+        CountDownLatch delivered = new CountDownLatch(EVENT_COUNT);
+
+        // 서버 B : 웹소켓 전송 시각 기록
+        SimpMessagingTemplate nodeBTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            long now = System.nanoTime();
+            Message<?> frame = invocation.getArgument(1);
+            ChatEventDto event = objectMapper.readValue((byte[]) frame.getPayload(), ChatEventDto.class);
+            int index = event.getMessageId().intValue();
+            latencies[index] = now - publishedAt.get(event.getMessageId());
+            delivered.countDown();
+            return null;
+        }).when(nodeBTemplate).send(anyString(), any(Message.class));
+        SimpMessagingTemplate nodeATemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            throw new AssertionError("구독자가 없는 서버 A로 전달되었습니다.");
+        }).when(nodeATemplate).send(anyString(), any(Message.class));
+
+        Node nodeA = startNode(brokerMode, nodeATemplate);
+        Node nodeB = startNode(brokerMode, nodeBTemplate);
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            nodeB.registry.subscribe("session-" + userId, "sub-0", "/topic/chat/" + userId);
+        }
+        // 구독 연결이 맺어질 때까지 잠시 대기
+        Thread.sleep(500);
+
+        // 수신 대상은 모두 접속 중으로 본다.
+        PresenceService presenceService = mock(PresenceService.class);
+        when(presenceService.onlineAmong(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        MessagePublisherService publisher = new MessagePublisherService(nodeA.broker, objectMapper, presenceService);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            long receiverId = i % USER_COUNT + 1;
+            // 발신자(101~200)는 어느 서버에도 구독하지 않아 이벤트당 한 번만 전달된다.
+            long senderId = receiverId + USER_COUNT;
+            publishedAt.put((long) i, System.nanoTime());
+            publisher.publish(ChatEventDto.update(ChatEventType.MESSAGE_READ, (long) i, senderId, receiverId, null));
+        }
+        assertThat(delivered.await(60, TimeUnit.SECONDS)).isTrue();
+        double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        Arrays.sort(latencies);
+        log.info("[채팅 이벤트 서버 간 지연] {} - {}건, {}ms - p50: {}ms, p99: {}ms, 최대: {}ms",
+                brokerMode, EVENT_COUNT, elapsedMs,
+                latencies[EVENT_COUNT / 2] / 1_000_000.0,
+                latencies[EVENT_COUNT * 99 / 100] / 1_000_000.0,
+                latencies[EVENT_COUNT - 1] / 1_000_000.0);
+    }
+
+    /**
+     * 서버 한 대 구성 : Redis 연결, 발행용 템플릿, 채팅 브로커(구독 포함), 전달 서비스
+     */
+    private Node startNode(String brokerMode, SimpMessagingTemplate messagingTemplate) throws Exception {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, String> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
+
+        ChatSubscriptionRegistry registry = new ChatSubscriptionRegistry();
+        // 전달 묶음 대기시간 0 : 구독 스레드에서 바로 전달하여 Redis 구간 지연만 측정
+        MessageSubscriberService subscriber = new MessageSubscriberService(
+                new ChatDeliveryService(messagingTemplate, objectMapper, 0, EVENT_COUNT), objectMapper, registry);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+
+        ChatBroker broker;
+        if ("redis-stream".equals(brokerMode)) {
+            RedisStreamChatBroker streamBroker =
+                    new RedisStreamChatBroker(template, connectionFactory, subscriber, EVENT_COUNT * 2L);
+            streamBroker.start();
+            broker = streamBroker;
+        } else {
+            RedisPubSubChatBroker pubSubBroker =
+                    new RedisPubSubChatBroker(template, sharding, container, subscriber);
+            pubSubBroker.subscribe();
+            broker = pubSubBroker;
+        }
+
+        Node node = new Node(connectionFactory, template, container, registry, broker);
+        nodes.add(node);
+        return node;
+    }
+
+    private record Node(LettuceConnectionFactory connectionFactory,
+                        RedisTemplate<String, String> template,
+                        RedisMessageListenerContainer container,
+                        ChatSubscriptionRegistry registry,
+                        ChatBroker broker) {
+    }
+}
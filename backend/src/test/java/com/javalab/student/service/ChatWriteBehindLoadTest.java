@@ -0,0 +1,132 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.MessageRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.util.SnowflakeIdGenerator;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 메시지 저장 부하 테스트
+ * - DB 바로 저장(DbMessageStore)과 Redis Stream 추가 후 일괄 저장(StreamMessageStore)의 초당 처리 메시지 수를 비교한다.
+ * - stream 모드는 일괄 저장까지 끝난 뒤 건수를 확인하고, 같은 메시지를 다시 저장해도 중복되지 않는지 확인한다.
+ * - CHAT_BENCHMARK=true 환경 변수가 있을 때만 실행한다. Redis와 DB가 필요하며 테스트 후 데이터를 삭제한다.
+ */
+@SpringBootTest
+@Log4j2
+@EnabledIfEnvironmentVariable(named = "CHAT_BENCHMARK", matches = "true")
+public class ChatWriteBehindLoadTest {
+
+    private static final int MESSAGE_COUNT = 5_000;
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("redisStringTemplate")
+    private RedisTemplate<String, String> redisStringTemplate;
+
+    @Autowired
+    private CurrentMember currentMember;
+
+    private Member sender;
+    private Member receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = saveMember("chat-load-sender@test.com");
+        receiver = saveMember("chat-load-receiver@test.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM message WHERE sender_id = ?", sender.getId());
+        memberRepository.deleteAll(List.of(sender, receiver));
+        redisStringTemplate.delete(StreamMessageStore.STREAM_KEY);
+    }
+
+    @Test
+    @DisplayName("DB 바로 저장 vs Redis Stream 일괄 저장 초당 처리 메시지 수")
+    public void compareThroughput() throws InterruptedException {
+        DbMessageStore dbStore = new DbMessageStore(messageRepository, memberRepository);
+        StreamMessageStore streamStore = new StreamMessageStore(
+                redisStringTemplate, jdbcTemplate, memberRepository, currentMember, new SnowflakeIdGenerator(1), 500, 60_000);
+        streamStore.init();
+
+        double dbRate = run(dbStore);
+
+        double streamRate = run(streamStore);
+        long start = System.nanoTime();
+        streamStore.flush();
+        double drainMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        Integer saved = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM message WHERE sender_id = ?", Integer.class, sender.getId());
+        assertThat(saved).isEqualTo(MESSAGE_COUNT * 2);
+
+        log.info("[채팅 저장 부하 테스트] {}건, {}스레드 - DB 바로 저장: {}건/초, Redis Stream: {}건/초 (일괄 저장 {}ms)",
+                MESSAGE_COUNT, THREAD_COUNT, Math.round(dbRate), Math.round(streamRate), drainMs);
+    }
+
+    private double run(MessageStore store) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch done = new CountDownLatch(MESSAGE_COUNT);
+        MessageRequestDto requestDto = MessageRequestDto.builder()
+                .senderId(sender.getId())
+                .receiverId(receiver.getId())
+                .build();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            String content = "부하 테스트 메시지 " + i;
+            executor.submit(() -> {
+                try {
+                    store.save(requestDto, content);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(120, TimeUnit.SECONDS)).isTrue();
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return MESSAGE_COUNT / (elapsed / 1_000_000_000.0);
+    }
+
+    private Member saveMember(String email) {
+        Member member = new Member();
+        member.setEmail(email);
+        member.setName("채팅부하테스트");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        return memberRepository.save(member);
+    }
+}
@@ -0,0 +1,157 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.entity.FileBlob;
+import com.javalab.student.repository.FileBlobRepository;
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.image.ImageResizeService;
+import com.javalab.student.service.storage.FileStorageService;
+import com.javalab.student.service.storage.FileStorageService.StoredFile;
+import com.javalab.student.service.storage.LocalBlobBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 업로드 파일 저장 서비스 테스트
+ * - 같은 내용은 SHA-256 이름의 파일 하나로 저장하고 참조 수만 늘린다.
+ * - 참조 수가 0이 될 때만 파일을 삭제하고, file_blob 행이 없는 예전 파일은 바로 삭제한다.
+ * - 에디터 본문 이미지는 참조 수 0으로 저장하고, 게시글이 참조(retain)한 뒤 해제하면 삭제한다.
+ */
+class FileStorageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private Path postDir;
+    private FileBlobRepository fileBlobRepository;
+    private FileStorageService fileStorageService;
+    // file_blob 테이블 대용
+    private final Map<String, FileBlob> blobs = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        postDir = root.resolve("post");
+        LocalBlobBackend backend = new LocalBlobBackend(root.resolve("item").toString(),
+                root.resolve("pet").toString(), postDir.toString());
+
+        fileBlobRepository = mock(FileBlobRepository.class);
+        when(fileBlobRepository.acquire(anyString(), anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            FileBlob blob = blobs.get(key);
+            if (blob != null) {
+                blob.setRefCount(blob.getRefCount() + 1);
+                return 2;
+            }
+            blob = new FileBlob();
+            blob.setKey(key);
+            blob.setName(invocation.getArgument(2));
+            blob.setSize(invocation.getArgument(3));
+            blob.setRefCount(1);
+            blobs.put(key, blob);
+            return 1;
+        });
+        when(fileBlobRepository.acquireUnclaimed(anyString(), anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            if (blobs.containsKey(key)) {
+                return 2;
+            }
+            FileBlob blob = new FileBlob();
+            blob.setKey(key);
+            blob.setName(invocation.getArgument(2));
+            blob.setSize(invocation.getArgument(3));
+            blobs.put(key, blob);
+            return 1;
+        });
+        when(fileBlobRepository.retain(anyString())).thenAnswer(invocation -> {
+            FileBlob blob = blobs.get(invocation.<String>getArgument(0));
+            if (blob == null) {
+                return 0;
+            }
+            blob.setRefCount(blob.getRefCount() + 1);
+            return 1;
+        });
+        when(fileBlobRepository.findForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(blobs.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> blobs.remove(invocation.<FileBlob>getArgument(0).getKey()))
+                .when(fileBlobRepository).delete(any(FileBlob.class));
+
+        fileStorageService = new FileStorageService(backend, fileBlobRepository,
+                mock(ImageProcessingService.class), mock(ImageResizeService.class), mock(PlatformTransactionManager.class), 24);
+    }
+
+    @Test
+    @DisplayName("같은 내용은 한 번만 저장하고, 마지막 참조가 해제될 때 삭제한다")
+    void deduplicatesAndCountsReferences() throws Exception {
+        byte[] content = "같은 이미지 내용".getBytes(StandardCharsets.UTF_8);
+        StoredFile first = fileStorageService.store(StorageBucket.POST,
+                new MockMultipartFile("image", "cat.PNG", "image/png", content));
+        StoredFile second = fileStorageService.store(StorageBucket.POST,
+                new MockMultipartFile("image", "다른이름.png", "image/png", content));
+
+        assertThat(first.name()).matches("[0-9a-f]{64}\\.png");
+        assertThat(second.name()).isEqualTo(first.name());
+        assertThat(first.deduplicated()).isFalse();
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(first.size()).isEqualTo(content.length);
+        // 임시 파일 없이 해시 이름 파일 하나만 남는다.
+        try (Stream<Path> files = Files.list(postDir)) {
+            assertThat(files).containsExactly(postDir.resolve(first.name()));
+        }
+        assertThat(Files.readAllBytes(postDir.resolve(first.name()))).isEqualTo(content);
+
+        fileStorageService.release(StorageBucket.POST, first.name());
+        assertThat(Files.exists(postDir.resolve(first.name()))).isTrue();
+
+        fileStorageService.release(StorageBucket.POST, second.name());
+        assertThat(Files.exists(postDir.resolve(first.name()))).isFalse();
+        assertThat(blobs).isEmpty();
+    }
+
+    @Test
+    @DisplayName("참조 수가 없는 예전 파일은 바로 삭제하고, 허용하지 않은 확장자는 bin으로 저장한다")
+    void releasesLegacyFiles() throws Exception {
+        Files.createDirectories(postDir);
+        Path legacy = Files.writeString(postDir.resolve("1700000000000_photo.jpg"), "예전 파일");
+
+        fileStorageService.release(StorageBucket.POST, legacy.getFileName().toString());
+        assertThat(Files.exists(legacy)).isFalse();
+
+        StoredFile script = fileStorageService.store(StorageBucket.POST,
+                new MockMultipartFile("image", "evil.html", "text/html", new byte[]{1, 2, 3}));
+        assertThat(script.name()).endsWith(".bin");
+    }
+
+    @Test
+    @DisplayName("에디터 이미지는 참조 수 0으로 저장하고, 게시글이 참조한 뒤 해제하면 삭제한다")
+    void unclaimedUploadIsRetainedThenReleased() throws Exception {
+        StoredFile upload = fileStorageService.storeUnclaimed(StorageBucket.POST,
+                new MockMultipartFile("image", "editor.png", "image/png", new byte[]{7, 7, 7}));
+        String key = StorageBucket.POST + "/" + upload.name();
+        assertThat(blobs.get(key).getRefCount()).isZero();
+
+        assertThat(fileStorageService.retain(StorageBucket.POST, upload.name())).isTrue();
+        assertThat(blobs.get(key).getRefCount()).isEqualTo(1);
+
+        fileStorageService.release(StorageBucket.POST, upload.name());
+        assertThat(blobs).isEmpty();
+        assertThat(Files.exists(postDir.resolve(upload.name()))).isFalse();
+        assertThat(fileStorageService.retain(StorageBucket.POST, upload.name())).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.javalab.student.service;
+
+import com.javalab.student.service.image.ImageProcessingService;
+import com.javalab.student.service.image.ImageProcessingService.ImageDerivatives;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이미지 파생본 생성 서비스 테스트
+ * - 요청은 바로 반환되고, 작업 스레드에서 썸네일/중간 크기 파생본을 만든 뒤 완료 콜백을 호출한다.
+ * - 이미지가 아닌 파일은 실패로 집계하고 콜백을 호출하지 않는다.
+ */
+class ImageProcessingServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final ImageProcessingService imageProcessingService = new ImageProcessingService(2, 10);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        imageProcessingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("원본은 그대로 두고 썸네일/중간 크기 파생본을 비동기로 만든다")
+    void createsDerivativesAsync() throws Exception {
+        Path original = uploadDir.resolve("1700000000000_photo.png");
+        ImageIO.write(new BufferedImage(2000, 1500, BufferedImage.TYPE_INT_RGB), "png", original.toFile());
+
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<ImageDerivatives> result = new AtomicReference<>();
+        imageProcessingService.process(original, derivatives -> {
+            result.set(derivatives);
+            done.countDown();
+        });
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+
+        ImageDerivatives derivatives = result.get();
+        assertThat(derivatives.thumbnail().getFileName().toString()).isEqualTo("thumb_1700000000000_photo.png");
+        BufferedImage thumbnail = ImageIO.read(derivatives.thumbnail().toFile());
+        BufferedImage medium = ImageIO.read(derivatives.medium().toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(300);
+        assertThat(medium.getWidth()).isEqualTo(1024);
+        assertThat(ImageIO.read(original.toFile()).getWidth()).isEqualTo(2000);
+        assertThat(imageProcessingService.stats().completed()).isEqualTo(1);
+
+        // 원본 교체/삭제 시 파생본도 삭제
+        imageProcessingService.deleteDerivatives(original);
+        assertThat(Files.exists(derivatives.thumbnail())).isFalse();
+        assertThat(Files.exists(derivatives.medium())).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 파일은 실패로 집계한다")
+    void countsFailures() throws Exception {
+        Path original = uploadDir.resolve("not-image.jpg");
+        Files.writeString(original, "이미지가 아닙니다");
+
+        imageProcessingService.process(original, derivatives -> {
+            throw new AssertionError("콜백이 호출되면 안 됩니다.");
+        });
+        imageProcessingService.shutdown();
+
+        assertThat(imageProcessingService.stats().failed()).isEqualTo(1);
+        assertThat(imageProcessingService.stats().completed()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.entity.FileBlob;
+import com.javalab.student.repository.FileBlobRepository;
+import com.javalab.student.service.image.ImageResizeService;
+import com.javalab.student.service.storage.LocalBlobBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 요청 크기 이미지 생성 서비스 테스트
+ * - 같은 크기를 동시에 요청해도 한 번만 만들고, 이후 요청은 디스크 캐시에서 보낸다.
+ * - 허용 목록에 없는 크기/형식은 거절한다.
+ */
+class ImageResizeServiceTest {
+
+    private static final String HASH = "b".repeat(64);
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path root;
+
+    private ImageResizeService imageResizeService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        LocalBlobBackend backend = new LocalBlobBackend(root.resolve("item").toString(),
+                root.resolve("pet").toString(), root.resolve("post").toString());
+        Files.createDirectories(root.resolve("item"));
+        ImageIO.write(new BufferedImage(2000, 1500, BufferedImage.TYPE_INT_RGB), "png",
+                root.resolve("item").resolve(HASH + ".png").toFile());
+
+        FileBlob blob = new FileBlob();
+        blob.setBucket(StorageBucket.ITEM);
+        blob.setName(HASH + ".png");
+        FileBlobRepository fileBlobRepository = mock(FileBlobRepository.class);
+        when(fileBlobRepository.findFirstByNameStartingWith(HASH + ".")).thenReturn(Optional.of(blob));
+
+        imageResizeService = new ImageResizeService(fileBlobRepository, backend,
+                root.resolve("cache").toString(), Set.of(300, 640), 2);
+    }
+
+    @Test
+    @DisplayName("같은 크기를 동시에 요청해도 한 번만 만든다")
+    void collapsesConcurrentRequests() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Path>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return imageResizeService.resize(HASH, 300, null, "jpg");
+            }));
+        }
+        start.countDown();
+
+        Path first = results.get(0).get();
+        for (Future<Path> result : results) {
+            assertThat(result.get()).isEqualTo(first);
+        }
+        executor.shutdown();
+
+        assertThat(first.getFileName().toString()).isEqualTo(HASH + "_w300_h0.jpg");
+        BufferedImage resized = ImageIO.read(first.toFile());
+        assertThat(resized.getWidth()).isEqualTo(300);
+        assertThat(resized.getHeight()).isEqualTo(225);
+
+        ImageResizeService.ResizeStats stats = imageResizeService.stats();
+        assertThat(stats.rendered()).isEqualTo(1);
+        assertThat(stats.diskHits() + stats.collapsed()).isEqualTo(THREADS - 1);
+
+        // 원본 삭제 시 요청 크기 파생본도 삭제
+        imageResizeService.deleteDerivatives(HASH);
+        assertThat(Files.exists(first)).isFalse();
+    }
+
+    @Test
+    @DisplayName("허용하지 않은 크기/형식은 거절하고, 원본이 없으면 null")
+    void rejectsUnboundedSizes() throws Exception {
+        assertThatThrownBy(() -> imageResizeService.resize(HASH, 301, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageResizeService.resize(HASH, 300, null, "tiff"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageResizeService.resize("../etc/passwd", 300, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageResizeService.resize(HASH, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(imageResizeService.resize("c".repeat(64), 300, null, "jpg")).isNull();
+        // 형식을 지정하지 않으면 원본 형식, 높이에 맞춰 줄인다.
+        Path resized = imageResizeService.resize(HASH, null, 640, null);
+        assertThat(resized.getFileName().toString()).isEqualTo(HASH + "_w0_h640.png");
+        assertThat(ImageIO.read(resized.toFile()).getHeight()).isEqualTo(640);
+    }
+}
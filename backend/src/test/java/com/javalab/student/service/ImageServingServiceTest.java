@@ -0,0 +1,126 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.StorageBucket;
+import com.javalab.student.service.image.ImageMemoryCache;
+import com.javalab.student.service.image.ImageServingService;
+import com.javalab.student.service.storage.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이미지 전송 서비스 테스트
+ * - 해시 이름 파일은 강한 ETag와 1년 캐시로 보내고, If-None-Match가 맞으면 본문 없이 304로 응답한다.
+ * - 단일 Range는 206, 범위를 벗어나면 416으로 응답한다.
+ * - 썸네일은 두 번째 요청부터 메모리 캐시에서 보낸다.
+ */
+class ImageServingServiceTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageServingService imageServingService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageService fileStorageService = mock(FileStorageService.class);
+        when(fileStorageService.localPath(any(StorageBucket.class), anyString()))
+                .thenAnswer(invocation -> uploadDir.resolve(invocation.<String>getArgument(1)));
+        imageServingService = new ImageServingService(fileStorageService, new ImageMemoryCache(1024, 256));
+    }
+
+    @Test
+    @DisplayName("해시 이름 파일은 강한 ETag와 1년 캐시로 보내고, 같은 ETag 요청은 304로 응답한다")
+    void servesImmutableWithEtag() throws Exception {
+        Files.write(uploadDir.resolve(HASH + ".png"), CONTENT);
+
+        MockHttpServletResponse first = serve(StorageBucket.PET, HASH + ".png", new MockHttpServletRequest("GET", "/"));
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("ETag")).isEqualTo("\"" + HASH + "\"");
+        assertThat(first.getHeader("Cache-Control")).contains("max-age=31536000", "immutable", "public");
+        assertThat(first.getHeader("Last-Modified")).isNotNull();
+        assertThat(first.getContentType()).isEqualTo("image/png");
+        assertThat(first.getContentAsByteArray()).isEqualTo(CONTENT);
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/");
+        conditional.addHeader("If-None-Match", "\"" + HASH + "\"");
+        MockHttpServletResponse second = serve(StorageBucket.PET, HASH + ".png", conditional);
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getContentAsByteArray()).isEmpty();
+
+        // 게시글 이미지도 로그인 없이 조회할 수 있으므로 공유 캐시를 허용한다.
+        MockHttpServletResponse post = serve(StorageBucket.POST, HASH + ".png", new MockHttpServletRequest("GET", "/"));
+        assertThat(post.getHeader("Cache-Control")).contains("public").doesNotContain("private");
+        assertThat(imageServingService.stats().notModified()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("단일 Range는 206으로, 범위를 벗어나면 416으로 응답한다")
+    void servesByteRanges() throws Exception {
+        Files.write(uploadDir.resolve("1700000000000_photo.jpg"), CONTENT);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse partial = serve(StorageBucket.ITEM, "1700000000000_photo.jpg", request);
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getHeader("Content-Range")).isEqualTo("bytes 2-5/10");
+        assertThat(partial.getContentAsString()).isEqualTo("2345");
+        // 예전 이름 파일은 매번 재검증
+        assertThat(partial.getHeader("Cache-Control")).contains("no-cache");
+
+        MockHttpServletRequest outOfRange = new MockHttpServletRequest("GET", "/");
+        outOfRange.addHeader("Range", "bytes=100-");
+        MockHttpServletResponse unsatisfiable = serve(StorageBucket.ITEM, "1700000000000_photo.jpg", outOfRange);
+        assertThat(unsatisfiable.getStatus()).isEqualTo(416);
+        assertThat(unsatisfiable.getHeader("Content-Range")).isEqualTo("bytes */10");
+
+        assertThat(serve(StorageBucket.ITEM, "missing.jpg", new MockHttpServletRequest("GET", "/")).getStatus())
+                .isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("썸네일은 메모리 캐시에서 보내고, 큰 파일은 sendfile로 넘긴다")
+    void cachesThumbnailsAndUsesSendfile() throws Exception {
+        Files.write(uploadDir.resolve("thumb_" + HASH + ".jpg"), CONTENT);
+        Files.write(uploadDir.resolve(HASH + ".jpg"), CONTENT);
+
+        serve(StorageBucket.POST, "thumb_" + HASH + ".jpg", new MockHttpServletRequest("GET", "/"));
+        MockHttpServletResponse cached = serve(StorageBucket.POST, "thumb_" + HASH + ".jpg",
+                new MockHttpServletRequest("GET", "/"));
+        assertThat(cached.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(imageServingService.stats().memoryCache().hits()).isEqualTo(1);
+        assertThat(imageServingService.stats().memoryCache().bytes()).isEqualTo(CONTENT.length);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = serve(StorageBucket.POST, HASH + ".jpg", request);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(uploadDir.resolve(HASH + ".jpg").toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) CONTENT.length);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletResponse serve(StorageBucket bucket, String name, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageServingService.serve(bucket, name, request, response);
+        return response;
+    }
+}
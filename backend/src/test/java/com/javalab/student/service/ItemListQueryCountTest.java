@@ -0,0 +1,138 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.dto.shop.ItemFormDto;
+import com.javalab.student.entity.Substance;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.ItemImg;
+import com.javalab.student.entity.shop.ItemSubstance;
+import com.javalab.student.repository.SubstanceRepository;
+import com.javalab.student.repository.shop.ItemImgRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.repository.shop.ItemSubstanceRepository;
+import com.javalab.student.service.shop.ItemService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판매중인 상품 리스트 조회 쿼리 수 회귀 테스트
+ * - 상품 수가 늘어나도 실행되는 SQL 문 수가 일정해야 한다.(N+1 방지)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class ItemListQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemImgRepository itemImgRepository;
+
+    @Autowired
+    private ItemSubstanceRepository itemSubstanceRepository;
+
+    @Autowired
+    private SubstanceRepository substanceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    private Substance substance;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        substance = new Substance();
+        substance.setSubstanceId(999_001L);
+        substance.setName("테스트성분");
+        substanceRepository.save(substance);
+    }
+
+    /**
+     * 대표 이미지 1개, 일반 이미지 1개, 알러지 성분 1개를 가진 상품을 count개 저장
+     */
+    private void createItems(int count) {
+        for (int i = 0; i < count; i++) {
+            Item item = Item.builder()
+                    .itemNm("쿼리수테스트상품" + i)
+                    .price(1000L)
+                    .stockNumber(10)
+                    .itemDetail("쿼리 수 테스트 상품")
+                    .itemSellStatus(ItemSellStatus.SELL)
+                    .build();
+            itemRepository.save(item);
+
+            for (String repimgYn : List.of("Y", "N")) {
+                ItemImg itemImg = new ItemImg();
+                itemImg.setItem(item);
+                itemImg.setImgName("img" + i + repimgYn + ".jpg");
+                itemImg.setOriImgName("ori" + i + repimgYn + ".jpg");
+                itemImg.setImgUrl("/images/item/img" + i + repimgYn + ".jpg");
+                itemImg.setRepimgYn(repimgYn);
+                itemImgRepository.save(itemImg);
+            }
+
+            itemSubstanceRepository.save(new ItemSubstance(null, item, substance));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 상품 리스트를 조회하고 그 동안 실행된 SQL 문 수를 반환
+     */
+    private long countListStatements() {
+        statistics.clear();
+        List<ItemFormDto> list = itemService.getItemListByItemSellStatus(ItemSellStatus.SELL);
+
+        // 대표 이미지만, 알러지 성분이 함께 조회되어야 한다.
+        list.stream()
+                .filter(dto -> dto.getItemNm().startsWith("쿼리수테스트상품"))
+                .forEach(dto -> {
+                    assertThat(dto.getItemImgDtoList()).hasSize(1);
+                    assertThat(dto.getItemImgDtoList().get(0).getRepImgYn()).isEqualTo("Y");
+                    assertThat(dto.getSubstanceIds()).containsExactly(substance.getSubstanceId());
+                });
+
+        long count = statistics.getPrepareStatementCount();
+        em.clear();
+        return count;
+    }
+
+    @Test
+    @DisplayName("판매중인 상품 리스트 조회 쿼리 수는 상품 수와 무관하게 일정하다")
+    public void itemListQueryCountIsConstant() {
+        // given : 상품 5개
+        createItems(5);
+        long smallCatalogCount = countListStatements();
+
+        // when : 상품 50개 추가
+        createItems(50);
+        long largeCatalogCount = countListStatements();
+
+        // then : 상품 / 대표 이미지 / 알러지 성분 3번 이하
+        assertThat(smallCatalogCount).isLessThanOrEqualTo(3);
+        assertThat(largeCatalogCount).isEqualTo(smallCatalogCount);
+    }
+}
@@ -0,0 +1,71 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.security.dto.MemberIdentity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 식별 정보 캐시 테스트
+ * - 같은 이메일을 여러 번 조회해도 회원 테이블은 한 번만 조회한다.
+ * - 권한 변경 후에는 캐시가 무효화되어 변경된 권한을 조회한다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class MemberIdentityCacheTest {
+
+    @Autowired
+    private CurrentMember currentMember;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Test
+    @DisplayName("회원 식별 정보는 한 번만 조회하고 권한 변경 시 무효화된다")
+    public void cachesIdentityAndEvictsOnRoleChange() {
+        Member member = new Member();
+        member.setEmail("identity-cache@test.com");
+        member.setName("식별정보캐시");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        memberRepository.save(member);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MemberIdentity first = currentMember.get(member.getEmail());
+        for (int i = 0; i < 5; i++) {
+            assertThat(currentMember.getId(member.getEmail())).isEqualTo(member.getId());
+        }
+        assertThat(first.role()).isEqualTo(Role.USER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        memberService.updateMemberRole(member.getEmail(), Role.ADMIN);
+        em.flush();
+
+        assertThat(currentMember.get(member.getEmail()).role()).isEqualTo(Role.ADMIN);
+    }
+}
@@ -0,0 +1,129 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.shop.OrderItemDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.entity.shop.Order;
+import com.javalab.student.entity.shop.OrderItem;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.repository.shop.OrderRepository;
+import com.javalab.student.service.shop.OrderService;
+import com.javalab.student.service.shop.StockService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 생성 지연시간 벤치마크
+ * - 1, 10, 100줄 장바구니 주문에 대해
+ *   기존 방식(상품마다 findById, 주문 상품 개별 INSERT)과 일괄 조회 + JDBC 배치 방식의 시간을 비교한다.
+ * - ORDER_BENCHMARK=true 환경 변수가 있을 때만 실행한다. 테스트 종료 후 롤백된다.
+ */
+@SpringBootTest
+@Transactional
+@Log4j2
+@EnabledIfEnvironmentVariable(named = "ORDER_BENCHMARK", matches = "true")
+public class OrderBatchBenchmarkTest {
+
+    private static final int REPEAT = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    /**
+     * 기존 주문 생성 방식 : 상품마다 findById
+     */
+    private Long legacyOrders(List<OrderItemDto> orderItemDtoList, String email) {
+        Member member = memberRepository.findByEmail(email);
+        List<OrderItem> orderItemList = new ArrayList<>();
+        for (OrderItemDto orderItemDto : orderItemDtoList) {
+            Item item = itemRepository.findById(orderItemDto.getItemId())
+                    .orElseThrow(EntityNotFoundException::new);
+            stockService.reserve(item.getId(), orderItemDto.getCount());
+            orderItemList.add(OrderItem.createOrderItem(item, orderItemDto.getCount()));
+        }
+        Order order = Order.createOrder(member, orderItemList);
+        orderRepository.save(order);
+        return order.getId();
+    }
+
+    @Test
+    @DisplayName("장바구니 1/10/100줄 주문 생성 지연시간")
+    public void compareOrderLatency() {
+        Member member = new Member();
+        member.setEmail("order-benchmark@test.com");
+        member.setName("주문벤치마크");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        memberRepository.save(member);
+
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .itemNm("주문벤치마크상품" + i)
+                    .price(1000L)
+                    .stockNumber(1_000_000)
+                    .itemDetail("주문 벤치마크")
+                    .itemSellStatus(ItemSellStatus.SELL)
+                    .build()).getId());
+        }
+        em.flush();
+        em.clear();
+
+        for (int lines : new int[]{1, 10, 100}) {
+            List<OrderItemDto> orderItemDtoList = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                OrderItemDto dto = new OrderItemDto();
+                dto.setItemId(itemIds.get(i));
+                dto.setCount(1);
+                orderItemDtoList.add(dto);
+            }
+
+            long legacyNanos = 0;
+            long batchNanos = 0;
+            for (int r = 0; r < REPEAT; r++) {
+                long start = System.nanoTime();
+                legacyOrders(orderItemDtoList, member.getEmail());
+                em.flush();
+                legacyNanos += System.nanoTime() - start;
+                em.clear();
+
+                start = System.nanoTime();
+                orderService.orders(orderItemDtoList, member.getEmail());
+                em.flush();
+                batchNanos += System.nanoTime() - start;
+                em.clear();
+            }
+
+            log.info("[주문 생성 벤치마크] {}줄 - 기존: {}ms, 일괄 조회 + 배치: {}ms (평균)",
+                    lines, legacyNanos / REPEAT / 1_000_000.0, batchNanos / REPEAT / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.javalab.student.service;
+
+import com.javalab.student.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * 게시글 조회수 카운터 테스트
+ * - 동시 조회가 유실 없이 모이고, 반영할 때 게시글마다 UPDATE 한 번으로 더한다.
+ * - 반영 전에도 조회 결과에는 증가분이 보이고, 반영이 실패하면 다음 주기에 다시 반영한다.
+ * - 중복 제거 기간 안의 같은 사용자 재조회는 세지 않는다.
+ * - 버퍼 기록에 실패하면 호출한 쪽과 분리된 새 트랜잭션에서 DB에 더하고, 그마저 실패해도 예외를 던지지 않는다.
+ */
+class PostViewCounterTest {
+
+    private static final int THREADS = 16;
+    private static final int VIEWS_PER_THREAD = 1_000;
+
+    private PostRepository postRepository;
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        postViewCounter = new PostViewCounter(new MemoryPostViewBuffer(), postRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 600);
+    }
+
+    @Test
+    @DisplayName("동시 조회를 모아 게시글마다 UPDATE 한 번으로 반영한다")
+    void batchesConcurrentViews() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < VIEWS_PER_THREAD; j++) {
+                    postViewCounter.recordView(1L, null);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        postViewCounter.recordView(2L, null);
+
+        // 반영 전에도 DB 값 + 증가분
+        assertThat(postViewCounter.currentViews(1L, 5)).isEqualTo(5 + THREADS * VIEWS_PER_THREAD);
+        verifyNoInteractions(postRepository);
+
+        postViewCounter.flush();
+        verify(postRepository).increaseViews(1L, (long) THREADS * VIEWS_PER_THREAD);
+        verify(postRepository).increaseViews(2L, 1L);
+        assertThat(postViewCounter.pendingViews(List.of(1L, 2L))).isEmpty();
+
+        // 새 증가분이 없으면 반영하지 않는다.
+        postViewCounter.flush();
+        verify(postRepository, times(2)).increaseViews(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("반영이 실패하면 증가분을 남겨 다음 주기에 다시 반영한다")
+    void retriesFailedFlush() {
+        postViewCounter.recordView(1L, null);
+        when(postRepository.increaseViews(1L, 1L)).thenThrow(new IllegalStateException("DB 연결 실패")).thenReturn(1);
+
+        postViewCounter.flush();
+        postViewCounter.recordView(1L, null);
+        assertThat(postViewCounter.currentViews(1L, 0)).isEqualTo(2);
+
+        postViewCounter.flush();
+        verify(postRepository, times(1)).increaseViews(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("중복 제거 기간 안의 같은 사용자 재조회는 세지 않는다")
+    void deduplicatesViewers() {
+        assertThat(postViewCounter.recordView(1L, "user:a@test.com")).isTrue();
+        assertThat(postViewCounter.recordView(1L, "user:a@test.com")).isFalse();
+        assertThat(postViewCounter.recordView(1L, "ip:127.0.0.1")).isTrue();
+        assertThat(postViewCounter.recordView(2L, "user:a@test.com")).isTrue();
+
+        assertThat(postViewCounter.pendingViews(List.of(1L, 2L, 3L))).containsOnly(
+                Map.entry(1L, 2L), Map.entry(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("버퍼 기록에 실패하면 새 트랜잭션에서 DB에 바로 더하고, DB 실패는 로그만 남긴다")
+    void fallsBackToNewTransaction() {
+        PostViewBuffer brokenBuffer = mock(PostViewBuffer.class);
+        when(brokenBuffer.record(anyLong(), any(), any())).thenThrow(new IllegalStateException("Redis 연결 실패"));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        PostViewCounter counter = new PostViewCounter(brokenBuffer, postRepository,
+                new TransactionTemplate(transactionManager), 600);
+
+        assertThat(counter.recordView(1L, "user:a@test.com")).isTrue();
+        verify(postRepository).increaseViews(1L, 1);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+
+        when(postRepository.increaseViews(1L, 1)).thenThrow(new IllegalStateException("DB 연결 실패"));
+        assertThat(counter.recordView(1L, "user:a@test.com")).isFalse();
+    }
+}
@@ -0,0 +1,88 @@
+package com.javalab.student.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 접속 상태 서비스 테스트
+ * - 이 서버 접속자는 Redis를 조회하지 않고, 다른 서버 접속자만 Redis로 한 번에 조회한다.
+ * - 여러 세션(탭) 중 마지막 세션이 끊길 때만 이 서버의 접속 기록을 지운다.
+ */
+@SuppressWarnings("unchecked")
+class PresenceServiceTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    private PresenceService presenceService;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        presenceService = new PresenceService(redisTemplate, 30_000);
+    }
+
+    @Test
+    @DisplayName("이 서버 접속자는 Redis를 조회하지 않는다")
+    void localUsersSkipRedis() {
+        presenceService.connect("s1", 1L);
+        presenceService.connect("s2", 2L);
+
+        assertThat(presenceService.onlineAmong(List.of(2L, 1L))).containsExactly(2L, 1L);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+        // 연결 시 한 번씩 접속 기록
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("다른 서버 접속자는 한 번의 스크립트로 조회한다")
+    void remoteUsersInOneRoundTrip() {
+        presenceService.connect("s1", 1L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("PRESENCE:2", "PRESENCE:3")), any()))
+                .thenReturn(List.of(1L, 0L));
+
+        Map<Long, Boolean> status = presenceService.onlineStatus(List.of(1L, 2L, 3L));
+
+        assertThat(status).containsExactly(Map.entry(1L, true), Map.entry(2L, true), Map.entry(3L, false));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("마지막 세션이 끊길 때만 접속 기록을 지운다")
+    void removesOnLastSession() {
+        presenceService.connect("s1", 1L);
+        presenceService.connect("s2", 1L);
+
+        presenceService.disconnect("s1");
+        verify(zSetOperations, never()).remove(anyString(), any());
+        assertThat(presenceService.localUserCount()).isEqualTo(1);
+
+        presenceService.disconnect("s2");
+        verify(zSetOperations).remove("PRESENCE:1", presenceService.getInstanceId());
+        assertThat(presenceService.localUserCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 조회에 실패하면 접속 중으로 본다")
+    void failsOpen() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new IllegalStateException("Redis 연결 실패"));
+
+        assertThat(presenceService.isOnline(5L)).isTrue();
+    }
+}
@@ -0,0 +1,106 @@
+package com.javalab.student.service;
+
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.CartItemRepository;
+import com.javalab.student.repository.shop.CartRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.service.shop.ItemImgCacheService;
+import com.javalab.student.service.shop.ItemSummaryCacheService;
+import com.javalab.student.service.shop.RedisCartStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Redis 장바구니 DB 반영 테스트
+ * - 회원별 반영 잠금을 얻은 쪽만 cart_item 테이블에 반영하고, 반영 후 잠금을 해제한다.
+ * - 다른 서버가 반영 중이면 DB를 건드리지 않고 반영 대상으로 남겨둔다.
+ */
+@SuppressWarnings("unchecked")
+class RedisCartStoreTest {
+
+    private static final String EMAIL = "cart@test.com";
+    private static final String LOCK_KEY = "CART:FLUSH:LOCK:" + EMAIL;
+
+    private RedisTemplate<String, String> redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private SetOperations<String, String> setOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+    private CurrentMember currentMember;
+    private RedisCartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        setOperations = mock(SetOperations.class);
+        hashOperations = mock(HashOperations.class);
+        currentMember = mock(CurrentMember.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+
+        cartStore = new RedisCartStore(redisTemplate, mock(ItemSummaryCacheService.class), mock(ItemImgCacheService.class),
+                mock(ItemRepository.class), mock(MemberRepository.class), mock(CartRepository.class),
+                mock(CartItemRepository.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                currentMember);
+    }
+
+    @Test
+    @DisplayName("다른 서버가 반영 중이면 DB에 반영하지 않고 반영 대상으로 남겨둔다")
+    void skipsWhileAnotherNodeFlushes() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        cartStore.flush(EMAIL);
+
+        verify(setOperations, never()).remove(anyString(), any());
+        verify(hashOperations, never()).entries(anyString());
+        verify(currentMember, never()).getId(anyString());
+        verify(setOperations).add("CART:DIRTY", EMAIL);
+    }
+
+    @Test
+    @DisplayName("잠금을 얻으면 반영 대상에서 지우고 반영한 뒤 잠금을 해제한다")
+    void flushesUnderLockAndReleasesIt() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(hashOperations.entries("CART:" + EMAIL)).thenReturn(Map.of("_loaded", "1", "7", "2"));
+
+        cartStore.flush(EMAIL);
+
+        verify(setOperations).remove("CART:DIRTY", EMAIL);
+        verify(currentMember).getId(EMAIL);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LOCK_KEY)), any());
+        verify(setOperations, never()).add(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("반영에 실패해도 잠금을 해제하고 반영 대상으로 다시 등록한다")
+    void failedFlushReleasesLock() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(hashOperations.entries("CART:" + EMAIL)).thenThrow(new IllegalStateException("Redis 오류"));
+
+        assertThatThrownBy(() -> cartStore.flush(EMAIL)).isInstanceOf(IllegalStateException.class);
+
+        verify(setOperations).add("CART:DIRTY", EMAIL);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), any());
+    }
+}
@@ -0,0 +1,48 @@
+package com.javalab.student.service;
+
+import com.javalab.student.service.shop.RedisStockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 주문 재고 차감 테스트 (shop.stock.mode=redis)
+ * - StockConcurrencyTest와 같은 주문을 Redis 카운터로 차감하고, 변경분 반영(reconcile) 후 DB 재고를 확인한다.
+ * - 관리자가 재고를 수정하면 커밋 후 Redis 카운터도 수정한 재고로 맞춰져야 한다.
+ */
+@SpringBootTest(properties = "shop.stock.mode=redis")
+public class RedisStockConcurrencyTest extends StockConcurrencyTest {
+
+    @Autowired
+    private RedisStockService redisStockService;
+
+    @Autowired
+    @Qualifier("redisStringTemplate")
+    private RedisTemplate<String, String> redisStringTemplate;
+
+    @AfterEach
+    void deleteCounter() {
+        redisStringTemplate.delete("STOCK:" + itemId);
+    }
+
+    @Test
+    @DisplayName("관리자 재고 수정은 Redis 카운터에 반영된다")
+    public void resetStockUpdatesCounter() {
+        redisStringTemplate.opsForValue().set("STOCK:" + itemId, "3");
+
+        redisStockService.resetStock(itemId, 50);
+
+        assertThat(redisStringTemplate.opsForValue().get("STOCK:" + itemId)).isEqualTo("50");
+    }
+
+    @Override
+    protected void settle() {
+        redisStockService.reconcile();
+    }
+}
@@ -0,0 +1,141 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.constant.OrderStatus;
+import com.javalab.student.constant.SalesPeriod;
+import com.javalab.student.dto.shop.SalesSeriesDto;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.repository.shop.OrderItemRepository;
+import com.javalab.student.repository.shop.OrderRepository;
+import com.javalab.student.service.shop.SalesRollupService;
+import com.javalab.student.service.shop.SalesService;
+import jakarta.transaction.Transactional;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 관리자 매출 집계 벤치마크
+ * - 주문 상품 1,000,000건(주문 200,000건)을 생성한 뒤
+ *   기존 방식(주문 ID 전체 조회 + 주문 상품 엔티티 로딩 + Java 합산), SQL 집계, 매출 집계 테이블 조회의 실행 시간을 비교한다.
+ * - 데이터 생성에 시간이 오래 걸리므로 SALES_BENCHMARK=true 환경 변수가 있을 때만 실행한다.
+ * - 테스트 종료 후 롤백된다.
+ */
+@SpringBootTest
+@Transactional
+@Log4j2
+@EnabledIfEnvironmentVariable(named = "SALES_BENCHMARK", matches = "true")
+public class SalesAggregationBenchmarkTest {
+
+    private static final int ORDER_COUNT = 200_000;
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final long ID_OFFSET = 100_000_000L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 주문 200,000건, 주문당 주문 상품 5건을 1년에 걸쳐 생성
+     */
+    private void seed(Long itemId) {
+        List<Object[]> orders = new ArrayList<>(ORDER_COUNT);
+        List<Object[]> orderItems = new ArrayList<>(ORDER_COUNT * ITEMS_PER_ORDER);
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            long orderId = ID_OFFSET + i;
+            Timestamp orderDate = Timestamp.valueOf(FIRST_DAY.plusDays(i % 365).atTime(12, 0));
+            orders.add(new Object[]{orderId, orderDate, OrderStatus.PAYMENT_COMPLETED.name(), 1000L * ITEMS_PER_ORDER});
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                orderItems.add(new Object[]{orderId * ITEMS_PER_ORDER + j, itemId, orderId, 1000L, 1});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("insert into orders (order_id, order_date, order_status, order_amount) " +
+                "values (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("insert into order_item (order_item_id, item_id, order_id, order_price, count) " +
+                "values (?, ?, ?, ?, ?)", orderItems);
+    }
+
+    @Test
+    @DisplayName("주문 상품 1,000,000건 매출 집계: Java 합산 vs SQL 집계")
+    public void compareSalesAggregation() {
+        Item item = itemRepository.save(Item.builder()
+                .itemNm("벤치마크상품")
+                .price(1000L)
+                .stockNumber(0)
+                .itemDetail("매출 집계 벤치마크")
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build());
+        seed(item.getId());
+
+        LocalDate startDate = FIRST_DAY;
+        LocalDate endDate = FIRST_DAY.plusDays(30);
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.plusDays(1).atStartOfDay();
+
+        // 1. 기존 방식 : 주문 ID 전체 조회 -> 주문 상품 엔티티 전체 로딩 -> Java에서 기간 필터 후 합산
+        long legacyStart = System.nanoTime();
+        List<Long> completedOrderIds = orderRepository.findCompletedOrderIds(OrderStatus.PAYMENT_COMPLETED);
+        double legacyAmount = orderItemRepository.findByOrderIdIn(completedOrderIds).stream()
+                .filter(oi -> !oi.getOrder().getOrderDate().isBefore(start) && oi.getOrder().getOrderDate().isBefore(end))
+                .mapToDouble(oi -> oi.getOrderPrice() * oi.getCount())
+                .sum();
+        long legacyMillis = (System.nanoTime() - legacyStart) / 1_000_000;
+
+        // 2. SQL 집계
+        long sqlStart = System.nanoTime();
+        double sqlAmount = orderItemRepository.sumSalesAmount(OrderStatus.PAYMENT_COMPLETED, start, end);
+        long sqlMillis = (System.nanoTime() - sqlStart) / 1_000_000;
+
+        // 3. 매출 집계 테이블 재생성 후 조회
+        long rebuildStart = System.nanoTime();
+        salesRollupService.rebuild();
+        long rebuildMillis = (System.nanoTime() - rebuildStart) / 1_000_000;
+
+        long rollupStart = System.nanoTime();
+        double rollupAmount = salesService.getMonthlySalesAmount(OrderStatus.PAYMENT_COMPLETED, startDate, endDate);
+        long rollupMillis = (System.nanoTime() - rollupStart) / 1_000_000;
+
+        // 4. 1년치 일별 시계열
+        long seriesStart = System.nanoTime();
+        List<SalesSeriesDto> series = salesService.getSalesSeries(OrderStatus.PAYMENT_COMPLETED,
+                SalesPeriod.DAILY, FIRST_DAY, FIRST_DAY.plusDays(364));
+        long seriesMillis = (System.nanoTime() - seriesStart) / 1_000_000;
+
+        log.info("[매출 집계 벤치마크] Java 합산: {}ms, SQL 집계: {}ms, 집계 테이블 재생성: {}ms, 집계 테이블 조회: {}ms, 일별 시계열(365구간): {}ms",
+                legacyMillis, sqlMillis, rebuildMillis, rollupMillis, seriesMillis);
+
+        assertThat(sqlAmount).isEqualTo(legacyAmount);
+        assertThat(rollupAmount).isEqualTo(legacyAmount);
+        assertThat(series).hasSize(365);
+    }
+}
@@ -0,0 +1,131 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.ItemSellStatus;
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.shop.OrderItemDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.entity.shop.Item;
+import com.javalab.student.exception.OutOfStockException;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.repository.shop.ItemRepository;
+import com.javalab.student.service.shop.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 주문 재고 차감 테스트 (shop.stock.mode=db)
+ * - 여러 스레드가 같은 상품을 주문(OrderService.orders)해도 재고가 음수가 되지 않고,
+ *   성공한 주문 수가 초기 재고와 같아야 한다.
+ * - 스레드마다 별도 트랜잭션으로 커밋해야 하므로 @Transactional을 사용하지 않고 테스트 후 주문/상품/회원을 삭제한다.
+ * - redis 모드는 RedisStockConcurrencyTest에서 같은 테스트를 실행한다.
+ */
+@SpringBootTest
+public class StockConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int ORDER_COUNT = 2_000;
+    private static final int THREAD_COUNT = 32;
+    private static final String EMAIL = "stock-concurrency@test.com";
+
+    @Autowired
+    protected OrderService orderService;
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    @Autowired
+    protected MemberRepository memberRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    protected Long itemId;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        Item item = itemRepository.save(Item.builder()
+                .itemNm("동시주문테스트상품")
+                .price(1000L)
+                .stockNumber(INITIAL_STOCK)
+                .itemDetail("동시 주문 재고 테스트")
+                .itemSellStatus(ItemSellStatus.SELL)
+                .build());
+        itemId = item.getId();
+
+        member = new Member();
+        member.setEmail(EMAIL);
+        member.setName("동시주문테스트");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        member = memberRepository.save(member);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_item WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", member.getId());
+        jdbcTemplate.update("DELETE FROM sales_daily_rollup WHERE item_id = ?", itemId);
+        itemRepository.deleteById(itemId);
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("동시 주문 2,000건에도 재고는 음수가 되지 않는다")
+    public void concurrentOrdersNeverOversell() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ORDER_COUNT);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    orderService.orders(List.of(OrderItemDto.builder().itemId(itemId).count(1).build()), EMAIL);
+                    success.incrementAndGet();
+                } catch (OutOfStockException e) {
+                    outOfStock.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        settle();
+
+        Integer stockNumber = itemRepository.findStockNumberById(itemId);
+        Integer orderCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_item WHERE item_id = ?", Integer.class, itemId);
+        assertThat(success.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(outOfStock.get()).isEqualTo(ORDER_COUNT - INITIAL_STOCK);
+        assertThat(orderCount).isEqualTo(INITIAL_STOCK);
+        assertThat(stockNumber).isZero();
+    }
+
+    /**
+     * 주문 후 DB 재고 확인 전 처리(redis 모드는 변경분 반영)
+     */
+    protected void settle() {
+    }
+}
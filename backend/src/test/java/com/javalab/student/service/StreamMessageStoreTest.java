@@ -0,0 +1,200 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.dto.MessageResponseDto;
+import com.javalab.student.repository.MemberRepository;
+import com.javalab.student.security.CurrentMember;
+import com.javalab.student.security.dto.MemberIdentity;
+import com.javalab.student.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Redis Stream 메시지 저장소 테스트
+ * - 일괄 저장은 확인되지 않은 메시지(offset 0)부터 다시 저장한 뒤 새 메시지(>)를 읽는다.
+ * - DB 저장이 끝난 묶음만 확인(XACK)/삭제(XDEL)하고, 저장에 실패하면 다음 주기에 offset 0부터 다시 저장한다.
+ * - 다른 서버가 오래 확인하지 않은 메시지는 가져와서(XCLAIM) 대신 저장한다.
+ * - 메시지 ID는 브라우저에서 반올림되지 않는 53비트 이하로 만든다.
+ */
+@SuppressWarnings("unchecked")
+class StreamMessageStoreTest {
+
+    private static final String REPLAY = "0";
+    private static final String NEW = ReadOffset.lastConsumed().getOffset();
+
+    private RedisTemplate<String, String> redisTemplate;
+    private StreamOperations<String, Object, Object> streamOperations;
+    private JdbcTemplate jdbcTemplate;
+    private CurrentMember currentMember;
+    private MemberRepository memberRepository;
+    private StreamMessageStore store;
+
+    // offset별 다음 read 결과
+    private final Map<String, Deque<List<MapRecord<String, Object, Object>>>> reads =
+            Map.of(REPLAY, new ArrayDeque<>(), NEW, new ArrayDeque<>());
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        streamOperations = mock(StreamOperations.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        currentMember = mock(CurrentMember.class);
+        memberRepository = mock(MemberRepository.class);
+        doReturn(streamOperations).when(redisTemplate).opsForStream();
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenAnswer(invocation -> {
+                    StreamOffset<String> offset = invocation.getArgument(2);
+                    List<MapRecord<String, Object, Object>> next = reads.get(offset.getOffset().getOffset()).poll();
+                    return next == null ? List.of() : next;
+                });
+
+        store = new StreamMessageStore(redisTemplate, jdbcTemplate, memberRepository, currentMember,
+                new SnowflakeIdGenerator(31), 10, 60_000);
+        store.init();
+    }
+
+    @Test
+    @DisplayName("확인되지 않은 메시지(offset 0)를 먼저 저장한 뒤 새 메시지를 읽는다")
+    void replaysPendingBeforeNewMessages() {
+        MapRecord<String, Object, Object> pending = record("1-0", 1L);
+        MapRecord<String, Object, Object> fresh = record("2-0", 2L);
+        reads.get(REPLAY).add(List.of(pending));
+        reads.get(NEW).add(List.of(fresh));
+
+        store.flush();
+
+        InOrder inOrder = inOrder(streamOperations, jdbcTemplate);
+        inOrder.verify(streamOperations).read(any(Consumer.class), any(StreamReadOptions.class), argThat(offset(REPLAY)));
+        inOrder.verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(pending)), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        inOrder.verify(streamOperations).acknowledge(StreamMessageStore.STREAM_KEY, StreamMessageStore.GROUP, pending.getId());
+        inOrder.verify(streamOperations).delete(StreamMessageStore.STREAM_KEY, pending.getId());
+        inOrder.verify(streamOperations).read(any(Consumer.class), any(StreamReadOptions.class), argThat(offset(NEW)));
+        inOrder.verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(fresh)), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        inOrder.verify(streamOperations).acknowledge(StreamMessageStore.STREAM_KEY, StreamMessageStore.GROUP, fresh.getId());
+        inOrder.verify(streamOperations).delete(StreamMessageStore.STREAM_KEY, fresh.getId());
+
+        // 다음 주기에는 새 메시지만 읽는다.
+        store.flush();
+        verify(streamOperations, times(1)).read(any(Consumer.class), any(StreamReadOptions.class), argThat(offset(REPLAY)));
+    }
+
+    @Test
+    @DisplayName("DB 저장에 실패하면 확인/삭제하지 않고 다음 주기에 offset 0부터 다시 저장한다")
+    void failedBatchIsReplayed() {
+        MapRecord<String, Object, Object> message = record("1-0", 1L);
+        reads.get(NEW).add(List.of(message));
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("DB 연결 실패"))
+                .thenReturn(new int[][]{{1}});
+
+        store.flush();
+
+        verify(streamOperations, never()).acknowledge(anyString(), anyString(), any(RecordId[].class));
+        verify(streamOperations, never()).delete(anyString(), any(RecordId[].class));
+
+        // 읽었지만 확인하지 않은 메시지는 offset 0으로 다시 읽힌다.
+        reads.get(REPLAY).add(List.of(message));
+        store.flush();
+
+        verify(streamOperations, times(2)).read(any(Consumer.class), any(StreamReadOptions.class), argThat(offset(REPLAY)));
+        verify(streamOperations).acknowledge(StreamMessageStore.STREAM_KEY, StreamMessageStore.GROUP, message.getId());
+        verify(streamOperations).delete(StreamMessageStore.STREAM_KEY, message.getId());
+    }
+
+    @Test
+    @DisplayName("다른 서버가 오래 확인하지 않은 메시지만 가져와서 저장한다")
+    void claimsIdleMessagesOfOtherNodes() {
+        RecordId stale = RecordId.of("1-0");
+        RecordId busy = RecordId.of("2-0");
+        RecordId own = RecordId.of("3-0");
+        when(streamOperations.pending(eq(StreamMessageStore.STREAM_KEY), eq(StreamMessageStore.GROUP), any(Range.class), anyLong()))
+                .thenReturn(new PendingMessages(StreamMessageStore.GROUP, List.of(
+                        new PendingMessage(stale, Consumer.from(StreamMessageStore.GROUP, "node-1"), Duration.ofMinutes(5), 1),
+                        new PendingMessage(busy, Consumer.from(StreamMessageStore.GROUP, "node-2"), Duration.ofMillis(100), 1),
+                        new PendingMessage(own, Consumer.from(StreamMessageStore.GROUP, "node-31"), Duration.ofMinutes(5), 1))))
+                .thenReturn(new PendingMessages(StreamMessageStore.GROUP, List.of()));
+        MapRecord<String, Object, Object> claimed = record("1-0", 1L);
+        when(streamOperations.claim(StreamMessageStore.STREAM_KEY, StreamMessageStore.GROUP, "node-31",
+                Duration.ofMinutes(1), stale)).thenReturn(List.of(claimed));
+
+        store.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(claimed)), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        verify(streamOperations).acknowledge(StreamMessageStore.STREAM_KEY, StreamMessageStore.GROUP, stale);
+        verify(streamOperations).delete(StreamMessageStore.STREAM_KEY, stale);
+        verify(streamOperations, times(1)).claim(anyString(), anyString(), anyString(), any(Duration.class), any(RecordId[].class));
+
+        // 다음 확인 주기 전에는 다시 조회하지 않는다.
+        store.flush();
+        verify(streamOperations, times(2)).pending(anyString(), anyString(), any(Range.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("메시지 ID는 53비트 이하이고, 255자를 넘는 내용은 스트림에 추가하지 않는다")
+    void saveChecksIdRangeAndContentLength() {
+        when(currentMember.get()).thenReturn(new MemberIdentity(1L, "sender@test.com", "보낸이", Role.USER));
+        when(memberRepository.existsById(2L)).thenReturn(true);
+        MessageRequestDto request = MessageRequestDto.builder().senderId(1L).receiverId(2L).build();
+
+        MessageResponseDto response = store.save(request, "안녕하세요");
+
+        assertThat(response.getId()).isBetween(0L, (1L << 53) - 1);
+        verify(streamOperations).add(any(MapRecord.class));
+
+        assertThatThrownBy(() -> store.save(request, "가".repeat(256)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(streamOperations, times(1)).add(any(MapRecord.class));
+    }
+
+    private static MapRecord<String, Object, Object> record(String recordId, long messageId) {
+        Map<Object, Object> fields = Map.of(
+                "id", String.valueOf(messageId),
+                "senderId", "1",
+                "receiverId", "2",
+                "content", "메시지 " + messageId,
+                "regTime", LocalDateTime.now().toString());
+        return StreamRecords.newRecord().in(StreamMessageStore.STREAM_KEY).withId(RecordId.of(recordId)).ofMap(fields);
+    }
+
+    private static ArgumentMatcher<StreamOffset<String>> offset(String value) {
+        return streamOffset -> streamOffset != null && value.equals(streamOffset.getOffset().getOffset());
+    }
+}
@@ -0,0 +1,105 @@
+package com.javalab.student.service;
+
+import com.javalab.student.constant.Role;
+import com.javalab.student.dto.MessageRequestDto;
+import com.javalab.student.entity.Member;
+import com.javalab.student.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽지 않은 메시지 수 Redis 카운터 테스트
+ * - 메시지 저장 시 증가, 대화 일괄 읽음 처리 시 감소, 보정 작업은 DB 기준으로 맞춘다.
+ * - 커밋 후 카운터를 반영하므로 @Transactional을 사용하지 않고 테스트 후 데이터를 삭제한다.
+ */
+@SpringBootTest
+class UnreadCounterServiceTest {
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("redisStringTemplate")
+    private RedisTemplate<String, String> redisStringTemplate;
+
+    private Member sender;
+    private Member receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = saveMember("unread-sender@test.com");
+        receiver = saveMember("unread-receiver@test.com");
+        redisStringTemplate.delete("UNREAD:" + receiver.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM message WHERE sender_id = ?", sender.getId());
+        memberRepository.deleteAll(List.of(sender, receiver));
+        redisStringTemplate.delete("UNREAD:" + receiver.getId());
+    }
+
+    @Test
+    @DisplayName("메시지 저장 시 증가하고 대화 일괄 읽음 처리 시 0이 된다")
+    void incrementAndMarkConversationAsRead() {
+        assertThat(unreadCounterService.get(receiver.getId())).isZero();
+
+        for (int i = 0; i < 3; i++) {
+            messageService.saveMessage(MessageRequestDto.builder()
+                    .senderId(sender.getId())
+                    .receiverId(receiver.getId())
+                    .content("읽지 않은 메시지 " + i)
+                    .build());
+        }
+        assertThat(messageService.getUnreadMessageCount(receiver.getId())).isEqualTo(3);
+
+        int updated = messageService.markConversationAsRead(receiver.getId(), sender.getId());
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(messageService.getUnreadMessageCount(receiver.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("보정 작업은 카운터를 DB의 읽지 않은 메시지 수로 맞춘다")
+    void reconcileFixesDrift() {
+        messageService.saveMessage(MessageRequestDto.builder()
+                .senderId(sender.getId())
+                .receiverId(receiver.getId())
+                .content("보정 테스트")
+                .build());
+        redisStringTemplate.opsForValue().set("UNREAD:" + receiver.getId(), "42");
+
+        unreadCounterService.reconcile();
+
+        assertThat(unreadCounterService.get(receiver.getId())).isEqualTo(1);
+    }
+
+    private Member saveMember(String email) {
+        Member member = new Member();
+        member.setEmail(email);
+        member.setName("안읽음테스트");
+        member.setRole(Role.USER);
+        member.setPoints(0);
+        return memberRepository.save(member);
+    }
+}